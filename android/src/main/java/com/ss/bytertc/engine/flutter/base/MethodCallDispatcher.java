@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.base;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+
+/**
+ * 将 MethodChannel 调用从主线程转移到后台串行线程执行，避免 SDK 调用阻塞 UI 渲染。
+ * <p>
+ * 所有通道共用同一个串行队列，调用按到达顺序执行，跨通道的先后关系（如先 createRTCRoom 再 joinRoom）也得以保持。
+ * 路由表中的方法（涉及 View、Activity、Context 或通道注册）仍在主线程执行，
+ * 若此时仍有未执行完的后台调用，则排在其后执行。
+ * <p>
+ * 队列中的任务依次投递到各自的线程，上一个任务完成后才投递下一个，任何线程都不会阻塞等待另一个线程。
+ * 任务中需要切换线程的后续工作通过 {@link #runNext(boolean, Runnable)} 接在当前任务之后执行，
+ * 需要回复调用结果的后续工作使用 {@link #runNext(boolean, MethodChannel.Result, ResultTask)}。
+ * <p>
+ * 调用或后续工作抛出异常时，若尚未回复，则以该异常回复 Flutter；已回复的只记录日志。
+ * <p>
+ * 回调结果统一在主线程返回给 Flutter。
+ * <p>
+ * 每个调用的次数、失败次数及耗时计入 {@link MethodMetrics}，通道按 tag 的类名区分。
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public final class MethodCallDispatcher implements MethodChannel.MethodCallHandler {
+    private static final String TAG = "MethodCallDispatcher";
+
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+    private static Handler sWorkerHandler;
+
+    private static final Object sLock = new Object();
+    /**
+     * 等待执行的任务
+     */
+    private static final ArrayDeque<Task> sQueue = new ArrayDeque<>();
+    /**
+     * 当前任务中通过 runNext 提交的任务，当前任务完成后排到队首
+     */
+    @Nullable
+    private static ArrayList<Task> sNextTasks;
+    /**
+     * 是否有任务正在执行或已投递
+     */
+    private static boolean sRunning = false;
+
+    private static volatile boolean sEnabled = true;
+
+    /**
+     * 开启或关闭后台派发，关闭后所有调用回到主线程执行，对之后到达的调用生效
+     */
+    public static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+    }
+
+    private static synchronized Handler workerHandler() {
+        if (sWorkerHandler == null) {
+            HandlerThread thread = new HandlerThread("ByteRTCFlutterCall");
+            thread.start();
+            sWorkerHandler = new Handler(thread.getLooper());
+        }
+        return sWorkerHandler;
+    }
+
+    private final String tag;
+    private final MethodChannel.MethodCallHandler handler;
+    private final Set<String> mainThreadMethods;
+    private final MethodMetrics.Channel metrics;
+
+    /**
+     * @param tag               日志标签
+     * @param handler           原始调用处理
+     * @param mainThreadMethods 必须在主线程执行的方法名
+     */
+    public MethodCallDispatcher(@NonNull String tag, @NonNull MethodChannel.MethodCallHandler handler, String... mainThreadMethods) {
+        this.tag = tag;
+        this.handler = handler;
+        this.mainThreadMethods = mainThreadMethods.length == 0
+                ? Collections.<String>emptySet()
+                : new HashSet<>(Arrays.asList(mainThreadMethods));
+        this.metrics = MethodMetrics.channel(tag.substring(tag.lastIndexOf('.') + 1));
+    }
+
+    @Override
+    public void onMethodCall(@NonNull MethodCall call, @NonNull MethodChannel.Result rawResult) {
+        final MethodChannel.Result result = MethodMetrics.wrap(metrics, call.method, rawResult);
+        final boolean onMain = !sEnabled || mainThreadMethods.contains(call.method);
+        if (onMain && tryStart()) {
+            // 队列空闲，直接执行
+            execute(() -> {
+                final ReplyOnceResult once = new ReplyOnceResult(result);
+                try {
+                    handler.onMethodCall(call, once);
+                } catch (RuntimeException e) {
+                    if (once.replied) {
+                        // 已回复，交给 Flutter 会再次回复并抛出 Reply already submitted
+                        Logger.e(tag, "Call " + call.method + " failed after reply: " + e);
+                        return;
+                    }
+                    MethodMetrics.recordException(result);
+                    throw e;
+                }
+            });
+            return;
+        }
+
+        if (onMain) {
+            enqueue(new Task(true, () -> invoke(call, result)));
+        } else {
+            enqueue(new Task(false, () -> invoke(call, new MainThreadResult(result))));
+        }
+    }
+
+    /**
+     * 在后台串行线程执行 runnable，之后到达的调用（包括主线程方法）排在其后执行
+     */
+    public static void runInBackground(@NonNull Runnable runnable) {
+        enqueue(new Task(false, guarded(runnable)));
+    }
+
+    /**
+     * 在当前任务完成后、队列中其他调用之前执行 runnable，用于在主线程与后台线程之间切换而不阻塞任何一方。
+     * 同一任务中多次提交的按提交顺序执行。
+     *
+     * @param onMain true 在主线程执行，false 在后台串行线程执行
+     */
+    public static void runNext(boolean onMain, @NonNull Runnable runnable) {
+        addNext(new Task(onMain, guarded(runnable)));
+    }
+
+    /**
+     * 同 {@link #runNext(boolean, Runnable)}，用于回复调用结果的后续工作。
+     * task 抛出异常且尚未回复时，以该异常回复 result，避免 Dart 端一直等待。
+     *
+     * @param result 所属调用的结果，经包装后传给 task
+     */
+    public static void runNext(boolean onMain, @NonNull MethodChannel.Result result, @NonNull ResultTask task) {
+        addNext(new Task(onMain, () -> {
+            final ReplyOnceResult once = new ReplyOnceResult(result);
+            try {
+                task.run(once);
+            } catch (RuntimeException e) {
+                Logger.e(TAG, "Task failed: " + e);
+                once.errorIfNotReplied(e);
+            }
+        }));
+    }
+
+    private static void addNext(@NonNull Task task) {
+        synchronized (sLock) {
+            if (sRunning) {
+                if (sNextTasks == null) {
+                    sNextTasks = new ArrayList<>(1);
+                }
+                sNextTasks.add(task);
+                return;
+            }
+            sQueue.addFirst(task);
+            sRunning = true;
+            scheduleNext();
+        }
+    }
+
+    @NonNull
+    private static Runnable guarded(@NonNull Runnable runnable) {
+        return () -> {
+            try {
+                runnable.run();
+            } catch (RuntimeException e) {
+                Logger.e(TAG, "Task failed: " + e);
+            }
+        };
+    }
+
+    private static boolean tryStart() {
+        synchronized (sLock) {
+            if (sRunning) {
+                return false;
+            }
+            sRunning = true;
+            return true;
+        }
+    }
+
+    private static void enqueue(@NonNull Task task) {
+        synchronized (sLock) {
+            sQueue.addLast(task);
+            if (!sRunning) {
+                sRunning = true;
+                scheduleNext();
+            }
+        }
+    }
+
+    /**
+     * 在当前线程执行任务，完成后投递下一个任务
+     */
+    private static void execute(@NonNull Runnable runnable) {
+        try {
+            runnable.run();
+        } finally {
+            synchronized (sLock) {
+                if (sNextTasks != null) {
+                    for (int i = sNextTasks.size() - 1; i >= 0; i--) {
+                        sQueue.addFirst(sNextTasks.get(i));
+                    }
+                    sNextTasks = null;
+                }
+                scheduleNext();
+            }
+        }
+    }
+
+    /**
+     * 投递队首任务到其所属线程，须持有 sLock
+     */
+    private static void scheduleNext() {
+        final Task next = sQueue.pollFirst();
+        if (next == null) {
+            sRunning = false;
+            return;
+        }
+        final Handler handler = next.onMain ? sMainHandler : workerHandler();
+        handler.post(() -> execute(next.runnable));
+    }
+
+    private void invoke(@NonNull MethodCall call, @NonNull MethodChannel.Result result) {
+        final ReplyOnceResult once = new ReplyOnceResult(result);
+        try {
+            handler.onMethodCall(call, once);
+        } catch (RuntimeException e) {
+            Logger.e(tag, "Call " + call.method + " failed: " + e);
+            once.errorIfNotReplied(e);
+        }
+    }
+
+    /**
+     * 回复调用结果的后续工作
+     */
+    public interface ResultTask {
+        void run(@NonNull MethodChannel.Result result);
+    }
+
+    private static final class Task {
+        final boolean onMain;
+        final Runnable runnable;
+
+        Task(boolean onMain, @NonNull Runnable runnable) {
+            this.onMain = onMain;
+            this.runnable = runnable;
+        }
+    }
+
+    /**
+     * 记录是否已回复，调用在回复后抛出异常时不再重复回复
+     */
+    private static final class ReplyOnceResult implements MethodChannel.Result {
+        private final MethodChannel.Result result;
+        volatile boolean replied = false;
+
+        ReplyOnceResult(@NonNull MethodChannel.Result result) {
+            this.result = result;
+        }
+
+        void errorIfNotReplied(@NonNull RuntimeException e) {
+            if (!replied) {
+                error(e.getClass().getSimpleName(), e.getMessage(), null);
+            }
+        }
+
+        @Override
+        public void success(@Nullable Object value) {
+            replied = true;
+            result.success(value);
+        }
+
+        @Override
+        public void error(@NonNull String errorCode, @Nullable String errorMessage, @Nullable Object errorDetails) {
+            replied = true;
+            result.error(errorCode, errorMessage, errorDetails);
+        }
+
+        @Override
+        public void notImplemented() {
+            replied = true;
+            result.notImplemented();
+        }
+    }
+
+    /**
+     * 将结果转发到主线程回调
+     */
+    private static final class MainThreadResult implements MethodChannel.Result {
+        private final MethodChannel.Result result;
+
+        MainThreadResult(@NonNull MethodChannel.Result result) {
+            this.result = result;
+        }
+
+        @Override
+        public void success(@Nullable Object value) {
+            sMainHandler.post(() -> result.success(value));
+        }
+
+        @Override
+        public void error(@NonNull String errorCode, @Nullable String errorMessage, @Nullable Object errorDetails) {
+            sMainHandler.post(() -> result.error(errorCode, errorMessage, errorDetails));
+        }
+
+        @Override
+        public void notImplemented() {
+            sMainHandler.post(result::notImplemented);
+        }
+    }
+}
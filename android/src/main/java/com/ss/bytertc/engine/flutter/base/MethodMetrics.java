@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.base;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import io.flutter.plugin.common.MethodChannel;
+
+/**
+ * MethodChannel 调用的按方法统计：调用次数、失败次数及耗时分布。
+ * <p>
+ * 耗时为调用到达平台侧至返回结果的时间，包含在后台线程排队的时间，单位为微秒。
+ * 分布采用 HDR 风格的对数线性分桶：每个 2 的幂区间再均分为 8 个子桶，相对误差不超过 12.5%。
+ * 记录只涉及原子自增，无锁，可在 Release 包中常开。
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public final class MethodMetrics {
+    /**
+     * 每个 2 的幂区间的子桶数为 2^SUB_BUCKET_BITS
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /**
+     * 小于该值的耗时逐微秒计数
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+    /**
+     * 覆盖至 2^28 微秒（约 268 秒），更大的耗时计入最后一个桶
+     */
+    private static final int MAX_EXPONENT = 27;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    /**
+     * 非调用耗时的统计通道：createRTCVideo、createRTCRoom 中创建插件及注册通道的耗时
+     */
+    public static final String STARTUP_CHANNEL = "Startup";
+
+    private static volatile boolean sEnabled = true;
+    private static volatile long sWindowStart = SystemClock.elapsedRealtime();
+
+    /**
+     * 通道名称 -> 该通道的统计
+     */
+    private static final ConcurrentHashMap<String, Channel> sChannels = new ConcurrentHashMap<>();
+
+    private MethodMetrics() {
+    }
+
+    /**
+     * 开启或关闭统计，对之后到达的调用生效
+     */
+    public static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+    }
+
+    /**
+     * 获取通道的统计，同名通道（如多个房间）共用
+     */
+    @NonNull
+    public static Channel channel(@NonNull String name) {
+        Channel channel = sChannels.get(name);
+        if (channel == null) {
+            final Channel created = new Channel();
+            channel = sChannels.putIfAbsent(name, created);
+            if (channel == null) {
+                channel = created;
+            }
+        }
+        return channel;
+    }
+
+    /**
+     * 所有已调用方法的统计
+     *
+     * @param reset 获取后是否清零，清零与并发记录之间不加锁，个别调用可能计入任一统计周期
+     * @return 通道名称 -> (方法名 -> 统计)，统计周期自上次清零起算
+     */
+    @NonNull
+    public static HashMap<String, Object> snapshot(boolean reset) {
+        final long now = SystemClock.elapsedRealtime();
+        final long windowMs = Math.max(1, now - sWindowStart);
+        final HashMap<String, Object> channels = new HashMap<>();
+        for (Map.Entry<String, Channel> entry : sChannels.entrySet()) {
+            final HashMap<String, Object> methods = new HashMap<>();
+            for (Map.Entry<String, Stats> method : entry.getValue().methods.entrySet()) {
+                final HashMap<String, Object> stats = method.getValue().snapshot(windowMs, reset);
+                if (stats != null) {
+                    methods.put(method.getKey(), stats);
+                }
+            }
+            if (!methods.isEmpty()) {
+                channels.put(entry.getKey(), methods);
+            }
+        }
+        if (reset) {
+            sWindowStart = now;
+        }
+        return channels;
+    }
+
+    /**
+     * 包装 result，在返回结果时记录耗时，统计关闭时原样返回
+     */
+    @NonNull
+    public static MethodChannel.Result wrap(@NonNull Channel channel, @NonNull String method,
+                                            @NonNull MethodChannel.Result result) {
+        if (!sEnabled) {
+            return result;
+        }
+        return new TimedResult(channel.stats(method), result);
+    }
+
+    /**
+     * 记录启动阶段一个步骤的耗时，计入 {@link #STARTUP_CHANNEL} 通道
+     *
+     * @param step       步骤名称
+     * @param startNanos 步骤开始时的 {@link System#nanoTime()}
+     */
+    public static void recordStartup(@NonNull String step, long startNanos) {
+        if (!sEnabled) {
+            return;
+        }
+        channel(STARTUP_CHANNEL).stats(step).record((System.nanoTime() - startNanos) / 1000, false);
+    }
+
+    /**
+     * 记录未返回结果即抛出异常的调用
+     */
+    public static void recordException(@NonNull MethodChannel.Result result) {
+        if (result instanceof TimedResult) {
+            ((TimedResult) result).record(true);
+        }
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) Math.max(0, micros);
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        final int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        final int index = LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT + subBucket;
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+
+    /**
+     * 桶的下界（含），单位为微秒
+     */
+    static long bucketLowerBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        final int exponent = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + SUB_BUCKET_BITS + 1;
+        final int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+        return (long) (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * 桶的上界（不含），单位为微秒
+     */
+    static long bucketUpperBound(int index) {
+        return index + 1 < BUCKET_COUNT ? bucketLowerBound(index + 1) : Long.MAX_VALUE;
+    }
+
+    /**
+     * 一个通道各方法的统计
+     */
+    public static final class Channel {
+        private final ConcurrentHashMap<String, Stats> methods = new ConcurrentHashMap<>();
+
+        @NonNull
+        Stats stats(@NonNull String method) {
+            Stats stats = methods.get(method);
+            if (stats == null) {
+                final Stats created = new Stats();
+                stats = methods.putIfAbsent(method, created);
+                if (stats == null) {
+                    stats = created;
+                }
+            }
+            return stats;
+        }
+    }
+
+    static final class Stats {
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong totalMicros = new AtomicLong();
+        final AtomicLong maxMicros = new AtomicLong();
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+        void record(long micros, boolean failed) {
+            calls.incrementAndGet();
+            if (failed) {
+                errors.incrementAndGet();
+            }
+            totalMicros.addAndGet(micros);
+            long max;
+            while (micros > (max = maxMicros.get()) && !maxMicros.compareAndSet(max, micros)) {
+                // 直到写入本次耗时，或已有更大的值
+            }
+            buckets.incrementAndGet(bucketIndex(micros));
+        }
+
+        /**
+         * @return 统计周期内未被调用时为 null
+         */
+        @Nullable
+        HashMap<String, Object> snapshot(long windowMs, boolean reset) {
+            final long count = reset ? calls.getAndSet(0) : calls.get();
+            if (count == 0) {
+                return null;
+            }
+            final long errorCount = reset ? errors.getAndSet(0) : errors.get();
+            final long total = reset ? totalMicros.getAndSet(0) : totalMicros.get();
+            final long max = reset ? maxMicros.getAndSet(0) : maxMicros.get();
+
+            final long[] counts = new long[BUCKET_COUNT];
+            long bucketTotal = 0;
+            final ArrayList<Object> histogram = new ArrayList<>();
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] = reset ? buckets.getAndSet(i, 0) : buckets.get(i);
+                if (counts[i] > 0) {
+                    bucketTotal += counts[i];
+                    final ArrayList<Object> bucket = new ArrayList<>(2);
+                    bucket.add(bucketLowerBound(i));
+                    bucket.add(counts[i]);
+                    histogram.add(bucket);
+                }
+            }
+
+            final HashMap<String, Object> map = new HashMap<>();
+            map.put("windowMs", windowMs);
+            map.put("calls", count);
+            map.put("errors", errorCount);
+            map.put("callsPerSecond", count * 1000.0 / windowMs);
+            map.put("avgUs", total / count);
+            map.put("maxUs", max);
+            map.put("p50Us", percentile(counts, bucketTotal, 0.50, max));
+            map.put("p90Us", percentile(counts, bucketTotal, 0.90, max));
+            map.put("p99Us", percentile(counts, bucketTotal, 0.99, max));
+            map.put("histogram", histogram);
+            return map;
+        }
+
+        /**
+         * 分位数所在桶的上界，不超过记录到的最大值
+         */
+        private static long percentile(@NonNull long[] counts, long total, double percentile, long max) {
+            final long rank = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(bucketUpperBound(i) - 1, max);
+                }
+            }
+            return max;
+        }
+    }
+
+    /**
+     * 在首次返回结果时记录耗时
+     */
+    private static final class TimedResult implements MethodChannel.Result {
+        private final Stats stats;
+        private final MethodChannel.Result result;
+        private final long startNanos = System.nanoTime();
+        private boolean recorded;
+
+        TimedResult(@NonNull Stats stats, @NonNull MethodChannel.Result result) {
+            this.stats = stats;
+            this.result = result;
+        }
+
+        void record(boolean failed) {
+            if (recorded) {
+                return;
+            }
+            recorded = true;
+            stats.record((System.nanoTime() - startNanos) / 1000, failed);
+        }
+
+        @Override
+        public void success(@Nullable Object value) {
+            record(false);
+            result.success(value);
+        }
+
+        @Override
+        public void error(@NonNull String errorCode, @Nullable String errorMessage, @Nullable Object errorDetails) {
+            record(true);
+            result.error(errorCode, errorMessage, errorDetails);
+        }
+
+        @Override
+        public void notImplemented() {
+            record(true);
+            result.notImplemented();
+        }
+    }
+}
@@ -37,6 +37,8 @@ import com.ss.bytertc.ktv.data.DownloadResult;
 import com.ss.bytertc.ktv.data.HotMusicInfo;
 import com.ss.bytertc.ktv.data.MusicInfo;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,11 +51,62 @@ import java.util.Map;
 @RestrictTo(RestrictTo.Scope.LIBRARY)
 public class RTCMap {
 
+    /**
+     * 频谱按 double[] 传输，兼容 Flutter 2.0
+     */
+    public static final int SPECTRUM_FORMAT_FLOAT64 = 0;
+    /**
+     * 频谱按 float[] 传输，对应 Dart 的 Float32List
+     */
+    public static final int SPECTRUM_FORMAT_FLOAT32 = 1;
+    /**
+     * 频谱按小端 float32 打包为 byte[] 传输
+     */
+    public static final int SPECTRUM_FORMAT_PACKED = 2;
+
+    private static Object spectrumOf(float[] spectrum, int format) {
+        final int spectrumCount = spectrum == null ? 0 : spectrum.length;
+        switch (format) {
+            case SPECTRUM_FORMAT_FLOAT32:
+                // 事件异步编码，拷贝一份，不依赖 SDK 回调返回后数组的生命周期
+                return spectrum == null ? new float[0] : spectrum.clone();
+            case SPECTRUM_FORMAT_PACKED: {
+                final byte[] bytes = new byte[spectrumCount * 4];
+                if (spectrumCount > 0) {
+                    ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().put(spectrum);
+                }
+                return bytes;
+            }
+            default: {
+                // Flutter 2.0.0 not support float[]
+                double[] result = new double[spectrumCount];
+                for (int i = 0; i < spectrumCount; i++) {
+                    result[i] = spectrum[i];
+                }
+                return result;
+            }
+        }
+    }
+
+    /**
+     * 拷贝 ByteBuffer 中 position 到 limit 之间的数据，支持 direct buffer，不改变 buffer 的 position
+     * <p>
+     * 事件是异步投递的，而 SDK 回调返回后 buffer 可能被复用或失效，因此总是在回调内拷贝一份。
+     */
+    public static byte[] bytesOf(ByteBuffer buffer) {
+        if (buffer == null) {
+            return new byte[0];
+        }
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
     /**
      * @see RTCType#toRemoteStreamKey(RTCTypeBox)
      */
     public static Map<String, ?> from(RemoteStreamKey key) {
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(3);
         map.put("roomId", key.getRoomId());
         map.put("uid", key.getUserId());
         map.put("streamIndex", key.getStreamIndex().value());
@@ -61,7 +114,7 @@ public class RTCMap {
     }
 
     public static Map<String, ?> from(VideoFrameInfo info) {
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(3);
         map.put("width", info.getWidth());
         map.put("height", info.getHeight());
         map.put("rotation", info.rotation.value());
@@ -69,7 +122,7 @@ public class RTCMap {
     }
 
     public static Map<String, ?> from(LocalAudioStats stats) {
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(8);
         map.put("audioLossRate", stats.audioLossRate);
         map.put("sentKBitrate", stats.sendKBitrate);
         map.put("recordSampleRate", stats.recordSampleRate);
@@ -82,7 +135,7 @@ public class RTCMap {
     }
 
     public static Map<String, ?> from(LocalVideoStats stats) {
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(15);
         map.put("sentKBitrate", stats.sentKBitrate);
         map.put("inputFrameRate", stats.inputFrameRate);
         map.put("sentFrameRate", stats.sentFrameRate);
@@ -103,7 +156,7 @@ public class RTCMap {
 
 
     public static Map<String, ?> from(LocalStreamStats stats) {
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(3);
         map.put("audioStats", from(stats.audioStats));
         map.put("videoStats", from(stats.videoStats));
         map.put("isScreen", stats.isScreen);
@@ -111,7 +164,7 @@ public class RTCMap {
     }
 
     public static Map<String, ?> from(RemoteAudioStats stats) {
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(19);
         map.put("audioLossRate", stats.audioLossRate);
         map.put("receivedKBitrate", stats.receivedKBitrate);
         map.put("stallCount", stats.stallCount);
@@ -136,7 +189,7 @@ public class RTCMap {
 
 
     public static Map<String, ?> from(RemoteVideoStats stats) {
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(15);
         map.put("width", stats.width);
         map.put("height", stats.height);
         map.put("videoLossRate", stats.videoLossRate);
@@ -156,7 +209,7 @@ public class RTCMap {
     }
 
     public static Map<String, ?> from(RemoteStreamStats stats) {
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(4);
         map.put("audioStats", from(stats.audioStats));
         map.put("videoStats", from(stats.videoStats));
         map.put("uid", stats.uid);
@@ -189,7 +242,7 @@ public class RTCMap {
     }
 
     public static Map<String, ?> from(SysStats stats) {
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(9);
         map.put("cpuAppUsage", stats.cpuAppUsage);
         map.put("cpuCores", stats.cpuCores);
         map.put("cpuTotalUsage", stats.cpuTotalUsage);
@@ -203,7 +256,7 @@ public class RTCMap {
     }
 
     public static Map<String, ?> from(RTCRoomStats stats) {
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(21);
         map.put("duration", stats.totalDuration);
         map.put("txBytes", stats.txBytes);
         map.put("rxBytes", stats.rxBytes);
@@ -241,17 +294,18 @@ public class RTCMap {
     }
 
     public static Map<String, ?> from(AudioPropertiesInfo info) {
-        final HashMap<String, Object> result = new HashMap<>();
+        return from(info, SPECTRUM_FORMAT_FLOAT64);
+    }
+
+    /**
+     * @param spectrumFormat 频谱的传输格式，取值为 SPECTRUM_FORMAT_*
+     */
+    public static Map<String, ?> from(AudioPropertiesInfo info, int spectrumFormat) {
+        final HashMap<String, Object> result = RTCMapPool.obtain(5);
         result.put("linearVolume", info.linearVolume);
         result.put("nonlinearVolume", info.nonlinearVolume);
         result.put("vad", info.vad);
-        final int spectrumCount = info.spectrum == null ? 0 : info.spectrum.length;
-        // Flutter 2.0.0 not support float[]
-        double[] spectrum = new double[spectrumCount];
-        for (int i = 0; i < spectrumCount; i++) {
-            spectrum[i] = info.spectrum[i];
-        }
-        result.put("spectrum", spectrum);
+        result.put("spectrum", spectrumOf(info.spectrum, spectrumFormat));
         result.put("voicePitch", info.voicePitch);
         return result;
     }
@@ -271,7 +325,7 @@ public class RTCMap {
     }
 
     public static Map<?, ?> from(NetworkQualityStats qualityStats) {
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(6);
         map.put("uid", qualityStats.uid);
         map.put("fractionLost", qualityStats.fractionLost);
         map.put("rtt", qualityStats.rtt);
@@ -337,16 +391,43 @@ public class RTCMap {
     }
 
     public static Map<?, ?> from(RemoteAudioPropertiesInfo info) {
-        HashMap<String, Object> retValue = new HashMap<>();
+        return from(info, SPECTRUM_FORMAT_FLOAT64);
+    }
+
+    public static Map<?, ?> from(RemoteAudioPropertiesInfo info, int spectrumFormat) {
+        final HashMap<String, Object> retValue = RTCMapPool.obtain(2);
         retValue.put("streamKey", RTCMap.from(info.streamKey));
-        retValue.put("audioPropertiesInfo", RTCMap.from(info.audioPropertiesInfo));
+        retValue.put("audioPropertiesInfo", RTCMap.from(info.audioPropertiesInfo, spectrumFormat));
+        return retValue;
+    }
+
+    /**
+     * 静音的远端音频属性：线性音量 0，非线性音量 -127，用于告知 Dart 某个用户已不在上报中
+     *
+     * @param spectrumFormat 频谱的传输格式，取值为 SPECTRUM_FORMAT_*
+     */
+    public static Map<?, ?> silentAudioProperties(RemoteStreamKey key, int spectrumFormat) {
+        final HashMap<String, Object> info = RTCMapPool.obtain(5);
+        info.put("linearVolume", 0);
+        info.put("nonlinearVolume", -127);
+        info.put("vad", 0);
+        info.put("spectrum", spectrumOf(null, spectrumFormat));
+        info.put("voicePitch", 0.0);
+
+        final HashMap<String, Object> retValue = RTCMapPool.obtain(2);
+        retValue.put("streamKey", RTCMap.from(key));
+        retValue.put("audioPropertiesInfo", info);
         return retValue;
     }
 
     public static List<Map<?, ?>> from(RemoteAudioPropertiesInfo[] infos) {
-        ArrayList<Map<?, ?>> retValue = new ArrayList<>();
+        return from(infos, SPECTRUM_FORMAT_FLOAT64);
+    }
+
+    public static List<Map<?, ?>> from(RemoteAudioPropertiesInfo[] infos, int spectrumFormat) {
+        ArrayList<Map<?, ?>> retValue = new ArrayList<>(infos.length);
         for (RemoteAudioPropertiesInfo info : infos) {
-            retValue.add(RTCMap.from(info));
+            retValue.add(RTCMap.from(info, spectrumFormat));
         }
 
         return retValue;
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.base;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 事件负载 Map 的复用池
+ * <p>
+ * 高频统计回调通过 {@link #obtain(int)} 获取预分配容量的 Map，
+ * 在事件被编码发送后由 EventEmitter 调用 {@link #recycle(Object)} 归还，嵌套的 Map 一并归还。
+ * 仅用于事件通道，作为方法调用返回值的 Map 不可归还。
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public final class RTCMapPool {
+    /**
+     * 小容量 Map 可存放的最大字段数，对应 HashMap 容量 16
+     */
+    private static final int SMALL_SIZE = 12;
+    private static final int SMALL_CAPACITY = 16;
+    private static final int LARGE_CAPACITY = 64;
+    private static final int MAX_POOLED = 128;
+
+    private static final ArrayDeque<PooledMap> sSmallPool = new ArrayDeque<>();
+    private static final ArrayDeque<PooledMap> sLargePool = new ArrayDeque<>();
+
+    private static final AtomicLong sObtained = new AtomicLong();
+    private static final AtomicLong sCreated = new AtomicLong();
+    private static final AtomicLong sRecycled = new AtomicLong();
+
+    private RTCMapPool() {
+    }
+
+    /**
+     * 获取一个空 Map
+     *
+     * @param expectedSize 将要放入的字段数，用于选择容量，避免扩容
+     */
+    @NonNull
+    public static HashMap<String, Object> obtain(int expectedSize) {
+        sObtained.incrementAndGet();
+        final boolean small = expectedSize <= SMALL_SIZE;
+        final ArrayDeque<PooledMap> pool = small ? sSmallPool : sLargePool;
+        PooledMap map;
+        synchronized (pool) {
+            map = pool.pollLast();
+        }
+        if (map == null) {
+            sCreated.incrementAndGet();
+            map = new PooledMap(small ? SMALL_CAPACITY : LARGE_CAPACITY, small);
+        }
+        return map;
+    }
+
+    /**
+     * 归还由 {@link #obtain(int)} 获取的 Map 及其中嵌套的 Map，其他对象忽略
+     */
+    public static void recycle(@Nullable Object value) {
+        if (value instanceof PooledMap) {
+            final PooledMap map = (PooledMap) value;
+            for (Object item : map.values()) {
+                recycle(item);
+            }
+            map.clear();
+            final ArrayDeque<PooledMap> pool = map.small ? sSmallPool : sLargePool;
+            synchronized (pool) {
+                if (pool.size() < MAX_POOLED) {
+                    pool.addLast(map);
+                }
+            }
+            sRecycled.incrementAndGet();
+        } else if (value instanceof Map) {
+            for (Object item : ((Map<?, ?>) value).values()) {
+                recycle(item);
+            }
+        } else if (value instanceof List) {
+            for (Object item : (List<?>) value) {
+                recycle(item);
+            }
+        }
+    }
+
+    /**
+     * 复用统计，用于对比开启复用前后的分配次数
+     *
+     * @return obtained: 获取次数；created: 新分配次数；recycled: 归还次数
+     */
+    @NonNull
+    public static HashMap<String, Object> getStats() {
+        final HashMap<String, Object> stats = new HashMap<>();
+        stats.put("obtained", sObtained.get());
+        stats.put("created", sCreated.get());
+        stats.put("recycled", sRecycled.get());
+        return stats;
+    }
+
+    private static final class PooledMap extends HashMap<String, Object> {
+        final boolean small;
+
+        PooledMap(int initialCapacity, boolean small) {
+            super(initialCapacity);
+            this.small = small;
+        }
+    }
+}
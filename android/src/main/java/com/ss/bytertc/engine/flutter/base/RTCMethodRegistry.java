@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.base;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.ss.bytertc.engine.flutter.BuildConfig;
+
+import java.util.HashMap;
+
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+
+/**
+ * 按方法名索引的 MethodChannel 调用分发表。
+ * <p>
+ * 每个方法对应一个独立的 {@link Handler}，取代大型 switch 语句：
+ * 查找只需一次哈希，各方法体也可以被 JIT 单独编译。
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public final class RTCMethodRegistry implements MethodChannel.MethodCallHandler {
+
+    /**
+     * 单个方法的处理逻辑
+     */
+    public interface Handler {
+        void handle(@NonNull RTCTypeBox arguments, @NonNull MethodChannel.Result result);
+    }
+
+    private final String tag;
+    private final String logPrefix;
+    private final HashMap<String, Handler> handlers = new HashMap<>();
+
+    /**
+     * @param tag       日志标签
+     * @param logPrefix 调用日志前缀，如 "Video Call"
+     */
+    public RTCMethodRegistry(@NonNull String tag, @NonNull String logPrefix) {
+        this.tag = tag;
+        this.logPrefix = logPrefix;
+    }
+
+    /**
+     * 注册方法，同名方法后注册的覆盖先注册的
+     */
+    public void register(@NonNull String method, @NonNull Handler handler) {
+        handlers.put(method, handler);
+    }
+
+    @Nullable
+    public Handler get(@NonNull String method) {
+        return handlers.get(method);
+    }
+
+    @Override
+    public void onMethodCall(@NonNull MethodCall call, @NonNull MethodChannel.Result result) {
+        if (BuildConfig.DEBUG) {
+            Logger.d(tag, logPrefix + ": " + call.method);
+        }
+        final Handler handler = handlers.get(call.method);
+        if (handler == null) {
+            result.notImplemented();
+            return;
+        }
+        handler.handle(new RTCTypeBox(call.arguments, call.method), result);
+    }
+}
@@ -309,6 +309,14 @@ public class RTCType {
         );
     }
 
+    public static List<RemoteStreamKey> toRemoteStreamKeyList(List<?> values) {
+        List<RemoteStreamKey> retValue = new ArrayList<>(values.size());
+        for (Object value : values) {
+            retValue.add(toRemoteStreamKey(new RTCTypeBox(value)));
+        }
+        return retValue;
+    }
+
     public static TorchState toTorchState(int value) {
         for (TorchState state : TorchState.values()) {
             if (value == state.ordinal()) {
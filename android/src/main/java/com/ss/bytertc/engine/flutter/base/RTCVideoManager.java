@@ -9,6 +9,7 @@ import android.annotation.SuppressLint;
 import android.content.Context;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.UiThread;
 
 import com.ss.bytertc.engine.RTCRoom;
@@ -17,9 +18,8 @@ import com.ss.bytertc.engine.handler.IRTCVideoEventHandler;
 
 import org.json.JSONObject;
 
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class RTCVideoManager {
     @SuppressLint("StaticFieldLeak")
@@ -32,10 +32,10 @@ public final class RTCVideoManager {
     /**
      * 全局单例的 RTCVideo 对象
      */
-    private static RTCVideo sRtcVideo;
+    private static volatile RTCVideo sRtcVideo;
 
     /**
-     * 创建 RtcVideo
+     * 创建 RtcVideo，开启后台创建时在后台串行线程调用，否则在主线程调用
      *
      * @param appId      应用 ID
      * @param handler    方法回调响应
@@ -51,12 +51,8 @@ public final class RTCVideoManager {
 
     @UiThread
     public static void destroy() {
-        Iterator<Map.Entry<Integer, RTCRoom>> iterator = sRTCRoomMap.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<Integer, RTCRoom> next = iterator.next();
-            next.getValue().destroy();
-
-            iterator.remove();
+        for (Integer insId : sRTCRoomMap.keySet()) {
+            destroyRoom(insId);
         }
 
         RTCVideo.destroyRTCVideo();
@@ -75,7 +71,42 @@ public final class RTCVideoManager {
         return sRtcVideo;
     }
 
-    private static final HashMap<Integer, RTCRoom> sRTCRoomMap = new HashMap<>();
+    /**
+     * Room 的生命周期状态，仅由 ACTIVE 经 DESTROYING 变为 DESTROYED
+     */
+    private static final int ROOM_ACTIVE = 0;
+    private static final int ROOM_DESTROYING = 1;
+    private static final int ROOM_DESTROYED = 2;
+
+    /**
+     * 缓存的 Room 及其生命周期状态
+     */
+    private static final class RoomEntry {
+        final Integer insId;
+        final String roomId;
+        final RTCRoom room;
+        final AtomicInteger state = new AtomicInteger(ROOM_ACTIVE);
+
+        RoomEntry(Integer insId, String roomId, RTCRoom room) {
+            this.insId = insId;
+            this.roomId = roomId;
+            this.room = room;
+        }
+
+        @Nullable
+        RTCRoom activeRoom() {
+            return state.get() == ROOM_ACTIVE ? room : null;
+        }
+    }
+
+    /**
+     * Room 对象 ID 与 Room 的对应关系，主线程、后台调用线程及 SDK 回调线程均可无锁读取
+     */
+    private static final ConcurrentHashMap<Integer, RoomEntry> sRTCRoomMap = new ConcurrentHashMap<>();
+    /**
+     * Room ID 与 Room 的对应关系
+     */
+    private static final ConcurrentHashMap<String, RoomEntry> sRoomIdMap = new ConcurrentHashMap<>();
 
     private RTCVideoManager() {
 
@@ -93,7 +124,9 @@ public final class RTCVideoManager {
         RTCVideo rtcVideo = getRTCVideo();
         RTCRoom room = rtcVideo.createRTCRoom(roomId);
         if (room != null) {
-            sRTCRoomMap.put(roomInsId, room);
+            RoomEntry entry = new RoomEntry(roomInsId, roomId, room);
+            sRTCRoomMap.put(roomInsId, entry);
+            sRoomIdMap.put(roomId, entry);
         }
         return room;
     }
@@ -102,11 +135,25 @@ public final class RTCVideoManager {
      * 获取指定 [insId] 对应的 room
      *
      * @param insId Room 的对象 ID，缓存 KEY
-     * @return 缓存的 IRTCRoom 对象
+     * @return 缓存的 IRTCRoom 对象，不存在或正在销毁时为 null
      * @see #createRoom(Integer, String)
      */
+    @Nullable
     public static RTCRoom getRoom(@NonNull Integer insId) {
-        return sRTCRoomMap.get(insId);
+        RoomEntry entry = sRTCRoomMap.get(insId);
+        return entry == null ? null : entry.activeRoom();
+    }
+
+    /**
+     * 获取指定 Room ID 对应的 room
+     *
+     * @param roomId Room ID
+     * @return 缓存的 IRTCRoom 对象，不存在或正在销毁时为 null
+     */
+    @Nullable
+    public static RTCRoom getRoomById(@NonNull String roomId) {
+        RoomEntry entry = sRoomIdMap.get(roomId);
+        return entry == null ? null : entry.activeRoom();
     }
 
     /**
@@ -115,9 +162,14 @@ public final class RTCVideoManager {
      * @param roomIns Room 的对象 ID，缓存 KEY
      */
     public static void destroyRoom(@NonNull Integer roomIns) {
-        RTCRoom room = sRTCRoomMap.remove(roomIns);
-        if (room != null) {
-            room.destroy();
+        RoomEntry entry = sRTCRoomMap.remove(roomIns);
+        // 并发销毁时仅由一方执行
+        if (entry == null || !entry.state.compareAndSet(ROOM_ACTIVE, ROOM_DESTROYING)) {
+            return;
         }
+        // 同一 Room ID 可能已对应新创建的 Room，仅移除自身
+        sRoomIdMap.remove(entry.roomId, entry);
+        entry.room.destroy();
+        entry.state.set(ROOM_DESTROYED);
     }
 }
\ No newline at end of file
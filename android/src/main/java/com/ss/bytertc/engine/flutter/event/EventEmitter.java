@@ -7,17 +7,28 @@ package com.ss.bytertc.engine.flutter.event;
 
 import android.os.Handler;
 import android.os.Looper;
+import android.view.Choreographer;
 
+import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.RTCMapPool;
+import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.BuildConfig;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugin.common.StandardMethodCodec;
 
 @RestrictTo(RestrictTo.Scope.LIBRARY)
 public class EventEmitter {
@@ -25,15 +36,117 @@ public class EventEmitter {
 
     private static final String METHOD_NAME = "methodName";
 
+    /**
+     * Deliver every event as its own message as soon as the main thread is free (default).
+     */
+    public static final int FLUSH_MODE_IMMEDIATE = 0;
+    /**
+     * Queue events and deliver them as one list per Choreographer frame.
+     */
+    public static final int FLUSH_MODE_FRAME = 1;
+    /**
+     * Queue events and deliver them as one list every {@link #sFlushIntervalMs}.
+     */
+    public static final int FLUSH_MODE_INTERVAL = 2;
+
+    /**
+     * When the queue is full, drop the oldest droppable event to make room.
+     */
+    public static final int OVERFLOW_DROP_OLDEST = 0;
+    /**
+     * When the queue is full, drop the incoming droppable event.
+     */
+    public static final int OVERFLOW_DROP_NEWEST = 1;
+
+    /**
+     * Upper bound for a frame aligned flush, vsync is not delivered while the screen is off.
+     */
+    private static final long MAX_FRAME_WAIT_MS = 100;
+
+    private static volatile int sFlushMode = FLUSH_MODE_IMMEDIATE;
+    private static volatile long sFlushIntervalMs = 16;
+    private static volatile boolean sCoalesceEnabled = true;
+    private static volatile int sMaxQueueSize = 1000;
+    private static volatile int sOverflowPolicy = OVERFLOW_DROP_OLDEST;
+
+    /**
+     * All registered emitters, for querying drop counters
+     */
+    private static final CopyOnWriteArrayList<EventEmitter> sEmitters = new CopyOnWriteArrayList<>();
+
+    /**
+     * Apply the delivery config to all emitters, takes effect from the next emitted event.
+     *
+     * @param box flushMode: {@link #FLUSH_MODE_IMMEDIATE}, {@link #FLUSH_MODE_FRAME} or {@link #FLUSH_MODE_INTERVAL};
+     *            flushInterval: interval in ms for {@link #FLUSH_MODE_INTERVAL};
+     *            coalesce: whether {@link #emitLatest} replaces undelivered events;
+     *            maxQueueSize: max undelivered events per emitter, 0 for unbounded;
+     *            overflowPolicy: {@link #OVERFLOW_DROP_OLDEST} or {@link #OVERFLOW_DROP_NEWEST}
+     */
+    public static void setDeliveryConfig(@NonNull RTCTypeBox box) {
+        sFlushMode = box.optInt("flushMode", sFlushMode);
+        sFlushIntervalMs = Math.max(1, box.optInt("flushInterval", (int) sFlushIntervalMs));
+        sCoalesceEnabled = box.optBoolean("coalesce", sCoalesceEnabled);
+        sMaxQueueSize = Math.max(0, box.optInt("maxQueueSize", sMaxQueueSize));
+        sOverflowPolicy = box.optInt("overflowPolicy", sOverflowPolicy);
+    }
+
+    /**
+     * Dropped event count of every registered channel
+     *
+     * @return channel name -> (method name -> dropped count)
+     */
+    @NonNull
+    public static HashMap<String, Object> getDropCounters() {
+        final HashMap<String, Object> result = new HashMap<>();
+        for (EventEmitter emitter : sEmitters) {
+            synchronized (emitter.lock) {
+                if (!emitter.dropCounters.isEmpty()) {
+                    result.put(emitter.channelName, new HashMap<>(emitter.dropCounters));
+                }
+            }
+        }
+        return result;
+    }
+
+    public static void resetDropCounters() {
+        for (EventEmitter emitter : sEmitters) {
+            synchronized (emitter.lock) {
+                emitter.dropCounters.clear();
+            }
+        }
+    }
+
     private final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+    private final RTCEventCodec codec = new RTCEventCodec();
     private EventChannel eventChannel;
     private EventChannel.EventSink eventSink;
+    private String channelName;
+
+    private final Object lock = new Object();
+    /**
+     * Undelivered events in emission order, guarded by {@link #lock}.
+     * Coalescing events are keyed by method name and key, other events by themselves.
+     */
+    private LinkedHashMap<Object, QueuedEvent> pending = new LinkedHashMap<>();
+    private boolean flushScheduled = false;
+    /**
+     * Dropped count by method name, guarded by {@link #lock}
+     */
+    private final HashMap<String, Long> dropCounters = new HashMap<>();
+
+    private final Runnable flushRunnable = this::flush;
+    private final Choreographer.FrameCallback frameCallback = frameTimeNanos -> flush();
+    private final Runnable postFrameCallback = () -> Choreographer.getInstance().postFrameCallback(frameCallback);
 
     public void registerEvent(@NonNull BinaryMessenger binaryMessenger, @NonNull String channelName) {
-        eventChannel = new EventChannel(binaryMessenger, channelName);
+        this.channelName = channelName;
+        eventChannel = new EventChannel(binaryMessenger, channelName, new StandardMethodCodec(codec));
         eventChannel.setStreamHandler(new EventChannel.StreamHandler() {
             @Override
             public void onListen(Object arguments, EventChannel.EventSink events) {
+                // Negotiate the event encoding with Dart for this session
+                codec.reset(arguments);
                 eventSink = events;
             }
 
@@ -42,19 +155,223 @@ public class EventEmitter {
                 eventSink = null;
             }
         });
+        sEmitters.addIfAbsent(this);
     }
 
+    /**
+     * Emit a state or lifecycle event, which is never dropped.
+     */
     public void emit(@NonNull String methodName, @NonNull HashMap<String, Object> map) {
         if (BuildConfig.DEBUG) {
             Logger.d(TAG, "emit: " + methodName);
         }
         map.put(METHOD_NAME, methodName);
-        mainThreadHandler.post(() -> {
-            if (eventSink != null) eventSink.success(map);
-        });
+        enqueue(new QueuedEvent(methodName, null, map, false));
+    }
+
+    /**
+     * Emit a high frequency event, which may be dropped when the queue is full.
+     */
+    public void emitDroppable(@NonNull String methodName, @NonNull HashMap<String, Object> map) {
+        if (BuildConfig.DEBUG) {
+            Logger.d(TAG, "emitDroppable: " + methodName);
+        }
+        map.put(METHOD_NAME, methodName);
+        enqueue(new QueuedEvent(methodName, null, map, true));
+    }
+
+    /**
+     * Emit a periodic event which is superseded by the next report.
+     * An undelivered event with the same method name and key is replaced and moved to the tail,
+     * so the backlog stays bounded by the number of keys instead of the event rate,
+     * and the new report is still delivered after the events emitted before it.
+     * Such events may also be dropped when the queue is full.
+     *
+     * @param key identifies the reporting source, e.g. uid or stream key; empty for a single source
+     */
+    public void emitLatest(@NonNull String methodName, @NonNull String key, @NonNull HashMap<String, Object> map) {
+        emitLatest(methodName, key, map, null);
+    }
+
+    /**
+     * Emit a periodic delta report. Like {@link #emitLatest}, but an undelivered event with the same
+     * method name and key is merged into the new one instead of being lost.
+     */
+    public void emitMerged(@NonNull String methodName, @NonNull String key, @NonNull HashMap<String, Object> map,
+                           @NonNull Merger merger) {
+        emitLatest(methodName, key, map, merger);
+    }
+
+    private void emitLatest(@NonNull String methodName, @NonNull String key, @NonNull HashMap<String, Object> map,
+                            @Nullable Merger merger) {
+        if (!sCoalesceEnabled) {
+            emitDroppable(methodName, map);
+            return;
+        }
+        if (BuildConfig.DEBUG) {
+            Logger.d(TAG, "emitLatest: " + methodName);
+        }
+        map.put(METHOD_NAME, methodName);
+
+        final String latestKey = methodName + "|" + key;
+        final HashMap<String, Object> superseded;
+        synchronized (lock) {
+            final QueuedEvent undelivered = pending.remove(latestKey);
+            superseded = undelivered == null ? null : undelivered.map;
+            if (undelivered != null) {
+                if (merger != null) {
+                    merger.merge(undelivered.map, map);
+                }
+                undelivered.map = map;
+                pending.put(latestKey, undelivered);
+            }
+        }
+        if (superseded != null) {
+            RTCMapPool.recycle(superseded);
+            return;
+        }
+        enqueue(new QueuedEvent(methodName, latestKey, map, true));
+    }
+
+    private void enqueue(@NonNull QueuedEvent event) {
+        final int flushMode = sFlushMode;
+        final boolean schedule;
+        synchronized (lock) {
+            final int maxQueueSize = sMaxQueueSize;
+            if (maxQueueSize > 0 && pending.size() >= maxQueueSize && !makeRoom(event)) {
+                return;
+            }
+            pending.put(event.latestKey != null ? event.latestKey : event, event);
+            schedule = !flushScheduled;
+            flushScheduled = true;
+        }
+
+        if (schedule) {
+            scheduleFlush(flushMode);
+        }
+    }
+
+    /**
+     * Apply the overflow policy for a full queue, guarded by {@link #lock}
+     *
+     * @return false if the incoming event is dropped
+     */
+    private boolean makeRoom(@NonNull QueuedEvent incoming) {
+        if (sOverflowPolicy == OVERFLOW_DROP_OLDEST) {
+            final Iterator<QueuedEvent> iterator = pending.values().iterator();
+            while (iterator.hasNext()) {
+                final QueuedEvent oldest = iterator.next();
+                if (oldest.droppable) {
+                    iterator.remove();
+                    countDrop(oldest.methodName);
+                    RTCMapPool.recycle(oldest.map);
+                    return true;
+                }
+            }
+        }
+        if (incoming.droppable) {
+            countDrop(incoming.methodName);
+            RTCMapPool.recycle(incoming.map);
+            return false;
+        }
+        // State and lifecycle events are always kept, even beyond the bound
+        return true;
+    }
+
+    private void countDrop(@NonNull String methodName) {
+        final Long count = dropCounters.get(methodName);
+        dropCounters.put(methodName, count == null ? 1L : count + 1);
+        if (BuildConfig.DEBUG) {
+            Logger.d(TAG, "drop: " + methodName + " on " + channelName);
+        }
+    }
+
+    private void scheduleFlush(int flushMode) {
+        if (flushMode == FLUSH_MODE_FRAME) {
+            if (Looper.myLooper() == Looper.getMainLooper()) {
+                postFrameCallback.run();
+            } else {
+                mainThreadHandler.post(postFrameCallback);
+            }
+            mainThreadHandler.postDelayed(flushRunnable, MAX_FRAME_WAIT_MS);
+        } else if (flushMode == FLUSH_MODE_INTERVAL) {
+            mainThreadHandler.postDelayed(flushRunnable, sFlushIntervalMs);
+        } else {
+            mainThreadHandler.post(flushRunnable);
+        }
+    }
+
+    @MainThread
+    private void flush() {
+        mainThreadHandler.removeCallbacks(flushRunnable);
+        Choreographer.getInstance().removeFrameCallback(frameCallback);
+
+        final Collection<QueuedEvent> events;
+        synchronized (lock) {
+            events = pending.values();
+            pending = new LinkedHashMap<>();
+            flushScheduled = false;
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        if (eventSink != null) {
+            if (sFlushMode == FLUSH_MODE_IMMEDIATE || events.size() == 1) {
+                for (QueuedEvent event : events) {
+                    eventSink.success(event.map);
+                }
+            } else {
+                final ArrayList<HashMap<String, Object>> batch = new ArrayList<>(events.size());
+                for (QueuedEvent event : events) {
+                    batch.add(event.map);
+                }
+                eventSink.success(batch);
+            }
+        }
+
+        // Payloads are encoded synchronously by the codec, return them to the pool
+        for (QueuedEvent event : events) {
+            RTCMapPool.recycle(event.map);
+        }
     }
 
     public void destroy() {
-        eventChannel.setStreamHandler(null);
+        sEmitters.remove(this);
+        mainThreadHandler.removeCallbacks(flushRunnable);
+        mainThreadHandler.removeCallbacks(postFrameCallback);
+        synchronized (lock) {
+            pending.clear();
+            flushScheduled = false;
+        }
+        if (eventChannel != null) {
+            eventChannel.setStreamHandler(null);
+        }
+    }
+
+    /**
+     * Merges an undelivered event into the event superseding it, see {@link #emitMerged}
+     */
+    public interface Merger {
+        /**
+         * Move what must still be delivered from undelivered into next, what stays in undelivered is recycled.
+         * Called under the emitter lock.
+         */
+        void merge(@NonNull HashMap<String, Object> undelivered, @NonNull HashMap<String, Object> next);
+    }
+
+    private static final class QueuedEvent {
+        final String methodName;
+        @Nullable
+        final String latestKey;
+        final boolean droppable;
+        HashMap<String, Object> map;
+
+        QueuedEvent(String methodName, @Nullable String latestKey, HashMap<String, Object> map, boolean droppable) {
+            this.methodName = methodName;
+            this.latestKey = latestKey;
+            this.map = map;
+            this.droppable = droppable;
+        }
     }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.event;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.flutter.plugin.common.StandardMessageCodec;
+
+/**
+ * Compact codec for event channels.
+ * <p>
+ * A string keyed map is written as a schema id followed by its values in a fixed order,
+ * the key names (and the method name of an event) are sent only once per schema.
+ * Must pair with the Dart `RTCEventCodec`, which rebuilds the same schema table.
+ * <p>
+ * Every listen starts a new session with an empty schema table. Each compact map carries
+ * its session id, so Dart keeps decoding events of the previous session that are still
+ * in flight after a re-listen. The compact form is only used when Dart asks for it,
+ * otherwise the output is identical to {@link StandardMessageCodec}.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public class RTCEventCodec extends StandardMessageCodec {
+    private static final String METHOD_NAME = "methodName";
+
+    /**
+     * Session id, schema id, then values
+     */
+    private static final byte SCHEMA_REF = (byte) 128;
+    /**
+     * Session id, schema id, method name, key count, keys, then values
+     */
+    private static final byte SCHEMA_DEF = (byte) 129;
+
+    private static final int MAX_SCHEMAS = 1024;
+    /**
+     * Session ids wrap below 251 so that they are always written as a single size byte
+     */
+    private static final int MAX_SESSIONS = 250;
+
+    private boolean compact = false;
+    private final HashMap<Integer, ArrayList<Schema>> schemas = new HashMap<>();
+    private int schemaCount = 0;
+    private int session = 0;
+
+    /**
+     * Start a new session, called when Dart starts listening.
+     *
+     * @param arguments listen arguments from Dart, compact encoding is used if it contains `codec: compact`
+     */
+    @MainThread
+    public void reset(@Nullable Object arguments) {
+        compact = arguments instanceof Map && "compact".equals(((Map<?, ?>) arguments).get("codec"));
+        schemas.clear();
+        schemaCount = 0;
+        session = (session + 1) % MAX_SESSIONS;
+    }
+
+    @Override
+    protected void writeValue(@NonNull ByteArrayOutputStream stream, @Nullable Object value) {
+        if (compact && value instanceof Map && writeCompactMap(stream, (Map<?, ?>) value)) {
+            return;
+        }
+        super.writeValue(stream, value);
+    }
+
+    private boolean writeCompactMap(@NonNull ByteArrayOutputStream stream, @NonNull Map<?, ?> map) {
+        Object methodName = null;
+        // Summed so that the hash does not depend on the iteration order of the map
+        int hash = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            final Object key = entry.getKey();
+            if (!(key instanceof String)) {
+                return false;
+            }
+            if (METHOD_NAME.equals(key)) {
+                methodName = entry.getValue();
+                if (!(methodName instanceof String)) {
+                    return false;
+                }
+                continue;
+            }
+            hash += key.hashCode();
+        }
+        if (methodName != null) {
+            hash = 31 * hash + methodName.hashCode();
+        }
+
+        ArrayList<Schema> candidates = schemas.get(hash);
+        Schema schema = null;
+        if (candidates != null) {
+            for (Schema candidate : candidates) {
+                if (candidate.matches((String) methodName, map)) {
+                    schema = candidate;
+                    break;
+                }
+            }
+        }
+
+        if (schema != null) {
+            stream.write(SCHEMA_REF);
+            writeSize(stream, session);
+            writeSize(stream, schema.id);
+        } else {
+            if (schemaCount >= MAX_SCHEMAS) {
+                return false;
+            }
+            schema = new Schema(schemaCount++, (String) methodName, map);
+            if (candidates == null) {
+                candidates = new ArrayList<>(1);
+                schemas.put(hash, candidates);
+            }
+            candidates.add(schema);
+
+            stream.write(SCHEMA_DEF);
+            writeSize(stream, session);
+            writeSize(stream, schema.id);
+            super.writeValue(stream, schema.methodName);
+            writeSize(stream, schema.keys.length);
+            for (String key : schema.keys) {
+                super.writeValue(stream, key);
+            }
+        }
+
+        for (String key : schema.keys) {
+            writeValue(stream, map.get(key));
+        }
+        return true;
+    }
+
+    private static final class Schema {
+        final int id;
+        @Nullable
+        final String methodName;
+        final String[] keys;
+
+        Schema(int id, @Nullable String methodName, @NonNull Map<?, ?> map) {
+            this.id = id;
+            this.methodName = methodName;
+            final int size = methodName == null ? map.size() : map.size() - 1;
+            this.keys = new String[size];
+            int i = 0;
+            for (Object key : map.keySet()) {
+                if (!METHOD_NAME.equals(key)) {
+                    keys[i++] = (String) key;
+                }
+            }
+        }
+
+        boolean matches(@Nullable String methodName, @NonNull Map<?, ?> map) {
+            if (this.methodName == null ? methodName != null : !this.methodName.equals(methodName)) {
+                return false;
+            }
+            final int size = methodName == null ? map.size() : map.size() - 1;
+            if (size != keys.length) {
+                return false;
+            }
+            for (String key : keys) {
+                if (!map.containsKey(key)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -99,7 +99,7 @@ public class KTVManagerEventProxy extends IKTVManagerEventHandler {
         final HashMap<String, Object> map = new HashMap<>();
         map.put("downloadId", downloadId);
         map.put("downloadProgress", downloadProgress);
-        emitter.emit("onDownloadMusicProgress", map);
+        emitter.emitLatest("onDownloadMusicProgress", String.valueOf(downloadId), map);
     }
 
     @Override
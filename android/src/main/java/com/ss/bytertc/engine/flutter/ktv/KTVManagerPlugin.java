@@ -10,6 +10,7 @@ import androidx.annotation.RestrictTo;
 
 import com.ss.bytertc.engine.flutter.BuildConfig;
 import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.MethodCallDispatcher;
 import com.ss.bytertc.engine.flutter.base.RTCType;
 import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.plugin.RTCFlutterPlugin;
@@ -39,7 +40,9 @@ public class KTVManagerPlugin extends RTCFlutterPlugin {
         super.onAttachedToEngine(binding);
 
         channel = new MethodChannel(binding.getBinaryMessenger(), "com.bytedance.ve_rtc_ktv_manager");
-        channel.setMethodCallHandler(callHandler);
+        channel.setMethodCallHandler(new MethodCallDispatcher(getTAG(), callHandler,
+                // Attaches the KTV player channel
+                "getKTVPlayer"));
         mEventProxy.registerEvent(binding.getBinaryMessenger());
     }
 
@@ -34,7 +34,7 @@ public class KTVPlayerEventProxy extends IKTVPlayerEventHandler {
         final HashMap<String, Object> map = new HashMap<>();
         map.put("musicId", musicId);
         map.put("progress", progress);
-        emitter.emit("onPlayProgress", map);
+        emitter.emitLatest("onPlayProgress", musicId, map);
     }
 
     @Override
@@ -10,6 +10,7 @@ import androidx.annotation.RestrictTo;
 
 import com.ss.bytertc.engine.flutter.BuildConfig;
 import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.MethodCallDispatcher;
 import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.plugin.RTCFlutterPlugin;
 import com.ss.bytertc.ktv.IKTVPlayer;
@@ -34,7 +35,7 @@ public class KTVPlayerPlugin extends RTCFlutterPlugin {
         super.onAttachedToEngine(binding);
 
         channel = new MethodChannel(binding.getBinaryMessenger(), "com.bytedance.ve_rtc_ktv_player");
-        channel.setMethodCallHandler(callHandler);
+        channel.setMethodCallHandler(new MethodCallDispatcher(getTAG(), callHandler));
         mPlayerEventProxy.registerEvent(binding.getBinaryMessenger());
     }
 
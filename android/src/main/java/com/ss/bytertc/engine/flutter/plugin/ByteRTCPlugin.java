@@ -6,22 +6,34 @@
 package com.ss.bytertc.engine.flutter.plugin;
 
 import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.os.Bundle;
+import android.os.SystemClock;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.ss.bytertc.engine.RTCVideo;
 import com.ss.bytertc.engine.flutter.BuildConfig;
 import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.MethodCallDispatcher;
+import com.ss.bytertc.engine.flutter.base.MethodMetrics;
+import com.ss.bytertc.engine.flutter.base.RTCMapPool;
 import com.ss.bytertc.engine.flutter.base.RTCType;
 import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.base.RTCVideoManager;
+import com.ss.bytertc.engine.flutter.event.EventEmitter;
 import com.ss.bytertc.engine.flutter.render.RTCSurfaceViewFactory;
+import com.ss.bytertc.engine.flutter.render.RTCTextureViewFactory;
 import com.ss.bytertc.engine.flutter.video.RTCVideoPlugin;
 import com.ss.bytertc.engine.flutter.video.VideoEventProxy;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.Iterator;
+
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.platform.PlatformViewRegistry;
@@ -34,11 +46,31 @@ import io.flutter.plugin.platform.PlatformViewRegistry;
 public class ByteRTCPlugin implements FlutterPlugin {
     private static final String TAG = "ByteRTCPlugin";
 
+    /**
+     * Application meta-data enabling engine creation on the background call thread instead of the main thread.
+     * Off by default, the SDK does not document createRTCVideo as safe off the main thread,
+     * enable it only after verifying the SDK version in use
+     */
+    private static final String CREATE_IN_BACKGROUND_KEY = "com.bytedance.ve_rtc.create_in_background";
+    /**
+     * Application meta-data holding the appId of an engine created in the background once the plugin is attached,
+     * so that createRTCVideo finds the engine ready. Requires {@link #CREATE_IN_BACKGROUND_KEY}
+     */
+    private static final String PREWARM_APP_ID_KEY = "com.bytedance.ve_rtc.prewarm_app_id";
+
     public FlutterPlugin.FlutterPluginBinding binding;
     public MethodChannel channel;
 
     private final VideoEventProxy videoEventHandler = new VideoEventProxy();
     private RTCVideoPlugin mVideoPlugin;
+    private RTCSurfaceViewFactory mSurfaceViewFactory;
+    private RTCTextureViewFactory mTextureViewFactory;
+    private boolean mCreateInBackground;
+    /**
+     * appId and parameters of the prewarmed engine until createRTCVideo claims it
+     */
+    private volatile String mPrewarmAppId;
+    private volatile JSONObject mPrewarmParameters;
 
     @Override
     public void onAttachedToEngine(@NonNull FlutterPluginBinding binding) {
@@ -50,12 +82,89 @@ public class ByteRTCPlugin implements FlutterPlugin {
 
         // Register platform view
         PlatformViewRegistry platformViewRegistry = binding.getPlatformViewRegistry();
-        platformViewRegistry.registerViewFactory("ByteRTCSurfaceView",
-                new RTCSurfaceViewFactory(binding.getBinaryMessenger()));
+        mSurfaceViewFactory = new RTCSurfaceViewFactory(binding.getBinaryMessenger(), applicationContext);
+        platformViewRegistry.registerViewFactory("ByteRTCSurfaceView", mSurfaceViewFactory);
+        mTextureViewFactory = new RTCTextureViewFactory(binding.getBinaryMessenger(), binding.getTextureRegistry());
+
+        final Bundle metaData = getMetaData(applicationContext);
+        mCreateInBackground = metaData != null && metaData.getBoolean(CREATE_IN_BACKGROUND_KEY, false);
 
         channel = new MethodChannel(binding.getBinaryMessenger(), "com.bytedance.ve_rtc_plugin");
-        channel.setMethodCallHandler(methodCallHandler);
+        // Destroying runs on the main thread, after the calls still queued for the old engine.
+        // With background creation, calls arriving during createRTCVideo are queued behind it
+        channel.setMethodCallHandler(mCreateInBackground
+                ? new MethodCallDispatcher(TAG, methodCallHandler, "destroyRTCVideo", "createTextureView")
+                : new MethodCallDispatcher(TAG, methodCallHandler, "destroyRTCVideo", "createTextureView", "createRTCVideo"));
         videoEventHandler.registerEvent(binding.getBinaryMessenger());
+
+        final String prewarmAppId = metaData == null ? null : metaData.getString(PREWARM_APP_ID_KEY);
+        if (prewarmAppId != null && !mCreateInBackground) {
+            Logger.e(TAG, "Prewarm ignored, it requires " + CREATE_IN_BACKGROUND_KEY);
+        } else if (prewarmAppId != null) {
+            final JSONObject parameters = defaultParameters();
+            mPrewarmAppId = prewarmAppId;
+            mPrewarmParameters = parameters;
+            MethodCallDispatcher.runInBackground(() -> prewarm(prewarmAppId, parameters));
+        }
+    }
+
+    @Nullable
+    private static Bundle getMetaData(@NonNull Context context) {
+        try {
+            ApplicationInfo info = context.getPackageManager()
+                    .getApplicationInfo(context.getPackageName(), PackageManager.GET_META_DATA);
+            return info.metaData;
+        } catch (PackageManager.NameNotFoundException e) {
+            return null;
+        }
+    }
+
+    @NonNull
+    private static JSONObject defaultParameters() {
+        final JSONObject parameters = new JSONObject();
+        try {
+            parameters.put("rtc.platform", 6);
+        } catch (JSONException e) {
+            e.printStackTrace();
+        }
+        return parameters;
+    }
+
+    /**
+     * Whether two engine parameter objects have the same keys and values, regardless of key order
+     */
+    private static boolean sameParameters(@NonNull JSONObject a, @NonNull JSONObject b) {
+        if (a.length() != b.length()) {
+            return false;
+        }
+        final Iterator<String> keys = a.keys();
+        while (keys.hasNext()) {
+            final String key = keys.next();
+            final Object value = a.opt(key);
+            final Object other = b.opt(key);
+            if (value instanceof JSONObject && other instanceof JSONObject) {
+                if (!sameParameters((JSONObject) value, (JSONObject) other)) {
+                    return false;
+                }
+            } else if (other == null || !String.valueOf(value).equals(String.valueOf(other))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Create the engine ahead of createRTCVideo, with default parameters
+     */
+    private void prewarm(@NonNull String appId, @NonNull JSONObject parameters) {
+        if (RTCVideoManager.hasRTCVideo()) {
+            return;
+        }
+        final long start = SystemClock.elapsedRealtime();
+        RTCVideoManager.create(appId, videoEventHandler, parameters);
+        if (BuildConfig.DEBUG) {
+            Logger.d(TAG, "prewarm: engine created in " + (SystemClock.elapsedRealtime() - start) + "ms");
+        }
     }
 
     @Override
@@ -68,6 +177,14 @@ public class ByteRTCPlugin implements FlutterPlugin {
             mVideoPlugin.onDetachedFromEngine(binding);
             mVideoPlugin = null;
         }
+        if (mSurfaceViewFactory != null) {
+            mSurfaceViewFactory.clearPool();
+            mSurfaceViewFactory = null;
+        }
+        if (mTextureViewFactory != null) {
+            mTextureViewFactory.disposeAll();
+            mTextureViewFactory = null;
+        }
         RTCVideoManager.destroy();
         videoEventHandler.destroy();
     }
@@ -99,19 +216,34 @@ public class ByteRTCPlugin implements FlutterPlugin {
             }
 
             case "createRTCVideo": {
-                if (!RTCVideoManager.hasRTCVideo()) {
-                    String appId = arguments.optString("appId");
-                    JSONObject parameters = arguments.optJSONObject("parameters");
-                    try {
-                        parameters.put("rtc.platform", 6);
-                    } catch (JSONException e) {
-                        e.printStackTrace();
-                    }
+                String appId = arguments.optString("appId");
+                final String prewarmAppId = mPrewarmAppId;
+                final JSONObject prewarmParameters = mPrewarmParameters;
+                mPrewarmAppId = null;
+                mPrewarmParameters = null;
+                JSONObject parameters = arguments.optJSONObject("parameters");
+                try {
+                    parameters.put("rtc.platform", 6);
+                } catch (JSONException e) {
+                    e.printStackTrace();
+                }
+                if (prewarmAppId != null && RTCVideoManager.hasRTCVideo()
+                        && (!prewarmAppId.equals(appId) || !sameParameters(prewarmParameters, parameters))) {
+                    Logger.e(TAG, "Prewarmed engine has another appId or parameters, recreate it");
+                    // Destroyed on the main thread like destroyRTCVideo, then created again in the background
+                    MethodCallDispatcher.runNext(true, RTCVideoManager::destroy);
+                    MethodCallDispatcher.runNext(false, () -> RTCVideoManager.create(appId, videoEventHandler, parameters));
+                } else if (!RTCVideoManager.hasRTCVideo()) {
                     RTCVideoManager.create(appId, videoEventHandler, parameters);
                 }
-                mVideoPlugin = new RTCVideoPlugin();
-                mVideoPlugin.onAttachedToEngine(binding);
-                result.success(RTCVideoManager.hasRTCVideo());
+                // Channels are registered on the main thread, the result is returned once they are
+                MethodCallDispatcher.runNext(true, result, reply -> {
+                    final long start = System.nanoTime();
+                    mVideoPlugin = new RTCVideoPlugin(videoEventHandler);
+                    mVideoPlugin.onAttachedToEngine(binding);
+                    MethodMetrics.recordStartup("attachRTCVideoPlugin", start);
+                    reply.success(RTCVideoManager.hasRTCVideo());
+                });
                 break;
             }
 
@@ -125,11 +257,58 @@ public class ByteRTCPlugin implements FlutterPlugin {
                 break;
             }
 
+            case "createTextureView": {
+                result.success(mTextureViewFactory.create(call.arguments));
+                break;
+            }
+
             case "eventHandlerSwitches": { // for performance reason
                 videoEventHandler.setSwitches(arguments);
                 result.success(null);
                 break;
             }
+
+            case "setRemoteAudioPropertiesFilter": { // for performance reason
+                videoEventHandler.setRemoteAudioPropertiesFilter(arguments.optBox("filter"));
+                result.success(null);
+                break;
+            }
+
+            case "setEventDeliveryConfig": { // for performance reason
+                EventEmitter.setDeliveryConfig(arguments.optBox("config"));
+                result.success(null);
+                break;
+            }
+
+            case "setBackgroundMethodDispatch": {
+                MethodCallDispatcher.setEnabled(arguments.optBoolean("enable"));
+                result.success(null);
+                break;
+            }
+
+            case "getEventDropCounters": {
+                result.success(EventEmitter.getDropCounters());
+                if (arguments.optBoolean("reset")) {
+                    EventEmitter.resetDropCounters();
+                }
+                break;
+            }
+
+            case "getEventPayloadPoolStats": {
+                result.success(RTCMapPool.getStats());
+                break;
+            }
+
+            case "setMethodMetricsEnabled": {
+                MethodMetrics.setEnabled(arguments.optBoolean("enable"));
+                result.success(null);
+                break;
+            }
+
+            case "getMethodMetrics": {
+                result.success(MethodMetrics.snapshot(arguments.optBoolean("reset")));
+                break;
+            }
             // endregion
 
             default:
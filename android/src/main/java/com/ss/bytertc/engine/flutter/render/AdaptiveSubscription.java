@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.render;
+
+import android.view.View;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ss.bytertc.engine.RTCRoom;
+import com.ss.bytertc.engine.data.RemoteVideoConfig;
+import com.ss.bytertc.engine.data.StreamIndex;
+import com.ss.bytertc.engine.flutter.BuildConfig;
+import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.MethodCallDispatcher;
+import com.ss.bytertc.engine.flutter.base.RTCVideoManager;
+import com.ss.bytertc.engine.flutter.room.StreamSubscriptions;
+import com.ss.bytertc.engine.type.MediaStreamType;
+
+/**
+ * Adapts the subscription of a remote stream to the render view showing it.
+ * <p>
+ * While the view is laid out, the smallest simulcast resolution covering its size is requested
+ * through {@link RTCRoom#setRemoteVideoConfig}, with a lower frame rate for thumbnails.
+ * While the view is detached or has no size, the video of the stream is unsubscribed,
+ * and subscribed again once the view is back, together with the audio if it is subscribed then.
+ * Only video this class paused is resumed, and not if the app changed the subscription of the
+ * stream meanwhile. Only a stream whose video subscription has been reported is paused.
+ * <p>
+ * The view listeners run on the main thread, the subscription changes are queued with the calls
+ * of the app through {@link MethodCallDispatcher} so both are applied in order.
+ */
+@MainThread
+class AdaptiveSubscription implements View.OnLayoutChangeListener, View.OnAttachStateChangeListener {
+    private static final String TAG = "AdaptiveSubscription";
+
+    /**
+     * Views whose shorter edge is at most this many pixels are treated as thumbnails
+     */
+    private static final int THUMBNAIL_MAX_EDGE = 240;
+    private static final int THUMBNAIL_FRAME_RATE = 15;
+    /**
+     * Size changes smaller than this are ignored, so animations do not flood the SDK
+     */
+    private static final int SIZE_STEP = 32;
+
+    @NonNull
+    private final View mView;
+    @Nullable
+    private String mRoomId;
+    @Nullable
+    private String mUid;
+    private boolean mScreen;
+
+    private boolean mAttached = false;
+    /**
+     * Whether the view has been visible since bound, a view not laid out yet is not paused
+     */
+    private boolean mShown = false;
+    private int mRequestedWidth = 0;
+    private int mRequestedHeight = 0;
+    /**
+     * The pending pause, null while the video is not paused
+     */
+    @Nullable
+    private Pause mPause;
+
+    /**
+     * Result of a pause, only touched on the background call thread
+     */
+    private static final class Pause {
+        boolean paused = false;
+        /**
+         * Subscription calls of the app when the video was paused
+         */
+        int appCallsAtPause = 0;
+    }
+
+    AdaptiveSubscription(@NonNull View view) {
+        mView = view;
+    }
+
+    void bind(@NonNull String roomId, @NonNull String uid, @NonNull StreamIndex streamType) {
+        if (roomId.equals(mRoomId) && uid.equals(mUid) && mScreen == (streamType == StreamIndex.STREAM_INDEX_SCREEN)) {
+            return;
+        }
+        unbind();
+        mRoomId = roomId;
+        mUid = uid;
+        mScreen = streamType == StreamIndex.STREAM_INDEX_SCREEN;
+        mView.addOnLayoutChangeListener(this);
+        mView.addOnAttachStateChangeListener(this);
+        mAttached = mView.getWindowToken() != null;
+        update();
+    }
+
+    void unbind() {
+        if (mUid == null) {
+            return;
+        }
+        mView.removeOnLayoutChangeListener(this);
+        mView.removeOnAttachStateChangeListener(this);
+        if (mPause != null) {
+            resume(mPause);
+            mPause = null;
+        }
+        mRoomId = null;
+        mUid = null;
+        mRequestedWidth = 0;
+        mRequestedHeight = 0;
+        mShown = false;
+    }
+
+    @Override
+    public void onLayoutChange(View v, int left, int top, int right, int bottom,
+                               int oldLeft, int oldTop, int oldRight, int oldBottom) {
+        update();
+    }
+
+    @Override
+    public void onViewAttachedToWindow(View v) {
+        mAttached = true;
+        update();
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(View v) {
+        mAttached = false;
+        update();
+    }
+
+    private void update() {
+        if (mUid == null) {
+            return;
+        }
+        final int width = mView.getWidth();
+        final int height = mView.getHeight();
+        final boolean visible = mAttached && width > 0 && height > 0;
+
+        if (!visible) {
+            if (mShown && mPause == null) {
+                mPause = pause();
+            }
+            return;
+        }
+        mShown = true;
+        if (mPause != null) {
+            resume(mPause);
+            mPause = null;
+        }
+        // Simulcast layers only exist for the main stream
+        if (!mScreen && (Math.abs(width - mRequestedWidth) >= SIZE_STEP || Math.abs(height - mRequestedHeight) >= SIZE_STEP)) {
+            requestResolution(width, height);
+        }
+    }
+
+    private void requestResolution(int width, int height) {
+        final RTCRoom room = room();
+        if (room == null) {
+            return;
+        }
+        final int frameRate = Math.min(width, height) <= THUMBNAIL_MAX_EDGE ? THUMBNAIL_FRAME_RATE : 0;
+        if (BuildConfig.DEBUG) {
+            Logger.d(TAG, "requestResolution: " + mUid + " " + width + "x" + height + "@" + frameRate);
+        }
+        if (room.setRemoteVideoConfig(mUid, new RemoteVideoConfig(width, height, frameRate)) == 0) {
+            mRequestedWidth = width;
+            mRequestedHeight = height;
+        }
+    }
+
+    /**
+     * Unsubscribe the video only, the audio subscription is kept.
+     * Skipped if the video of the stream is not subscribed.
+     */
+    @NonNull
+    private Pause pause() {
+        final String roomId = mRoomId;
+        final String uid = mUid;
+        final boolean screen = mScreen;
+        final Pause pause = new Pause();
+        MethodCallDispatcher.runInBackground(() -> {
+            final RTCRoom room = room(roomId);
+            if (room == null) {
+                return;
+            }
+            final StreamSubscriptions subscriptions = StreamSubscriptions.of(room);
+            if (!subscriptions.isVideoSubscribed(uid, screen)) {
+                // Not subscribed yet, or audio only
+                return;
+            }
+            if (BuildConfig.DEBUG) {
+                Logger.d(TAG, "pause: " + uid + (screen ? " screen" : ""));
+            }
+            pause.appCallsAtPause = subscriptions.appCalls(uid, screen);
+            final MediaStreamType type = MediaStreamType.RTC_MEDIA_STREAM_TYPE_VIDEO;
+            final int retValue = screen ? room.unsubscribeScreen(uid, type) : room.unsubscribeStream(uid, type);
+            pause.paused = retValue == 0;
+        });
+        return pause;
+    }
+
+    /**
+     * Subscribe the video again if the pause took effect. Subscribing replaces the media type
+     * of the subscription, so the audio is included when it is currently subscribed.
+     */
+    private void resume(@NonNull Pause pause) {
+        final String roomId = mRoomId;
+        final String uid = mUid;
+        final boolean screen = mScreen;
+        // Queued after the pause, so its result is known
+        MethodCallDispatcher.runInBackground(() -> {
+            final RTCRoom room = room(roomId);
+            if (!pause.paused || room == null) {
+                return;
+            }
+            final StreamSubscriptions subscriptions = StreamSubscriptions.of(room);
+            if (subscriptions.appCalls(uid, screen) != pause.appCallsAtPause) {
+                if (BuildConfig.DEBUG) {
+                    Logger.d(TAG, "resume skipped, subscription changed by the app: " + uid);
+                }
+                return;
+            }
+            final MediaStreamType type = Boolean.TRUE.equals(subscriptions.isAudioSubscribed(uid, screen))
+                    ? MediaStreamType.RTC_MEDIA_STREAM_TYPE_BOTH
+                    : MediaStreamType.RTC_MEDIA_STREAM_TYPE_VIDEO;
+            if (BuildConfig.DEBUG) {
+                Logger.d(TAG, "resume: " + uid + (screen ? " screen " : " ") + type);
+            }
+            if (screen) {
+                room.subscribeScreen(uid, type);
+            } else {
+                room.subscribeStream(uid, type);
+            }
+        });
+    }
+
+    @Nullable
+    private RTCRoom room() {
+        return room(mRoomId);
+    }
+
+    @Nullable
+    private static RTCRoom room(@Nullable String roomId) {
+        if (roomId == null || !RTCVideoManager.hasRTCVideo()) {
+            return null;
+        }
+        return RTCVideoManager.getRoomById(roomId);
+    }
+}
@@ -12,6 +12,7 @@ import android.view.TextureView;
 import android.view.View;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import com.ss.bytertc.engine.RTCVideo;
@@ -22,6 +23,8 @@ import com.ss.bytertc.engine.flutter.BuildConfig;
 import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.base.RTCVideoManager;
 
+import java.util.HashMap;
+
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
@@ -40,19 +43,52 @@ class RTCSurfaceView implements PlatformView, MethodChannel.MethodCallHandler {
      */
     public static final int VIEW_TYPE_TEXTURE = 1;
 
+    /**
+     * The view currently rendering each bound stream, so that a disposed view only unbinds
+     * a stream which has not been rebound to another view since. Only touched on the main thread.
+     */
+    private static final HashMap<String, RTCSurfaceView> sStreamOwners = new HashMap<>();
+
+    public interface OnDisposeListener {
+        /**
+         * @param canvas the canvas of the disposed view, no longer bound to any stream
+         */
+        void onDispose(@NonNull VideoCanvas canvas);
+    }
+
     @NonNull
     private final View mRenderView;
     @NonNull
     private final VideoCanvas mVideoCanvas;
+    @NonNull
+    private final MethodChannel mMethodChannel;
+    @Nullable
+    private final OnDisposeListener mDisposeListener;
+    @Nullable
+    private String mBoundStream;
+    @Nullable
+    private Runnable mUnbind;
+    /**
+     * Set when Dart enables adaptive subscription for a remote canvas
+     */
+    @Nullable
+    private final AdaptiveSubscription mAdaptiveSubscription;
 
-    public RTCSurfaceView(BinaryMessenger messenger, Context context, int viewId, Object args) {
+    /**
+     * @param canvas a canvas holding the render view, either new or recycled from a disposed view
+     */
+    public RTCSurfaceView(BinaryMessenger messenger, @NonNull VideoCanvas canvas, int viewId, Object args,
+                          @Nullable OnDisposeListener disposeListener) {
         RTCTypeBox arguments = new RTCTypeBox(args, "RTCSurfaceView");
-        mRenderView = createRenderView(context, arguments);
-        mVideoCanvas = new VideoCanvas();
-        mVideoCanvas.renderView = mRenderView;
+        mVideoCanvas = canvas;
+        mRenderView = canvas.renderView;
+        mDisposeListener = disposeListener;
+        mAdaptiveSubscription = arguments.optBoolean("adaptiveSubscribe", false)
+                ? new AdaptiveSubscription(mRenderView)
+                : null;
 
-        MethodChannel methodChannel = new MethodChannel(messenger, "com.bytedance.ve_rtc_surfaceView" + viewId);
-        methodChannel.setMethodCallHandler(this);
+        mMethodChannel = new MethodChannel(messenger, "com.bytedance.ve_rtc_surfaceView" + viewId);
+        mMethodChannel.setMethodCallHandler(this);
 
         int canvasType = arguments.optInt("canvasType", -1);
         if (BuildConfig.DEBUG) {
@@ -85,7 +121,14 @@ class RTCSurfaceView implements PlatformView, MethodChannel.MethodCallHandler {
 
     @Override
     public void dispose() {
-        EchoTestViewHolder.setView(null);
+        mMethodChannel.setMethodCallHandler(null);
+        if (mAdaptiveSubscription != null) {
+            mAdaptiveSubscription.unbind();
+        }
+        bindStream(null, null);
+        if (mDisposeListener != null) {
+            mDisposeListener.onDispose(mVideoCanvas);
+        }
     }
     // endregion
 
@@ -173,6 +216,8 @@ class RTCSurfaceView implements PlatformView, MethodChannel.MethodCallHandler {
         mVideoCanvas.renderMode = renderMode;
         mVideoCanvas.backgroundColor = backgroundColor;
 
+        bindStream("local|" + streamType.value(), () ->
+                RTCVideoManager.getRTCVideo().setLocalVideoCanvas(streamType, new VideoCanvas()));
         return RTCVideoManager.getRTCVideo().setLocalVideoCanvas(streamType, mVideoCanvas);
     }
 
@@ -188,7 +233,12 @@ class RTCSurfaceView implements PlatformView, MethodChannel.MethodCallHandler {
 
         final RemoteStreamKey streamKey = new RemoteStreamKey(roomId, uid, streamType);
 
+        bindStream("remote|" + roomId + "|" + uid + "|" + streamType.value(), () ->
+                RTCVideoManager.getRTCVideo().setRemoteVideoCanvas(streamKey, new VideoCanvas()));
         RTCVideoManager.getRTCVideo().setRemoteVideoCanvas(streamKey, mVideoCanvas);
+        if (mAdaptiveSubscription != null) {
+            mAdaptiveSubscription.bind(roomId, uid, streamType);
+        }
     }
 
     private int setupPublicStreamVideo(RTCTypeBox arguments) {
@@ -199,6 +249,8 @@ class RTCSurfaceView implements PlatformView, MethodChannel.MethodCallHandler {
         mVideoCanvas.renderMode = renderMode;
         mVideoCanvas.backgroundColor = backgroundColor;
 
+        bindStream("public|" + uid, () ->
+                RTCVideoManager.getRTCVideo().setPublicStreamVideoCanvas(uid, new VideoCanvas()));
         RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
         return rtcVideo.setPublicStreamVideoCanvas(uid, mVideoCanvas);
     }
@@ -210,14 +262,38 @@ class RTCSurfaceView implements PlatformView, MethodChannel.MethodCallHandler {
         mVideoCanvas.renderMode = renderMode;
         mVideoCanvas.backgroundColor = backgroundColor;
 
+        bindStream("echoTest", () -> EchoTestViewHolder.setView(null));
         EchoTestViewHolder.setView(mVideoCanvas);
     }
 
     // endregion
 
+    /**
+     * Record this view as the renderer of a stream, and release the stream it rendered before
+     * unless another view has taken it over.
+     *
+     * @param stream identifies the stream, null to only release the current one
+     * @param unbind detaches the stream from this view's canvas
+     */
+    private void bindStream(@Nullable String stream, @Nullable Runnable unbind) {
+        if (mAdaptiveSubscription != null && (stream == null || !stream.startsWith("remote|"))) {
+            mAdaptiveSubscription.unbind();
+        }
+        if (mBoundStream != null && sStreamOwners.get(mBoundStream) == this) {
+            sStreamOwners.remove(mBoundStream);
+            if (!mBoundStream.equals(stream) && mUnbind != null && RTCVideoManager.hasRTCVideo()) {
+                mUnbind.run();
+            }
+        }
+        mBoundStream = stream;
+        mUnbind = unbind;
+        if (stream != null) {
+            sStreamOwners.put(stream, this);
+        }
+    }
+
     @NonNull
-    private static View createRenderView(Context context, RTCTypeBox arguments) {
-        int viewType = arguments.optInt("viewType", VIEW_TYPE_TEXTURE);
+    static View createRenderView(Context context, int viewType) {
         if (viewType == VIEW_TYPE_TEXTURE) {
             return new TextureView(context);
         } else {
@@ -6,29 +6,222 @@
 package com.ss.bytertc.engine.flutter.render;
 
 import android.content.Context;
+import android.graphics.SurfaceTexture;
+import android.util.SparseArray;
+import android.view.TextureView;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
 
+import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
+import com.ss.bytertc.engine.VideoCanvas;
+import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
+
+import java.util.ArrayDeque;
+
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.StandardMessageCodec;
 import io.flutter.plugin.platform.PlatformView;
 import io.flutter.plugin.platform.PlatformViewFactory;
 
+/**
+ * Creates {@link RTCSurfaceView} and keeps the canvases of disposed views for reuse, so that scrolling
+ * a participant grid does not create and destroy render surfaces all the time.
+ */
 @RestrictTo(RestrictTo.Scope.LIBRARY)
 public class RTCSurfaceViewFactory extends PlatformViewFactory {
 
+    /**
+     * Max disposed canvases kept for reuse, per view type
+     */
+    private static final int MAX_POOLED_VIEWS = 4;
+
     private final BinaryMessenger messenger;
+    /**
+     * Pooled views are built with the application context, so they can outlive the activity
+     */
+    private final Context appContext;
 
-    public RTCSurfaceViewFactory(BinaryMessenger messenger) {
+    /**
+     * Canvases of disposed views by view type, with their render view still set. Only touched on the main thread.
+     */
+    private final SparseArray<ArrayDeque<VideoCanvas>> pools = new SparseArray<>();
+
+    public RTCSurfaceViewFactory(BinaryMessenger messenger, Context appContext) {
         super(StandardMessageCodec.INSTANCE);
         this.messenger = messenger;
+        this.appContext = appContext;
     }
 
     @NonNull
     @Override
     public PlatformView create(@Nullable Context context, int viewId, @Nullable Object args) {
-        return new RTCSurfaceView(messenger, context, viewId, args);
+        RTCTypeBox arguments = new RTCTypeBox(args, "RTCSurfaceView");
+        int viewType = arguments.optInt("viewType", RTCSurfaceView.VIEW_TYPE_TEXTURE);
+        return new RTCSurfaceView(messenger, obtainCanvas(viewType), viewId, args,
+                canvas -> recycle(viewType, canvas));
+    }
+
+    /**
+     * Drop all pooled canvases and release the surfaces they keep
+     */
+    @MainThread
+    public void clearPool() {
+        for (int i = 0; i < pools.size(); i++) {
+            for (VideoCanvas canvas : pools.valueAt(i)) {
+                discard(canvas.renderView);
+            }
+        }
+        pools.clear();
+    }
+
+    @NonNull
+    private VideoCanvas obtainCanvas(int viewType) {
+        ArrayDeque<VideoCanvas> pool = pools.get(viewType);
+        VideoCanvas canvas = pool != null ? pool.pollFirst() : null;
+        if (canvas == null) {
+            canvas = new VideoCanvas();
+            canvas.renderView = RTCSurfaceView.createRenderView(appContext, viewType);
+            return canvas;
+        }
+
+        // Detaching destroys the surface of a TextureView, so restore the kept one afterwards
+        ViewParent parent = canvas.renderView.getParent();
+        if (parent instanceof ViewGroup) {
+            ((ViewGroup) parent).removeView(canvas.renderView);
+        }
+        if (canvas.renderView instanceof TextureView) {
+            KeepTextureListener.restore((TextureView) canvas.renderView);
+        }
+        return canvas;
+    }
+
+    /**
+     * Called once a disposed view has unbound its stream from the canvas
+     */
+    private void recycle(int viewType, @NonNull VideoCanvas canvas) {
+        ArrayDeque<VideoCanvas> pool = pools.get(viewType);
+        if (pool == null) {
+            pool = new ArrayDeque<>();
+            pools.put(viewType, pool);
+        }
+        if (pool.size() >= MAX_POOLED_VIEWS) {
+            discard(canvas.renderView);
+            return;
+        }
+        if (canvas.renderView instanceof TextureView) {
+            KeepTextureListener.install((TextureView) canvas.renderView);
+        }
+        pool.addLast(canvas);
+    }
+
+    private static void discard(View view) {
+        if (view instanceof TextureView) {
+            KeepTextureListener.release((TextureView) view);
+        }
+    }
+
+    /**
+     * Keeps the {@link SurfaceTexture} of a pooled {@link TextureView} when it leaves the window, by returning
+     * false from {@link #onSurfaceTextureDestroyed}. Wraps whatever listener the renderer has set.
+     */
+    private static final class KeepTextureListener implements TextureView.SurfaceTextureListener {
+        @Nullable
+        private final TextureView.SurfaceTextureListener delegate;
+        @Nullable
+        private SurfaceTexture kept;
+
+        private KeepTextureListener(@Nullable TextureView.SurfaceTextureListener delegate) {
+            this.delegate = delegate;
+        }
+
+        static void install(@NonNull TextureView view) {
+            TextureView.SurfaceTextureListener current = view.getSurfaceTextureListener();
+            if (!(current instanceof KeepTextureListener)) {
+                view.setSurfaceTextureListener(new KeepTextureListener(current));
+            }
+        }
+
+        /**
+         * Give the kept surface back to the view. TextureView does not report a surface set this way as
+         * available, so tell the renderer once the view is laid out in its new window.
+         */
+        static void restore(@NonNull TextureView view) {
+            TextureView.SurfaceTextureListener current = view.getSurfaceTextureListener();
+            if (!(current instanceof KeepTextureListener)) {
+                return;
+            }
+            final KeepTextureListener keep = (KeepTextureListener) current;
+            view.setSurfaceTextureListener(keep.delegate);
+            final SurfaceTexture texture = keep.kept;
+            if (texture == null) {
+                return;
+            }
+            view.setSurfaceTexture(texture);
+            view.addOnLayoutChangeListener(new View.OnLayoutChangeListener() {
+                @Override
+                public void onLayoutChange(View v, int left, int top, int right, int bottom,
+                                           int oldLeft, int oldTop, int oldRight, int oldBottom) {
+                    if (v.getWindowToken() == null || v.getWidth() == 0 || v.getHeight() == 0) {
+                        return;
+                    }
+                    v.removeOnLayoutChangeListener(this);
+                    TextureView.SurfaceTextureListener listener = view.getSurfaceTextureListener();
+                    if (listener != null && view.getSurfaceTexture() == texture) {
+                        listener.onSurfaceTextureAvailable(texture, v.getWidth(), v.getHeight());
+                    }
+                }
+            });
+        }
+
+        /**
+         * Let the view release its surface as usual, and release the kept one
+         */
+        static void release(@NonNull TextureView view) {
+            TextureView.SurfaceTextureListener current = view.getSurfaceTextureListener();
+            if (!(current instanceof KeepTextureListener)) {
+                return;
+            }
+            KeepTextureListener keep = (KeepTextureListener) current;
+            view.setSurfaceTextureListener(keep.delegate);
+            if (keep.kept != null) {
+                keep.kept.release();
+                keep.kept = null;
+            }
+        }
+
+        @Override
+        public void onSurfaceTextureAvailable(@NonNull SurfaceTexture surface, int width, int height) {
+            if (delegate != null) {
+                delegate.onSurfaceTextureAvailable(surface, width, height);
+            }
+        }
+
+        @Override
+        public void onSurfaceTextureSizeChanged(@NonNull SurfaceTexture surface, int width, int height) {
+            if (delegate != null) {
+                delegate.onSurfaceTextureSizeChanged(surface, width, height);
+            }
+        }
+
+        @Override
+        public boolean onSurfaceTextureDestroyed(@NonNull SurfaceTexture surface) {
+            if (delegate != null) {
+                delegate.onSurfaceTextureDestroyed(surface);
+            }
+            kept = surface;
+            return false;
+        }
+
+        @Override
+        public void onSurfaceTextureUpdated(@NonNull SurfaceTexture surface) {
+            if (delegate != null) {
+                delegate.onSurfaceTextureUpdated(surface);
+            }
+        }
     }
 }
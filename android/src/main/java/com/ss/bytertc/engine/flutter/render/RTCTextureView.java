@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.render;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Surface;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.ss.bytertc.engine.RTCVideo;
+import com.ss.bytertc.engine.VideoCanvas;
+import com.ss.bytertc.engine.data.RemoteStreamKey;
+import com.ss.bytertc.engine.data.StreamIndex;
+import com.ss.bytertc.engine.flutter.BuildConfig;
+import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
+import com.ss.bytertc.engine.flutter.base.RTCVideoManager;
+import com.ss.bytertc.engine.video.IVideoSink;
+import com.ss.bytertc.engine.video.VideoFrame;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+import io.flutter.view.TextureRegistry;
+
+/**
+ * Renders a video stream into a Flutter owned texture, shown by a `Texture` widget on the Dart side.
+ * <p>
+ * Unlike {@link RTCSurfaceView} no platform view is involved, so large video grids avoid
+ * the extra composition passes of hybrid composition. Frames are received as RGBA through
+ * an {@link IVideoSink} and drawn into the texture surface with the requested render mode.
+ * <p>
+ * The SDK only renders into views, so each frame costs an RGBA conversion in the SDK, a copy of
+ * width * height * 4 bytes into a {@link Bitmap} and a texture upload when the canvas is drawn,
+ * all on the SDK render thread. The copy and draw times are measured per view, see {@link #getRenderStats}.
+ * The sink takes the place of any video sink set by the app for the same stream, and the other way round.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public class RTCTextureView implements MethodChannel.MethodCallHandler, IVideoSink {
+    private static final String TAG = "RTCTextureView";
+
+    public interface OnDisposeListener {
+        void onDispose(@NonNull RTCTextureView view);
+    }
+
+    private final TextureRegistry.SurfaceTextureEntry mTextureEntry;
+    private final Surface mSurface;
+    private final MethodChannel mMethodChannel;
+    @Nullable
+    private OnDisposeListener mDisposeListener;
+
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final Object mLock = new Object();
+    /**
+     * Set by {@link #dispose}, written under {@link #mLock}
+     */
+    private volatile boolean mReleased = false;
+    /**
+     * A frame is being drawn outside {@link #mLock}, the surface is then released once it is done.
+     * Guarded by {@link #mLock}
+     */
+    private boolean mDrawing = false;
+    private int mRenderMode = VideoCanvas.RENDER_MODE_HIDDEN;
+    private int mBackgroundColor = 0;
+    private int mViewWidth = 0;
+    private int mViewHeight = 0;
+    /**
+     * Only touched while drawing a frame, and by {@link #releaseSurface} once no frame is drawn
+     */
+    private int mBufferWidth = 0;
+    private int mBufferHeight = 0;
+    private long mFrameCopyNanos = 0;
+    private long mFrameDrawNanos = 0;
+    @Nullable
+    private Bitmap mBitmap;
+    @Nullable
+    private ByteBuffer mPackedBuffer;
+    private final Matrix mMatrix = new Matrix();
+    private final Paint mPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+    /**
+     * Render cost since the last {@link #getRenderStats}, guarded by {@link #mLock}
+     */
+    private long mStatsStart = SystemClock.elapsedRealtime();
+    private int mStatsFrames = 0;
+    private long mStatsCopyNanos = 0;
+    private long mStatsDrawNanos = 0;
+    private long mStatsMaxNanos = 0;
+
+    /**
+     * The stream currently bound to this view, only touched on the main thread
+     */
+    private int mCanvasType = -1;
+    @Nullable
+    private StreamIndex mLocalStreamType;
+    @Nullable
+    private RemoteStreamKey mRemoteStreamKey;
+    @Nullable
+    private String mPublicStreamId;
+
+    public RTCTextureView(BinaryMessenger messenger, TextureRegistry textureRegistry, Object args) {
+        mTextureEntry = textureRegistry.createSurfaceTexture();
+        mSurface = new Surface(mTextureEntry.surfaceTexture());
+
+        mMethodChannel = new MethodChannel(messenger, "com.bytedance.ve_rtc_textureView" + mTextureEntry.id());
+        mMethodChannel.setMethodCallHandler(this);
+
+        RTCTypeBox arguments = new RTCTypeBox(args, "RTCTextureView");
+        setViewSize(arguments);
+        setup(arguments.optInt("canvasType", -1), arguments);
+    }
+
+    public long getTextureId() {
+        return mTextureEntry.id();
+    }
+
+    public void setOnDisposeListener(@Nullable OnDisposeListener listener) {
+        mDisposeListener = listener;
+    }
+
+    // region MethodChannel.MethodCallHandler
+    @Override
+    public void onMethodCall(@NonNull MethodCall call, @NonNull MethodChannel.Result result) {
+        RTCTypeBox arguments = new RTCTypeBox(call.arguments, call.method);
+        switch (call.method) {
+            case "setupLocalVideo": {
+                result.success(setup(0, arguments));
+                break;
+            }
+            case "setupRemoteVideo": {
+                setup(1, arguments);
+                result.success(null);
+                break;
+            }
+            case "setupPublicStreamVideo": {
+                result.success(setup(2, arguments));
+                break;
+            }
+            case "updateLocalVideo":
+            case "updateRemoteVideo": {
+                setRenderParams(arguments);
+                result.success(null);
+                break;
+            }
+            case "setViewSize": {
+                setViewSize(arguments);
+                result.success(null);
+                break;
+            }
+            case "getRenderStats": {
+                result.success(getRenderStats());
+                break;
+            }
+            case "dispose": {
+                dispose();
+                result.success(null);
+                break;
+            }
+            default:
+                result.notImplemented();
+                break;
+        }
+    }
+    // endregion
+
+    private int setup(int canvasType, RTCTypeBox arguments) {
+        if (BuildConfig.DEBUG) {
+            Logger.d(TAG, "setup: canvasType=" + canvasType);
+        }
+        setRenderParams(arguments);
+        unbind();
+
+        RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+        if (rtcVideo == null) {
+            return -1;
+        }
+        mCanvasType = canvasType;
+        switch (canvasType) {
+            case 0: // CanvasTypeLocal
+                mLocalStreamType = StreamIndex.fromId(arguments.optInt("streamType"));
+                rtcVideo.setLocalVideoSink(mLocalStreamType, this, IVideoSink.PixelFormat.RGBA);
+                return 0;
+            case 1: // CanvasTypeRemote
+                mRemoteStreamKey = new RemoteStreamKey(arguments.optString("roomId"), arguments.optString("uid"),
+                        StreamIndex.fromId(arguments.optInt("streamType")));
+                rtcVideo.setRemoteVideoSink(mRemoteStreamKey, this, IVideoSink.PixelFormat.RGBA);
+                return 0;
+            case 2: // CanvasTypePublicStream
+                mPublicStreamId = arguments.optString("uid");
+                return rtcVideo.setPublicStreamVideoSink(mPublicStreamId, this, IVideoSink.PixelFormat.RGBA);
+            default:
+                mCanvasType = -1;
+                Logger.e(TAG, "Unsupported canvasType: " + canvasType);
+                return -1;
+        }
+    }
+
+    private void unbind() {
+        RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+        if (rtcVideo != null) {
+            if (mCanvasType == 0 && mLocalStreamType != null) {
+                rtcVideo.setLocalVideoSink(mLocalStreamType, null, IVideoSink.PixelFormat.RGBA);
+            } else if (mCanvasType == 1 && mRemoteStreamKey != null) {
+                rtcVideo.setRemoteVideoSink(mRemoteStreamKey, null, IVideoSink.PixelFormat.RGBA);
+            } else if (mCanvasType == 2 && mPublicStreamId != null) {
+                rtcVideo.setPublicStreamVideoSink(mPublicStreamId, null, IVideoSink.PixelFormat.RGBA);
+            }
+        }
+        mCanvasType = -1;
+        mLocalStreamType = null;
+        mRemoteStreamKey = null;
+        mPublicStreamId = null;
+    }
+
+    private void setRenderParams(RTCTypeBox arguments) {
+        synchronized (mLock) {
+            mRenderMode = arguments.optInt("renderMode", mRenderMode);
+            mBackgroundColor = arguments.optInt("backgroundColor", mBackgroundColor);
+        }
+    }
+
+    /**
+     * @param arguments width and height of the `Texture` widget in physical pixels
+     */
+    private void setViewSize(RTCTypeBox arguments) {
+        synchronized (mLock) {
+            mViewWidth = arguments.optInt("width", mViewWidth);
+            mViewHeight = arguments.optInt("height", mViewHeight);
+        }
+    }
+
+    /**
+     * Frames drawn and their average copy and draw time since the last call
+     */
+    private HashMap<String, Object> getRenderStats() {
+        final HashMap<String, Object> map = new HashMap<>();
+        synchronized (mLock) {
+            final long now = SystemClock.elapsedRealtime();
+            final long windowMs = Math.max(1, now - mStatsStart);
+            final int frames = mStatsFrames;
+            map.put("windowMs", windowMs);
+            map.put("frames", frames);
+            map.put("fps", frames * 1000.0 / windowMs);
+            map.put("avgCopyUs", frames == 0 ? 0 : mStatsCopyNanos / frames / 1000);
+            map.put("avgDrawUs", frames == 0 ? 0 : mStatsDrawNanos / frames / 1000);
+            map.put("maxFrameUs", mStatsMaxNanos / 1000);
+            mStatsStart = now;
+            mStatsFrames = 0;
+            mStatsCopyNanos = 0;
+            mStatsDrawNanos = 0;
+            mStatsMaxNanos = 0;
+        }
+        return map;
+    }
+
+    public void dispose() {
+        unbind();
+        mMethodChannel.setMethodCallHandler(null);
+        synchronized (mLock) {
+            mReleased = true;
+            // A frame being drawn keeps the surface until it is done, dispose does not wait for it
+            if (!mDrawing) {
+                releaseSurface();
+            }
+        }
+        if (mDisposeListener != null) {
+            mDisposeListener.onDispose(this);
+            mDisposeListener = null;
+        }
+    }
+
+    /**
+     * Called on the main thread from {@link #dispose}, or on the render thread after the last frame
+     */
+    private void releaseSurface() {
+        mSurface.release();
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            mTextureEntry.release();
+        } else {
+            mMainHandler.post(mTextureEntry::release);
+        }
+        if (mBitmap != null) {
+            mBitmap.recycle();
+            mBitmap = null;
+        }
+        mPackedBuffer = null;
+    }
+
+    // region IVideoSink
+    @Override
+    public void onFrame(VideoFrame frame) {
+        if (mReleased) {
+            return;
+        }
+        final int renderMode;
+        final int backgroundColor;
+        final int viewWidth;
+        final int viewHeight;
+        synchronized (mLock) {
+            if (mReleased || !mSurface.isValid()) {
+                return;
+            }
+            mDrawing = true;
+            renderMode = mRenderMode;
+            backgroundColor = mBackgroundColor;
+            viewWidth = mViewWidth;
+            viewHeight = mViewHeight;
+        }
+        boolean drawn = false;
+        try {
+            drawn = drawFrame(frame, renderMode, backgroundColor, viewWidth, viewHeight);
+        } catch (RuntimeException e) {
+            Logger.e(TAG, "drawFrame failed: " + e);
+        } finally {
+            synchronized (mLock) {
+                mDrawing = false;
+                if (mReleased) {
+                    releaseSurface();
+                } else if (drawn) {
+                    mStatsFrames++;
+                    mStatsCopyNanos += mFrameCopyNanos;
+                    mStatsDrawNanos += mFrameDrawNanos;
+                    mStatsMaxNanos = Math.max(mStatsMaxNanos, mFrameCopyNanos + mFrameDrawNanos);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getRenderElapse() {
+        return 0;
+    }
+    // endregion
+
+    /**
+     * Runs outside {@link #mLock}, with the render params read before
+     *
+     * @return whether the frame was drawn, its copy and draw time are then in mFrameCopyNanos and mFrameDrawNanos
+     */
+    private boolean drawFrame(VideoFrame frame, int renderMode, int backgroundColor, int viewWidth, int viewHeight) {
+        final int width = frame.getWidth();
+        final int height = frame.getHeight();
+        if (width <= 0 || height <= 0) {
+            return false;
+        }
+        final int rotation = frame.getRotation().value();
+        final boolean swap = rotation == 90 || rotation == 270;
+        final int frameWidth = swap ? height : width;
+        final int frameHeight = swap ? width : height;
+
+        // Match the view size in physical pixels, or the frame size until it is known
+        final int bufferWidth = viewWidth > 0 ? viewWidth : frameWidth;
+        final int bufferHeight = viewHeight > 0 ? viewHeight : frameHeight;
+        if (bufferWidth != mBufferWidth || bufferHeight != mBufferHeight) {
+            mTextureEntry.surfaceTexture().setDefaultBufferSize(bufferWidth, bufferHeight);
+            mBufferWidth = bufferWidth;
+            mBufferHeight = bufferHeight;
+        }
+
+        final long start = System.nanoTime();
+        if (mBitmap == null || mBitmap.getWidth() != width || mBitmap.getHeight() != height) {
+            if (mBitmap != null) {
+                mBitmap.recycle();
+            }
+            mBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        }
+        mBitmap.copyPixelsFromBuffer(packedPixels(frame.getPlaneData(0), frame.getPlaneStride(0), width, height));
+        final long copied = System.nanoTime();
+
+        final float scaleX = (float) bufferWidth / frameWidth;
+        final float scaleY = (float) bufferHeight / frameHeight;
+        mMatrix.reset();
+        mMatrix.postTranslate(-width / 2f, -height / 2f);
+        mMatrix.postRotate(rotation);
+        if (renderMode == VideoCanvas.RENDER_MODE_FILL) {
+            mMatrix.postScale(scaleX, scaleY);
+        } else {
+            final float scale = renderMode == VideoCanvas.RENDER_MODE_FIT
+                    ? Math.min(scaleX, scaleY)
+                    : Math.max(scaleX, scaleY);
+            mMatrix.postScale(scale, scale);
+        }
+        mMatrix.postTranslate(bufferWidth / 2f, bufferHeight / 2f);
+
+        final Canvas canvas = Build.VERSION.SDK_INT >= Build.VERSION_CODES.M
+                ? mSurface.lockHardwareCanvas()
+                : mSurface.lockCanvas(null);
+        try {
+            canvas.drawColor(backgroundColor);
+            canvas.drawBitmap(mBitmap, mMatrix, mPaint);
+        } finally {
+            mSurface.unlockCanvasAndPost(canvas);
+        }
+
+        mFrameCopyNanos = copied - start;
+        mFrameDrawNanos = System.nanoTime() - copied;
+        return true;
+    }
+
+    /**
+     * Strip the row padding of an RGBA plane, {@link Bitmap#copyPixelsFromBuffer} expects tightly packed rows
+     */
+    private ByteBuffer packedPixels(ByteBuffer plane, int stride, int width, int height) {
+        final int rowBytes = width * 4;
+        // Read through a duplicate, the plane buffer belongs to the SDK
+        final ByteBuffer source = plane.duplicate();
+        source.position(0);
+        if (stride == rowBytes) {
+            return source;
+        }
+        if (mPackedBuffer == null || mPackedBuffer.capacity() < rowBytes * height) {
+            mPackedBuffer = ByteBuffer.allocateDirect(rowBytes * height);
+        }
+        mPackedBuffer.clear();
+        final ByteBuffer row = source;
+        for (int i = 0; i < height; i++) {
+            row.limit(i * stride + rowBytes).position(i * stride);
+            mPackedBuffer.put(row);
+        }
+        mPackedBuffer.flip();
+        return mPackedBuffer;
+    }
+}
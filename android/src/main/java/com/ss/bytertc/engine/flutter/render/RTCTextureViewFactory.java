@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.render;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.view.TextureRegistry;
+
+/**
+ * Creates {@link RTCTextureView} and keeps track of the live ones, so they can be released with the engine.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public class RTCTextureViewFactory {
+
+    private final BinaryMessenger messenger;
+    private final TextureRegistry textureRegistry;
+    private final HashMap<Long, RTCTextureView> views = new HashMap<>();
+
+    public RTCTextureViewFactory(BinaryMessenger messenger, TextureRegistry textureRegistry) {
+        this.messenger = messenger;
+        this.textureRegistry = textureRegistry;
+    }
+
+    /**
+     * @return texture id of the new view
+     */
+    @MainThread
+    public long create(@Nullable Object args) {
+        RTCTextureView view = new RTCTextureView(messenger, textureRegistry, args);
+        view.setOnDisposeListener(this::onDispose);
+        views.put(view.getTextureId(), view);
+        return view.getTextureId();
+    }
+
+    @MainThread
+    public void disposeAll() {
+        for (RTCTextureView view : new ArrayList<>(views.values())) {
+            view.dispose();
+        }
+        views.clear();
+    }
+
+    private void onDispose(@NonNull RTCTextureView view) {
+        views.remove(view.getTextureId());
+    }
+}
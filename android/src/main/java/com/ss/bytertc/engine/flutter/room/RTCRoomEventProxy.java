@@ -5,6 +5,7 @@
 
 package com.ss.bytertc.engine.flutter.room;
 
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import com.ss.bytertc.engine.SubscribeConfig;
@@ -13,6 +14,7 @@ import com.ss.bytertc.engine.data.AVSyncState;
 import com.ss.bytertc.engine.data.ForwardStreamEventInfo;
 import com.ss.bytertc.engine.data.ForwardStreamStateInfo;
 import com.ss.bytertc.engine.flutter.base.RTCMap;
+import com.ss.bytertc.engine.flutter.base.RTCMapPool;
 import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.event.EventEmitter;
 import com.ss.bytertc.engine.handler.IRTCRoomEventHandler;
@@ -70,6 +72,13 @@ public class RTCRoomEventProxy extends IRTCRoomEventHandler {
      */
     private boolean enableNetworkQualityStats = false;
 
+    @Nullable
+    private StreamSubscriptions subscriptions;
+
+    void setSubscriptions(@Nullable StreamSubscriptions subscriptions) {
+        this.subscriptions = subscriptions;
+    }
+
     public void registerEvent(BinaryMessenger binaryMessenger, int instanceId) {
         emitter.registerEvent(binaryMessenger, "com.bytedance.ve_rtc_room_event" + instanceId);
     }
@@ -117,9 +126,9 @@ public class RTCRoomEventProxy extends IRTCRoomEventHandler {
         if (!enableRoomStats) {
             return;
         }
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(2);
         map.put("stats", RTCMap.from(stats));
-        emitter.emit("onRoomStats", map);
+        emitter.emitLatest("onRoomStats", "", map);
     }
 
     @Override
@@ -192,9 +201,9 @@ public class RTCRoomEventProxy extends IRTCRoomEventHandler {
         if (!enableLocalStreamStats) {
             return;
         }
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(2);
         map.put("stats", RTCMap.from(stats));
-        emitter.emit("onLocalStreamStats", map);
+        emitter.emitLatest("onLocalStreamStats", String.valueOf(stats.isScreen), map);
     }
 
     @Override
@@ -202,13 +211,16 @@ public class RTCRoomEventProxy extends IRTCRoomEventHandler {
         if (!enableRemoteStreamStats) {
             return;
         }
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(2);
         map.put("stats", RTCMap.from(stats));
-        emitter.emit("onRemoteStreamStats", map);
+        emitter.emitLatest("onRemoteStreamStats", stats.uid + "|" + stats.isScreen, map);
     }
 
     @Override
     public void onStreamSubscribed(int stateCode, String userId, SubscribeConfig info) {
+        if (subscriptions != null) {
+            subscriptions.onStreamSubscribed(stateCode, userId, info);
+        }
         final HashMap<String, Object> map = new HashMap<>();
         map.put("stateCode", stateCode);
         map.put("uid", userId);
@@ -236,7 +248,7 @@ public class RTCRoomEventProxy extends IRTCRoomEventHandler {
     public void onRoomBinaryMessageReceived(String uid, ByteBuffer message) {
         final HashMap<String, Object> map = new HashMap<>();
         map.put("uid", uid);
-        map.put("message", message.array());
+        map.put("message", RTCMap.bytesOf(message));
         emitter.emit("onRoomBinaryMessageReceived", map);
     }
 
@@ -252,7 +264,7 @@ public class RTCRoomEventProxy extends IRTCRoomEventHandler {
     public void onUserBinaryMessageReceived(String uid, ByteBuffer message) {
         final HashMap<String, Object> map = new HashMap<>();
         map.put("uid", uid);
-        map.put("message", message.array());
+        map.put("message", RTCMap.bytesOf(message));
         emitter.emit("onUserBinaryMessageReceived", map);
     }
 
@@ -307,10 +319,10 @@ public class RTCRoomEventProxy extends IRTCRoomEventHandler {
         if (!enableNetworkQualityStats) {
             return;
         }
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(3);
         map.put("localQuality", RTCMap.from(localQuality));
         map.put("remoteQualities", RTCMap.from(remoteQualities));
-        emitter.emit("onNetworkQuality", map);
+        emitter.emitLatest("onNetworkQuality", "", map);
     }
 
     @Override
@@ -6,28 +6,26 @@
 package com.ss.bytertc.engine.flutter.room;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
-import androidx.annotation.UiThread;
 
 import com.ss.bytertc.engine.RTCRoom;
 import com.ss.bytertc.engine.RTCRoomConfig;
 import com.ss.bytertc.engine.UserInfo;
 import com.ss.bytertc.engine.data.ForwardStreamInfo;
 import com.ss.bytertc.engine.data.RemoteVideoConfig;
-import com.ss.bytertc.engine.flutter.BuildConfig;
-import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.MethodCallDispatcher;
+import com.ss.bytertc.engine.flutter.base.RTCMethodRegistry;
 import com.ss.bytertc.engine.flutter.base.RTCType;
-import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.base.RTCVideoManager;
 import com.ss.bytertc.engine.flutter.plugin.RTCFlutterPlugin;
 import com.ss.bytertc.engine.type.MediaStreamType;
 import com.ss.bytertc.engine.type.MessageConfig;
 import com.ss.bytertc.engine.type.PauseResumeControlMediaType;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
-import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 
 /**
@@ -40,26 +38,30 @@ public class RTCRoomPlugin extends RTCFlutterPlugin {
     @NonNull
     private final RTCRoom mRTCRoom;
 
-    private final List<RTCFlutterPlugin> flutterPlugins = new ArrayList<>();
+    /**
+     * Range audio and spatial audio, created on first use
+     */
+    private final ConcurrentHashMap<String, RTCFlutterPlugin> flutterPlugins = new ConcurrentHashMap<>();
     private final RTCRoomEventProxy mRoomEventHandler = new RTCRoomEventProxy();
+    @NonNull
+    private final StreamSubscriptions mSubscriptions;
 
     public RTCRoomPlugin(Integer roomInsId, @NonNull RTCRoom rtcRoom) {
         mIns = roomInsId;
+        mSubscriptions = StreamSubscriptions.of(rtcRoom);
+        mRoomEventHandler.setSubscriptions(mSubscriptions);
         rtcRoom.setRTCRoomEventHandler(mRoomEventHandler);
         mRTCRoom = rtcRoom;
-        flutterPlugins.add(new RangeAudioPlugin(roomInsId, rtcRoom));
-        flutterPlugins.add(new SpatialAudioPlugin(roomInsId, rtcRoom));
+        registerMethods(callHandler);
     }
 
     @Override
     public void onAttachedToEngine(@NonNull FlutterPluginBinding binding) {
         super.onAttachedToEngine(binding);
 
-        for (RTCFlutterPlugin plugin: flutterPlugins) {
-            plugin.onAttachedToEngine(binding);
-        }
         channel = new MethodChannel(binding.getBinaryMessenger(), "com.bytedance.ve_rtc_room" + mIns);
-        channel.setMethodCallHandler(callHandler);
+        channel.setMethodCallHandler(new MethodCallDispatcher(getTAG(), callHandler,
+                "getRangeAudio", "getSpatialAudio"));
         mRoomEventHandler.registerEvent(binding.getBinaryMessenger(), mIns);
     }
 
@@ -67,292 +69,275 @@ public class RTCRoomPlugin extends RTCFlutterPlugin {
     public void onDetachedFromEngine(@NonNull FlutterPluginBinding binding) {
         super.onDetachedFromEngine(binding);
 
-        for (RTCFlutterPlugin plugin: flutterPlugins) {
+        for (RTCFlutterPlugin plugin: flutterPlugins.values()) {
             plugin.onDetachedFromEngine(binding);
         }
+        flutterPlugins.clear();
         RTCVideoManager.destroyRoom(mIns);
         mRoomEventHandler.destroy();
     }
 
-    private final MethodChannel.MethodCallHandler callHandler = new MethodChannel.MethodCallHandler() {
-        @UiThread
-        @Override
-        public void onMethodCall(@NonNull MethodCall call, @NonNull MethodChannel.Result result) {
-            if (BuildConfig.DEBUG) {
-                Logger.d(getTAG(), "Room Call: " + call.method);
-            }
-            RTCRoom room = mRTCRoom;
-            RTCTypeBox arguments = new RTCTypeBox(call.arguments, call.method);
+    private final RTCMethodRegistry callHandler = new RTCMethodRegistry(getTAG(), "Room Call");
+
+    @Nullable
+    public RTCMethodRegistry.Handler getMethodHandler(@NonNull String method) {
+        return callHandler.get(method);
+    }
 
-            switch (call.method) {
-                case "joinRoom": {
-                    String token = arguments.optString("token");
-                    UserInfo userInfo = RTCType.toUserInfo(arguments.optBox("userInfo"));
-                    RTCRoomConfig roomConfig = RTCType.toRTCRoomConfig(arguments.optBox("roomConfig"));
-
-                    int retValue = room.joinRoom(token, userInfo, roomConfig);
-                    result.success(retValue);
-                    break;
-                }
-
-                case "setUserVisibility": {
-                    int retValue = room.setUserVisibility(arguments.optBoolean("enable"));
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "setMultiDeviceAVSync": {
-                    String audioUserId = arguments.optString("audioUid");
-                    int retValue = room.setMultiDeviceAVSync(audioUserId);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "leaveRoom": {
-                    int retValue = room.leaveRoom();
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "updateToken": {
-                    String token = arguments.optString("token");
-                    int retValue = room.updateToken(token);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "setRemoteVideoConfig": {
-                    String userId = arguments.optString("uid");
-                    RemoteVideoConfig remoteVideoConfig = RTCType.toRemoteVideoConfig(arguments.optBox("videoConfig"));
-                    int retValue = room.setRemoteVideoConfig(userId, remoteVideoConfig);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "publishStream": {
-                    MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
-                    int retValue = room.publishStream(type);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "unpublishStream": {
-                    MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
-                    int retValue = room.unpublishStream(type);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "publishScreen": {
-                    MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
-                    int retValue = room.publishScreen(type);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "unpublishScreen": {
-                    MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
-                    int retValue = room.unpublishScreen(type);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "subscribeStream": {
-                    String userId = arguments.optString("uid");
-                    MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
-                    int retValue = room.subscribeStream(userId, type);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "subscribeAllStreams": {
-                    MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
-                    int retValue = room.subscribeAllStreams(type);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "unsubscribeStream": {
-                    String userId = arguments.optString("uid");
-                    MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
-                    int retValue = room.unsubscribeStream(userId, type);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "unsubscribeAllStreams": {
-                    MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
-                    int retValue = room.unsubscribeAllStreams(type);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "subscribeScreen": {
-                    String userId = arguments.optString("uid");
-                    MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
-                    int retValue = room.subscribeScreen(userId, type);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "unsubscribeScreen": {
-                    String userId = arguments.optString("uid");
-                    MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
-                    int retValue = room.unsubscribeScreen(userId, type);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "pauseAllSubscribedStream": {
-                    PauseResumeControlMediaType mediaType = RTCType.toPauseResumeControlMediaType(arguments.optInt("mediaType"));
-                    int retValue = room.pauseAllSubscribedStream(mediaType);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "resumeAllSubscribedStream": {
-                    PauseResumeControlMediaType mediaType = RTCType.toPauseResumeControlMediaType(arguments.optInt("mediaType"));
-                    int retValue = room.resumeAllSubscribedStream(mediaType);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "sendUserMessage": {
-                    String uid = arguments.optString("uid");
-                    String msg = arguments.optString("message");
-                    MessageConfig config = MessageConfig.fromId(arguments.optInt("config"));
-                    long retValue = room.sendUserMessage(uid, msg, config);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "sendUserBinaryMessage": {
-                    String uid = arguments.optString("uid");
-                    byte[] msg = arguments.optBytes("message");
-                    MessageConfig config = MessageConfig.fromId(arguments.optInt("config"));
-                    long retValue = room.sendUserBinaryMessage(uid, msg, config);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "sendRoomMessage": {
-                    String msg = arguments.optString("message");
-                    long retValue = room.sendRoomMessage(msg);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "sendRoomBinaryMessage": {
-                    byte[] msg = arguments.optBytes("message");
-                    long retValue = room.sendRoomBinaryMessage(msg);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "startForwardStreamToRooms": {
-                    List<ForwardStreamInfo> forwardStreamInfos = RTCType.toForwardStreamInfoList(arguments.getList("forwardStreamInfos"));
-                    int retValue = room.startForwardStreamToRooms(forwardStreamInfos);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "updateForwardStreamToRooms": {
-                    List<ForwardStreamInfo> forwardStreamInfos = RTCType.toForwardStreamInfoList(arguments.getList("forwardStreamInfos"));
-                    int retValue = room.updateForwardStreamToRooms(forwardStreamInfos);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "stopForwardStreamToRooms": {
-                    int retValue = room.stopForwardStreamToRooms();
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "pauseForwardStreamToAllRooms": {
-                    int retValue = room.pauseForwardStreamToAllRooms();
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "resumeForwardStreamToAllRooms": {
-                    int retValue = room.resumeForwardStreamToAllRooms();
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "setRemoteRoomAudioPlaybackVolume": {
-                    int volume = arguments.optInt("volume");
-                    int retValue = room.setRemoteRoomAudioPlaybackVolume(volume);
-
-                    result.success(retValue);
-                    break;
-                }
-
-                case "setAudioSelectionConfig": {
-                    int retValue = room.setAudioSelectionConfig(RTCType.toAudioSelectionPriority(arguments.optInt("audioSelectionPriority")));
-                    result.success(retValue);
-                    break;
-                }
-
-                case "setRoomExtraInfo": {
-                    long retValue = room.setRoomExtraInfo(
-                            arguments.optString("key"),
-                            arguments.optString("value"));
-                    result.success(retValue);
-                    break;
-                }
-
-                case "startSubtitle": {
-                    int retValue = room.startSubtitle(RTCType.toSubtitleConfig(arguments.optBox("subtitleConfig")));
-                    result.success(retValue);
-                    break;
-                }
-
-                case "stopSubtitle": {
-                    int retValue = room.stopSubtitle();
-                    result.success(retValue);
-                    break;
-                }
-
-                case "eventHandlerSwitches": { // for performance reason
-                    mRoomEventHandler.setSwitch(arguments);
-                    result.success(null);
-                    break;
-                }
-
-                default: {
-                    result.notImplemented();
-                    break;
-                }
+    private void registerMethods(@NonNull RTCMethodRegistry registry) {
+        final RTCRoom room = mRTCRoom;
+        registry.register("joinRoom", (arguments, result) -> {
+            String token = arguments.optString("token");
+            UserInfo userInfo = RTCType.toUserInfo(arguments.optBox("userInfo"));
+            RTCRoomConfig roomConfig = RTCType.toRTCRoomConfig(arguments.optBox("roomConfig"));
+
+            int retValue = room.joinRoom(token, userInfo, roomConfig);
+            result.success(retValue);
+        });
+
+        registry.register("getRangeAudio", (arguments, result) -> {
+            if (flutterPlugins.get("RangeAudio") == null) {
+                RangeAudioPlugin plugin = new RangeAudioPlugin(mIns, room);
+                plugin.onAttachedToEngine(binding);
+                flutterPlugins.put("RangeAudio", plugin);
             }
-        }
-    };
+            result.success(true);
+        });
+
+        registry.register("getSpatialAudio", (arguments, result) -> {
+            if (flutterPlugins.get("SpatialAudio") == null) {
+                SpatialAudioPlugin plugin = new SpatialAudioPlugin(mIns, room);
+                plugin.onAttachedToEngine(binding);
+                flutterPlugins.put("SpatialAudio", plugin);
+            }
+            result.success(true);
+        });
+
+        registry.register("setUserVisibility", (arguments, result) -> {
+            int retValue = room.setUserVisibility(arguments.optBoolean("enable"));
+
+            result.success(retValue);
+        });
+
+        registry.register("setMultiDeviceAVSync", (arguments, result) -> {
+            String audioUserId = arguments.optString("audioUid");
+            int retValue = room.setMultiDeviceAVSync(audioUserId);
+
+            result.success(retValue);
+        });
+
+        registry.register("leaveRoom", (arguments, result) -> {
+            int retValue = room.leaveRoom();
+
+            result.success(retValue);
+        });
+
+        registry.register("updateToken", (arguments, result) -> {
+            String token = arguments.optString("token");
+            int retValue = room.updateToken(token);
+
+            result.success(retValue);
+        });
+
+        registry.register("setRemoteVideoConfig", (arguments, result) -> {
+            String userId = arguments.optString("uid");
+            RemoteVideoConfig remoteVideoConfig = RTCType.toRemoteVideoConfig(arguments.optBox("videoConfig"));
+            int retValue = room.setRemoteVideoConfig(userId, remoteVideoConfig);
+
+            result.success(retValue);
+        });
+
+        registry.register("publishStream", (arguments, result) -> {
+            MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
+            int retValue = room.publishStream(type);
+
+            result.success(retValue);
+        });
+
+        registry.register("unpublishStream", (arguments, result) -> {
+            MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
+            int retValue = room.unpublishStream(type);
+
+            result.success(retValue);
+        });
+
+        registry.register("publishScreen", (arguments, result) -> {
+            MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
+            int retValue = room.publishScreen(type);
+
+            result.success(retValue);
+        });
+
+        registry.register("unpublishScreen", (arguments, result) -> {
+            MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
+            int retValue = room.unpublishScreen(type);
+
+            result.success(retValue);
+        });
+
+        registry.register("subscribeStream", (arguments, result) -> {
+            String userId = arguments.optString("uid");
+            MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
+            mSubscriptions.onAppCall(userId, false);
+            int retValue = room.subscribeStream(userId, type);
+
+            result.success(retValue);
+        });
+
+        registry.register("subscribeAllStreams", (arguments, result) -> {
+            MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
+            mSubscriptions.onAppCallAll();
+            int retValue = room.subscribeAllStreams(type);
+
+            result.success(retValue);
+        });
+
+        registry.register("unsubscribeStream", (arguments, result) -> {
+            String userId = arguments.optString("uid");
+            MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
+            mSubscriptions.onAppCall(userId, false);
+            int retValue = room.unsubscribeStream(userId, type);
+
+            result.success(retValue);
+        });
+
+        registry.register("unsubscribeAllStreams", (arguments, result) -> {
+            MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
+            mSubscriptions.onAppCallAll();
+            int retValue = room.unsubscribeAllStreams(type);
+
+            result.success(retValue);
+        });
+
+        registry.register("subscribeScreen", (arguments, result) -> {
+            String userId = arguments.optString("uid");
+            MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
+            mSubscriptions.onAppCall(userId, true);
+            int retValue = room.subscribeScreen(userId, type);
+
+            result.success(retValue);
+        });
+
+        registry.register("unsubscribeScreen", (arguments, result) -> {
+            String userId = arguments.optString("uid");
+            MediaStreamType type = RTCType.toMediaStreamType(arguments.optInt("type"));
+            mSubscriptions.onAppCall(userId, true);
+            int retValue = room.unsubscribeScreen(userId, type);
+
+            result.success(retValue);
+        });
+
+        registry.register("pauseAllSubscribedStream", (arguments, result) -> {
+            PauseResumeControlMediaType mediaType = RTCType.toPauseResumeControlMediaType(arguments.optInt("mediaType"));
+            int retValue = room.pauseAllSubscribedStream(mediaType);
+
+            result.success(retValue);
+        });
+
+        registry.register("resumeAllSubscribedStream", (arguments, result) -> {
+            PauseResumeControlMediaType mediaType = RTCType.toPauseResumeControlMediaType(arguments.optInt("mediaType"));
+            int retValue = room.resumeAllSubscribedStream(mediaType);
+
+            result.success(retValue);
+        });
+
+        registry.register("sendUserMessage", (arguments, result) -> {
+            String uid = arguments.optString("uid");
+            String msg = arguments.optString("message");
+            MessageConfig config = MessageConfig.fromId(arguments.optInt("config"));
+            long retValue = room.sendUserMessage(uid, msg, config);
+
+            result.success(retValue);
+        });
+
+        registry.register("sendUserBinaryMessage", (arguments, result) -> {
+            String uid = arguments.optString("uid");
+            byte[] msg = arguments.optBytes("message");
+            MessageConfig config = MessageConfig.fromId(arguments.optInt("config"));
+            long retValue = room.sendUserBinaryMessage(uid, msg, config);
+
+            result.success(retValue);
+        });
+
+        registry.register("sendRoomMessage", (arguments, result) -> {
+            String msg = arguments.optString("message");
+            long retValue = room.sendRoomMessage(msg);
+
+            result.success(retValue);
+        });
+
+        registry.register("sendRoomBinaryMessage", (arguments, result) -> {
+            byte[] msg = arguments.optBytes("message");
+            long retValue = room.sendRoomBinaryMessage(msg);
+
+            result.success(retValue);
+        });
+
+        registry.register("startForwardStreamToRooms", (arguments, result) -> {
+            List<ForwardStreamInfo> forwardStreamInfos = RTCType.toForwardStreamInfoList(arguments.getList("forwardStreamInfos"));
+            int retValue = room.startForwardStreamToRooms(forwardStreamInfos);
+
+            result.success(retValue);
+        });
+
+        registry.register("updateForwardStreamToRooms", (arguments, result) -> {
+            List<ForwardStreamInfo> forwardStreamInfos = RTCType.toForwardStreamInfoList(arguments.getList("forwardStreamInfos"));
+            int retValue = room.updateForwardStreamToRooms(forwardStreamInfos);
+
+            result.success(retValue);
+        });
+
+        registry.register("stopForwardStreamToRooms", (arguments, result) -> {
+            int retValue = room.stopForwardStreamToRooms();
+
+            result.success(retValue);
+        });
+
+        registry.register("pauseForwardStreamToAllRooms", (arguments, result) -> {
+            int retValue = room.pauseForwardStreamToAllRooms();
+
+            result.success(retValue);
+        });
+
+        registry.register("resumeForwardStreamToAllRooms", (arguments, result) -> {
+            int retValue = room.resumeForwardStreamToAllRooms();
+
+            result.success(retValue);
+        });
+
+        registry.register("setRemoteRoomAudioPlaybackVolume", (arguments, result) -> {
+            int volume = arguments.optInt("volume");
+            int retValue = room.setRemoteRoomAudioPlaybackVolume(volume);
+
+            result.success(retValue);
+        });
+
+        registry.register("setAudioSelectionConfig", (arguments, result) -> {
+            int retValue = room.setAudioSelectionConfig(RTCType.toAudioSelectionPriority(arguments.optInt("audioSelectionPriority")));
+            result.success(retValue);
+        });
+
+        registry.register("setRoomExtraInfo", (arguments, result) -> {
+            long retValue = room.setRoomExtraInfo(
+                    arguments.optString("key"),
+                    arguments.optString("value"));
+            result.success(retValue);
+        });
+
+        registry.register("startSubtitle", (arguments, result) -> {
+            int retValue = room.startSubtitle(RTCType.toSubtitleConfig(arguments.optBox("subtitleConfig")));
+            result.success(retValue);
+        });
+
+        registry.register("stopSubtitle", (arguments, result) -> {
+            int retValue = room.stopSubtitle();
+            result.success(retValue);
+        });
+
+        registry.register("eventHandlerSwitches", (arguments, result) -> { // for performance reason
+            mRoomEventHandler.setSwitch(arguments);
+            result.success(null);
+        });
+    }
 }
 
@@ -15,6 +15,7 @@ import com.ss.bytertc.engine.data.Position;
 import com.ss.bytertc.engine.data.ReceiveRange;
 import com.ss.bytertc.engine.flutter.BuildConfig;
 import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.MethodCallDispatcher;
 import com.ss.bytertc.engine.flutter.base.RTCType;
 import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.plugin.RTCFlutterPlugin;
@@ -42,7 +43,7 @@ public class RangeAudioPlugin extends RTCFlutterPlugin {
         super.onAttachedToEngine(binding);
 
         channel = new MethodChannel(binding.getBinaryMessenger(), "com.bytedance.ve_rtc_range_audio" + mIns);
-        channel.setMethodCallHandler(callHandler);
+        channel.setMethodCallHandler(new MethodCallDispatcher(getTAG(), callHandler));
     }
 
     private final MethodChannel.MethodCallHandler callHandler = new MethodChannel.MethodCallHandler() {
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.room;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.ss.bytertc.engine.RTCRoom;
+import com.ss.bytertc.engine.data.SubscribeConfig;
+
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Subscribed media of the remote streams of a room, as last reported by onStreamSubscribed,
+ * and a count of the subscription calls made by the app.
+ * <p>
+ * Lets automatic subscription changes restore exactly what was subscribed before,
+ * and step back when the app has changed the subscription meanwhile.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public final class StreamSubscriptions {
+    private static final WeakHashMap<RTCRoom, StreamSubscriptions> sByRoom = new WeakHashMap<>();
+
+    /**
+     * Stream key -> {subAudio, subVideo}
+     */
+    private final ConcurrentHashMap<String, boolean[]> subscribed = new ConcurrentHashMap<>();
+    /**
+     * Stream key -> subscription calls of the app for the stream
+     */
+    private final ConcurrentHashMap<String, AtomicInteger> appCalls = new ConcurrentHashMap<>();
+    /**
+     * Subscription calls of the app for all streams of the room
+     */
+    private final AtomicInteger appCallsAll = new AtomicInteger();
+
+    @NonNull
+    public static StreamSubscriptions of(@NonNull RTCRoom room) {
+        synchronized (sByRoom) {
+            StreamSubscriptions subscriptions = sByRoom.get(room);
+            if (subscriptions == null) {
+                subscriptions = new StreamSubscriptions();
+                sByRoom.put(room, subscriptions);
+            }
+            return subscriptions;
+        }
+    }
+
+    private static String keyOf(@NonNull String uid, boolean screen) {
+        return uid + "|" + screen;
+    }
+
+    /**
+     * Called on the SDK callback thread
+     */
+    void onStreamSubscribed(int stateCode, @NonNull String uid, @Nullable SubscribeConfig info) {
+        if (stateCode != 0 || info == null) {
+            return;
+        }
+        subscribed.put(keyOf(uid, info.isScreen), new boolean[]{info.subAudio, info.subVideo});
+    }
+
+    void onAppCall(@NonNull String uid, boolean screen) {
+        final String key = keyOf(uid, screen);
+        AtomicInteger calls = appCalls.get(key);
+        if (calls == null) {
+            final AtomicInteger created = new AtomicInteger();
+            calls = appCalls.putIfAbsent(key, created);
+            if (calls == null) {
+                calls = created;
+            }
+        }
+        calls.incrementAndGet();
+    }
+
+    void onAppCallAll() {
+        appCallsAll.incrementAndGet();
+    }
+
+    /**
+     * @return subscription calls of the app that affect the stream so far
+     */
+    public int appCalls(@NonNull String uid, boolean screen) {
+        final AtomicInteger calls = appCalls.get(keyOf(uid, screen));
+        return appCallsAll.get() + (calls == null ? 0 : calls.get());
+    }
+
+    /**
+     * @return whether the video of the stream is subscribed, false if no subscription has been reported
+     */
+    public boolean isVideoSubscribed(@NonNull String uid, boolean screen) {
+        final boolean[] media = subscribed.get(keyOf(uid, screen));
+        return media != null && media[1];
+    }
+
+    /**
+     * @return whether the audio of the stream is subscribed, or null if no subscription has been reported
+     */
+    @Nullable
+    public Boolean isAudioSubscribed(@NonNull String uid, boolean screen) {
+        final boolean[] media = subscribed.get(keyOf(uid, screen));
+        return media == null ? null : media[0];
+    }
+}
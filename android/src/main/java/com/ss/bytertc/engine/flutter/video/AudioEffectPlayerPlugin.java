@@ -12,6 +12,7 @@ import com.ss.bytertc.engine.audio.IAudioEffectPlayer;
 import com.ss.bytertc.engine.data.AudioEffectPlayerConfig;
 import com.ss.bytertc.engine.flutter.BuildConfig;
 import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.MethodCallDispatcher;
 import com.ss.bytertc.engine.flutter.base.RTCType;
 import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.plugin.RTCFlutterPlugin;
@@ -34,7 +35,7 @@ public class AudioEffectPlayerPlugin extends RTCFlutterPlugin {
         super.onAttachedToEngine(binding);
 
         channel = new MethodChannel(binding.getBinaryMessenger(), "com.bytedance.ve_rtc_audio_effect_player");
-        channel.setMethodCallHandler(callHandler);
+        channel.setMethodCallHandler(new MethodCallDispatcher(getTAG(), callHandler));
         mPlayerEventProxy.registerEvent(binding.getBinaryMessenger());
     }
 
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.video;
+
+import androidx.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single producer, single consumer ring of audio frame records, lock free.
+ * <p>
+ * The producer is the SDK audio thread of one callback method, it never blocks:
+ * a record that does not fit is dropped and counted.
+ * Record layout, little endian, see {@link #RECORD_HEADER_SIZE}:
+ * <pre>
+ * int32 source | int32 sampleRate | int32 channel | int64 timestampUs | int32 size | PCM
+ * </pre>
+ */
+final class AudioFrameRingBuffer {
+    static final int RECORD_HEADER_SIZE = 24;
+
+    private final byte[] buffer;
+    private final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    /**
+     * Written by the producer only, read by both
+     */
+    private final AtomicLong writePos = new AtomicLong();
+    /**
+     * Written by the consumer only, read by both
+     */
+    private final AtomicLong readPos = new AtomicLong();
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    AudioFrameRingBuffer(int capacity) {
+        buffer = new byte[capacity];
+    }
+
+    /**
+     * Producer side, copies {@code size} bytes from the position of data.
+     *
+     * @return false if the record was dropped
+     */
+    boolean write(int source, int sampleRate, int channel, long timestampUs, @NonNull ByteBuffer data, int size) {
+        final long write = writePos.get();
+        final int recordSize = RECORD_HEADER_SIZE + size;
+        if (buffer.length - (write - readPos.get()) < recordSize) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        header.clear();
+        header.putInt(source).putInt(sampleRate).putInt(channel).putLong(timestampUs).putInt(size);
+        int offset = put(header.array(), 0, RECORD_HEADER_SIZE, write);
+        final ByteBuffer src = data.duplicate();
+        src.limit(src.position() + size);
+        putBuffer(src, offset);
+        writePos.lazySet(write + recordSize);
+        return true;
+    }
+
+    /**
+     * Consumer side, the number of bytes of complete records available
+     */
+    int available() {
+        return (int) (writePos.get() - readPos.get());
+    }
+
+    /**
+     * Consumer side, moves all complete records into out, which must have {@link #available()} bytes left
+     */
+    void drainTo(@NonNull ByteBuffer out, int size) {
+        final long read = readPos.get();
+        final int start = (int) (read % buffer.length);
+        final int first = Math.min(size, buffer.length - start);
+        out.put(buffer, start, first);
+        out.put(buffer, 0, size - first);
+        readPos.lazySet(read + size);
+    }
+
+    /**
+     * Consumer side, records dropped since the last call
+     */
+    int takeDropped() {
+        return dropped.getAndSet(0);
+    }
+
+    /**
+     * @return the ring offset after the copied bytes
+     */
+    private int put(byte[] src, int srcOffset, int length, long pos) {
+        final int start = (int) (pos % buffer.length);
+        final int first = Math.min(length, buffer.length - start);
+        System.arraycopy(src, srcOffset, buffer, start, first);
+        System.arraycopy(src, srcOffset + first, buffer, 0, length - first);
+        return (start + length) % buffer.length;
+    }
+
+    private void putBuffer(ByteBuffer src, int offset) {
+        final int length = src.remaining();
+        final int first = Math.min(length, buffer.length - offset);
+        src.get(buffer, offset, first);
+        src.get(buffer, 0, length - first);
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.video;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.ss.bytertc.engine.RTCVideo;
+import com.ss.bytertc.engine.data.AudioChannel;
+import com.ss.bytertc.engine.data.AudioFormat;
+import com.ss.bytertc.engine.data.AudioFrameCallbackMethod;
+import com.ss.bytertc.engine.data.AudioSampleRate;
+import com.ss.bytertc.engine.data.RemoteStreamKey;
+import com.ss.bytertc.engine.flutter.BuildConfig;
+import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
+import com.ss.bytertc.engine.flutter.base.RTCVideoManager;
+import com.ss.bytertc.engine.utils.IAudioFrame;
+import com.ss.bytertc.engine.utils.IAudioFrameObserver;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import io.flutter.plugin.common.BasicMessageChannel;
+import io.flutter.plugin.common.BinaryCodec;
+import io.flutter.plugin.common.BinaryMessenger;
+
+/**
+ * Streams raw audio frames of the SDK to Dart over a binary message channel.
+ * <p>
+ * Resampling and channel mixing are done by the SDK through the {@link AudioFormat}
+ * passed to {@link RTCVideo#enableAudioFrameCallback}. The audio threads copy each frame into
+ * an {@link AudioFrameRingBuffer} per source, and the main thread drains all rings into one
+ * message every batch interval:
+ * <pre>
+ * int32 droppedFrames | records of {@link AudioFrameRingBuffer}
+ * </pre>
+ * At most {@link #MAX_IN_FLIGHT} batches wait for Dart at a time. While Dart is behind,
+ * records stay in the rings, and new frames are dropped once a ring is full.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public class AudioFrameStreamer implements IAudioFrameObserver {
+    private static final String TAG = "AudioFrameStreamer";
+
+    public static final int SOURCE_RECORD = 0;
+    public static final int SOURCE_PLAYBACK = 1;
+    public static final int SOURCE_MIXED = 2;
+    private static final int SOURCE_COUNT = 3;
+
+    private static final int MAX_IN_FLIGHT = 2;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private BasicMessageChannel<ByteBuffer> channel;
+
+    /**
+     * Replaced as a whole on start and stop, read by the audio threads
+     */
+    @Nullable
+    private volatile AudioFrameRingBuffer[] rings;
+    private volatile long batchIntervalMs;
+    /**
+     * Drain chain of the current rings. start and stop run on the call thread while the chain
+     * re-posts itself on the main thread, so each chain ends by itself once its rings are replaced.
+     */
+    @Nullable
+    private volatile Drain drain;
+    /**
+     * Batches sent but not yet replied by Dart, only touched on the main thread
+     */
+    private int inFlight = 0;
+
+    public void register(@NonNull BinaryMessenger messenger) {
+        channel = new BasicMessageChannel<>(messenger, "com.bytedance.ve_rtc_audio_frame_stream", BinaryCodec.INSTANCE);
+    }
+
+    public void unregister() {
+        RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+        if (rtcVideo != null && rings != null) {
+            stop(rtcVideo);
+        }
+        channel = null;
+    }
+
+    /**
+     * @param config sources: list of SOURCE_*; sampleRate and channel: format delivered to Dart;
+     *               batchInterval: ms between batches; bufferSize: bytes of each ring
+     */
+    public int start(@NonNull RTCVideo rtcVideo, @NonNull RTCTypeBox config) {
+        stop(rtcVideo);
+
+        final List<Integer> sources = config.getList("sources");
+        final AudioFormat format = new AudioFormat(
+                AudioSampleRate.fromId(config.optInt("sampleRate", 16000)),
+                AudioChannel.fromId(config.optInt("channel", 1)));
+        final int bufferSize = Math.max(16 * 1024, config.optInt("bufferSize", 256 * 1024));
+
+        final AudioFrameRingBuffer[] newRings = new AudioFrameRingBuffer[SOURCE_COUNT];
+        for (Integer source : sources) {
+            if (source != null && source >= 0 && source < SOURCE_COUNT) {
+                newRings[source] = new AudioFrameRingBuffer(bufferSize);
+            }
+        }
+        rings = newRings;
+        batchIntervalMs = Math.max(10, config.optInt("batchInterval", 100));
+
+        rtcVideo.registerAudioFrameObserver(this);
+        int retValue = 0;
+        for (int source = 0; source < SOURCE_COUNT; source++) {
+            if (newRings[source] != null) {
+                int ret = rtcVideo.enableAudioFrameCallback(toCallbackMethod(source), format);
+                if (ret != 0) {
+                    retValue = ret;
+                }
+            }
+        }
+        final Drain newDrain = new Drain(newRings);
+        drain = newDrain;
+        mainHandler.post(newDrain);
+        return retValue;
+    }
+
+    public void stop(@NonNull RTCVideo rtcVideo) {
+        final AudioFrameRingBuffer[] current = rings;
+        if (current == null) {
+            return;
+        }
+        for (int source = 0; source < SOURCE_COUNT; source++) {
+            if (current[source] != null) {
+                rtcVideo.disableAudioFrameCallback(toCallbackMethod(source));
+            }
+        }
+        rtcVideo.registerAudioFrameObserver(null);
+        rings = null;
+        final Drain currentDrain = drain;
+        if (currentDrain != null) {
+            mainHandler.removeCallbacks(currentDrain);
+            drain = null;
+        }
+    }
+
+    private static AudioFrameCallbackMethod toCallbackMethod(int source) {
+        switch (source) {
+            case SOURCE_PLAYBACK:
+                return AudioFrameCallbackMethod.AUDIO_FRAME_CALLBACK_PLAYBACK;
+            case SOURCE_MIXED:
+                return AudioFrameCallbackMethod.AUDIO_FRAME_CALLBACK_MIXED;
+            default:
+                return AudioFrameCallbackMethod.AUDIO_FRAME_CALLBACK_RECORD;
+        }
+    }
+
+    // region IAudioFrameObserver
+    @Override
+    public void onRecordAudioFrame(IAudioFrame audioFrame) {
+        write(SOURCE_RECORD, audioFrame);
+    }
+
+    @Override
+    public void onPlaybackAudioFrame(IAudioFrame audioFrame) {
+        write(SOURCE_PLAYBACK, audioFrame);
+    }
+
+    @Override
+    public void onRemoteUserAudioFrame(RemoteStreamKey streamKey, IAudioFrame audioFrame) {
+    }
+
+    @Override
+    public void onMixedAudioFrame(IAudioFrame audioFrame) {
+        write(SOURCE_MIXED, audioFrame);
+    }
+    // endregion
+
+    /**
+     * Called on the SDK audio thread of the source, must not block
+     */
+    private void write(int source, IAudioFrame audioFrame) {
+        final AudioFrameRingBuffer[] current = rings;
+        if (current == null || current[source] == null || audioFrame == null) {
+            return;
+        }
+        final ByteBuffer data = audioFrame.getDataBuffer();
+        if (data == null) {
+            return;
+        }
+        current[source].write(source,
+                audioFrame.sample_rate().value(),
+                audioFrame.channel().value(),
+                audioFrame.timestamp_us(),
+                data,
+                Math.min(audioFrame.data_size(), data.remaining()));
+    }
+
+    private final class Drain implements Runnable {
+        private final AudioFrameRingBuffer[] current;
+
+        Drain(@NonNull AudioFrameRingBuffer[] current) {
+            this.current = current;
+        }
+
+        @Override
+        public void run() {
+            if (rings != current) {
+                // Stopped or restarted since, a newer chain drains the new rings
+                return;
+            }
+            mainHandler.postDelayed(this, batchIntervalMs);
+            if (channel == null || inFlight >= MAX_IN_FLIGHT) {
+                return;
+            }
+
+            int dropped = 0;
+            int size = 0;
+            final int[] available = new int[SOURCE_COUNT];
+            for (int source = 0; source < SOURCE_COUNT; source++) {
+                if (current[source] != null) {
+                    dropped += current[source].takeDropped();
+                    available[source] = current[source].available();
+                    size += available[source];
+                }
+            }
+            if (size == 0 && dropped == 0) {
+                return;
+            }
+            if (dropped > 0 && BuildConfig.DEBUG) {
+                Logger.d(TAG, "dropped " + dropped + " audio frames");
+            }
+
+            // The engine requires a direct buffer, and takes its position as the message size
+            final ByteBuffer message = ByteBuffer.allocateDirect(4 + size).order(ByteOrder.LITTLE_ENDIAN);
+            message.putInt(dropped);
+            for (int source = 0; source < SOURCE_COUNT; source++) {
+                if (available[source] > 0) {
+                    current[source].drainTo(message, available[source]);
+                }
+            }
+            inFlight++;
+            channel.send(message, reply -> inFlight--);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.video;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.ss.bytertc.engine.RTCVideo;
+import com.ss.bytertc.engine.data.AudioChannel;
+import com.ss.bytertc.engine.data.AudioSampleRate;
+import com.ss.bytertc.engine.flutter.BuildConfig;
+import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.RTCVideoManager;
+import com.ss.bytertc.engine.utils.AudioFrame;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+
+import io.flutter.plugin.common.BasicMessageChannel;
+import io.flutter.plugin.common.BinaryCodec;
+import io.flutter.plugin.common.BinaryMessenger;
+
+/**
+ * Receives PCM frames for {@code pushAudioMixingFrame} over a binary message channel,
+ * avoiding the map encoding of the method channel for every 10 ms frame.
+ * <p>
+ * Message layout, little endian:
+ * <pre>
+ * int32 mixId | int32 sampleRate | int32 channel | int32 samples | 16 bit PCM
+ * </pre>
+ * Messages arrive on the main thread, which only copies the PCM out of the message,
+ * the SDK push runs on a dedicated thread so 100 frames per second per mixId stay off the UI thread.
+ * The {@link AudioFrame}s and their buffers are pooled per mixId and refilled in place,
+ * they are only reallocated when the frame format or size changes.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public class AudioMixingFramePusher implements BasicMessageChannel.MessageHandler<ByteBuffer> {
+    private static final String TAG = "AudioMixingFramePusher";
+
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * Idle frames kept per mixId, enough for the frames in flight between the two threads
+     */
+    private static final int MAX_POOLED_FRAMES = 4;
+
+    private BasicMessageChannel<ByteBuffer> channel;
+
+    private HandlerThread thread;
+    @Nullable
+    private volatile Handler handler;
+
+    /**
+     * mixId -> idle frames, guarded by itself
+     */
+    private final SparseArray<ArrayDeque<CachedFrame>> pools = new SparseArray<>();
+
+    public void register(@NonNull BinaryMessenger messenger) {
+        thread = new HandlerThread("ByteRTCAudioMixingFrame");
+        thread.start();
+        handler = new Handler(thread.getLooper());
+        channel = new BasicMessageChannel<>(messenger, "com.bytedance.ve_rtc_audio_mixing_frame", BinaryCodec.INSTANCE);
+        channel.setMessageHandler(this);
+    }
+
+    public void unregister() {
+        if (channel != null) {
+            channel.setMessageHandler(null);
+            channel = null;
+        }
+        if (thread != null) {
+            thread.quitSafely();
+            thread = null;
+            handler = null;
+        }
+        synchronized (pools) {
+            pools.clear();
+        }
+    }
+
+    /**
+     * Drop the pooled frames of mixId, called once its frame push is disabled.
+     * Runs after the frames already received for mixId are pushed.
+     */
+    public void release(int mixId) {
+        final Handler handler = this.handler;
+        if (handler == null) {
+            return;
+        }
+        handler.post(() -> {
+            synchronized (pools) {
+                pools.remove(mixId);
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(@Nullable ByteBuffer message, @NonNull BasicMessageChannel.Reply<ByteBuffer> reply) {
+        reply.reply(null);
+        final Handler handler = this.handler;
+        if (handler == null || message == null || message.remaining() < HEADER_SIZE) {
+            return;
+        }
+        message.order(ByteOrder.LITTLE_ENDIAN);
+        final int mixId = message.getInt();
+        final int sampleRate = message.getInt();
+        final int channelCount = message.getInt();
+        final int samples = message.getInt();
+        final int size = message.remaining();
+
+        // The message is only valid during this call, copy it before handing over
+        final CachedFrame cached = obtain(mixId, sampleRate, channelCount, samples, size);
+        message.get(cached.buffer);
+        handler.post(() -> push(mixId, cached));
+    }
+
+    /**
+     * Called on the push thread
+     */
+    private void push(int mixId, @NonNull CachedFrame cached) {
+        RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+        if (rtcVideo != null) {
+            // The SDK copies the frame before returning, so the buffer can be refilled by the next message
+            int retValue = rtcVideo.getAudioMixingManager().pushAudioMixingFrame(mixId, cached.frame);
+            if (retValue != 0 && BuildConfig.DEBUG) {
+                Logger.d(TAG, "pushAudioMixingFrame failed: mixId=" + mixId + ", ret=" + retValue);
+            }
+        }
+        synchronized (pools) {
+            final ArrayDeque<CachedFrame> pool = pools.get(mixId);
+            if (pool != null && pool.size() < MAX_POOLED_FRAMES) {
+                pool.offer(cached);
+            }
+        }
+    }
+
+    @NonNull
+    private CachedFrame obtain(int mixId, int sampleRate, int channel, int samples, int size) {
+        synchronized (pools) {
+            ArrayDeque<CachedFrame> pool = pools.get(mixId);
+            if (pool == null) {
+                pool = new ArrayDeque<>();
+                pools.put(mixId, pool);
+            }
+            CachedFrame cached;
+            while ((cached = pool.poll()) != null) {
+                if (cached.matches(sampleRate, channel, samples, size)) {
+                    return cached;
+                }
+            }
+        }
+        return new CachedFrame(sampleRate, channel, samples, size);
+    }
+
+    private static final class CachedFrame {
+        final int sampleRate;
+        final int channel;
+        final int samples;
+        final byte[] buffer;
+        final AudioFrame frame;
+
+        CachedFrame(int sampleRate, int channel, int samples, int size) {
+            this.sampleRate = sampleRate;
+            this.channel = channel;
+            this.samples = samples;
+            this.buffer = new byte[size];
+            this.frame = new AudioFrame(buffer, samples, AudioSampleRate.fromId(sampleRate), AudioChannel.fromId(channel));
+        }
+
+        boolean matches(int sampleRate, int channel, int samples, int size) {
+            return this.sampleRate == sampleRate && this.channel == channel
+                    && this.samples == samples && buffer.length == size;
+        }
+    }
+}
@@ -15,6 +15,7 @@ import com.ss.bytertc.engine.data.AudioMixingDualMonoMode;
 import com.ss.bytertc.engine.data.AudioMixingType;
 import com.ss.bytertc.engine.flutter.BuildConfig;
 import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.MethodCallDispatcher;
 import com.ss.bytertc.engine.flutter.base.RTCType;
 import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.base.RTCVideoManager;
@@ -25,13 +26,21 @@ import io.flutter.plugin.common.MethodChannel;
 
 @RestrictTo(RestrictTo.Scope.LIBRARY)
 public class AudioMixingPlugin extends RTCFlutterPlugin {
+    private final AudioMixingFramePusher framePusher = new AudioMixingFramePusher();
 
     @Override
     public void onAttachedToEngine(@NonNull FlutterPluginBinding binding) {
         super.onAttachedToEngine(binding);
 
         channel = new MethodChannel(binding.getBinaryMessenger(), "com.bytedance.ve_rtc_audio_mixing_manager");
-        channel.setMethodCallHandler(callHandler);
+        channel.setMethodCallHandler(new MethodCallDispatcher(getTAG(), callHandler));
+        framePusher.register(binding.getBinaryMessenger());
+    }
+
+    @Override
+    public void onDetachedFromEngine(@NonNull FlutterPluginBinding binding) {
+        super.onDetachedFromEngine(binding);
+        framePusher.unregister();
     }
 
     private final MethodChannel.MethodCallHandler callHandler = (call, result) -> {
@@ -207,7 +216,7 @@ public class AudioMixingPlugin extends RTCFlutterPlugin {
                 break;
             }
 
-            case "enableAudioMixingFrame": { // Not Support by Dart
+            case "enableAudioMixingFrame": {
                 int mixId = arguments.optInt("mixId");
                 AudioMixingType type = AudioMixingType.fromId(arguments.optInt("type"));
 
@@ -217,16 +226,17 @@ public class AudioMixingPlugin extends RTCFlutterPlugin {
                 break;
             }
 
-            case "disableAudioMixingFrame": { // Not Support by Dart
+            case "disableAudioMixingFrame": {
                 int mixId = arguments.optInt("mixId");
 
                 audioMixingManager.disableAudioMixingFrame(mixId);
+                framePusher.release(mixId);
 
                 result.success(null);
                 break;
             }
 
-            case "pushAudioMixingFrame": { // Not Support by Dart
+            case "pushAudioMixingFrame": { // Not Support by Dart, frames are pushed through AudioMixingFramePusher
                 int mixId = arguments.optInt("mixId");
                 AudioFrame audioFrame = RTCType.toAudioFrame(arguments.optBox("audioFrame"));
 
@@ -40,7 +40,7 @@ public class FaceDetectionEventProxy implements IFaceDetectionObserver {
 
         HashMap<String, Object> ret = new HashMap<>();
         ret.put("result", map);
-        emitter.emit("onFaceDetectResult", ret);
+        emitter.emitDroppable("onFaceDetectResult", ret);
     }
 
     @Override
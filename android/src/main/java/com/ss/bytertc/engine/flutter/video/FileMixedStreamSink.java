@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.video;
+
+import androidx.annotation.NonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes client mixed stream frames to a local file as big endian records:
+ * <pre>
+ * int32 type | int64 timestampMs | int32 frameNum | int32 width | int32 height | int32 pixelFormat
+ * | UTF userId ("" for mixed frames) | int32 planeCount | int32[] planeStrides | int32 size | data
+ * </pre>
+ * Intended as a stand-in for a muxer, the file can be split back into frames offline.
+ */
+class FileMixedStreamSink implements MixedStreamSink {
+    @NonNull
+    private final String filePath;
+    private DataOutputStream out;
+
+    FileMixedStreamSink(@NonNull String filePath) {
+        this.filePath = filePath;
+    }
+
+    @Override
+    public void open() throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filePath), 256 * 1024));
+    }
+
+    @Override
+    public void write(@NonNull MixedStreamFrame frame) throws IOException {
+        out.writeInt(frame.type);
+        out.writeLong(frame.timestampMs);
+        out.writeInt(frame.frameNum);
+        out.writeInt(frame.width);
+        out.writeInt(frame.height);
+        out.writeInt(frame.pixelFormat);
+        out.writeUTF(frame.userId == null ? "" : frame.userId);
+        out.writeInt(frame.planeStrides.length);
+        for (int stride : frame.planeStrides) {
+            out.writeInt(stride);
+        }
+        out.writeInt(frame.data.length);
+        out.write(frame.data);
+    }
+
+    @Override
+    public void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException ignored) {
+        }
+        out = null;
+    }
+}
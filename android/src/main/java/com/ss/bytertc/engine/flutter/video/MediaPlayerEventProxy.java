@@ -44,6 +44,6 @@ public class MediaPlayerEventProxy implements IMediaPlayerEventHandler {
         final HashMap<String, Object> map = new HashMap<>();
         map.put("playerId", playerId);
         map.put("progress", progress);
-        emitter.emit("onMediaPlayerPlayingProgress", map);
+        emitter.emitLatest("onMediaPlayerPlayingProgress", String.valueOf(playerId), map);
     }
 }
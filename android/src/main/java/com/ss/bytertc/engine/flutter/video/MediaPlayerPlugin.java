@@ -14,6 +14,7 @@ import com.ss.bytertc.engine.data.AudioMixingType;
 import com.ss.bytertc.engine.data.MediaPlayerConfig;
 import com.ss.bytertc.engine.flutter.BuildConfig;
 import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.MethodCallDispatcher;
 import com.ss.bytertc.engine.flutter.base.RTCType;
 import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.plugin.RTCFlutterPlugin;
@@ -38,7 +39,7 @@ public class MediaPlayerPlugin extends RTCFlutterPlugin {
         super.onAttachedToEngine(binding);
 
         channel = new MethodChannel(binding.getBinaryMessenger(), "com.bytedance.ve_rtc_media_player_" + mPlayerId);
-        channel.setMethodCallHandler(callHandler);
+        channel.setMethodCallHandler(new MethodCallDispatcher(getTAG(), callHandler));
         mPlayerEventProxy.registerEvent(binding.getBinaryMessenger(), "com.bytedance.ve_rtc_media_player_event_" + mPlayerId);
     }
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.video;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.ss.bytertc.engine.data.VideoFrameType;
+import com.ss.bytertc.engine.video.VideoFrame;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A frame of a client mixed stream task, copied out of the SDK callback so it can be queued.
+ */
+public final class MixedStreamFrame {
+    public static final int TYPE_AUDIO = 0;
+    public static final int TYPE_VIDEO = 1;
+    public static final int TYPE_DATA = 2;
+
+    public final int type;
+    @NonNull
+    public final String taskId;
+    /**
+     * Source user of a cache synced video or data frame, null for mixed frames
+     */
+    @Nullable
+    public final String userId;
+    public final long timestampMs;
+    /**
+     * Audio frame number, 0 for other types
+     */
+    public final int frameNum;
+    public final int width;
+    public final int height;
+    /**
+     * Video pixel format value, 0 for other types
+     */
+    public final int pixelFormat;
+    /**
+     * Stride of each video plane, the planes are stored one after another in {@link #data},
+     * each stride × plane height bytes
+     */
+    @NonNull
+    public final int[] planeStrides;
+    @NonNull
+    public final byte[] data;
+    /**
+     * {@link SystemClock#elapsedRealtime()} when received from the SDK, for latency statistics
+     */
+    final long receivedAt = SystemClock.elapsedRealtime();
+
+    private MixedStreamFrame(int type, @NonNull String taskId, @Nullable String userId, long timestampMs, int frameNum,
+                             int width, int height, int pixelFormat, @NonNull int[] planeStrides, @NonNull byte[] data) {
+        this.type = type;
+        this.taskId = taskId;
+        this.userId = userId;
+        this.timestampMs = timestampMs;
+        this.frameNum = frameNum;
+        this.width = width;
+        this.height = height;
+        this.pixelFormat = pixelFormat;
+        this.planeStrides = planeStrides;
+        this.data = data;
+    }
+
+    static MixedStreamFrame audio(@NonNull String taskId, @NonNull byte[] data, int frameNum, long timestampMs) {
+        return new MixedStreamFrame(TYPE_AUDIO, taskId, null, timestampMs, frameNum, 0, 0, 0, new int[0], data);
+    }
+
+    static MixedStreamFrame data(@NonNull String taskId, @Nullable String userId, @NonNull byte[] data, long timestampMs) {
+        return new MixedStreamFrame(TYPE_DATA, taskId, userId, timestampMs, 0, 0, 0, 0, new int[0], data);
+    }
+
+    /**
+     * Copy the planes of frame, the SDK reuses its buffers once the callback returns.
+     * Each plane holds stride × plane height bytes, the chroma planes of YUV formats have half the height.
+     *
+     * @return null for a frame without CPU memory planes, such as a texture frame
+     */
+    @Nullable
+    static MixedStreamFrame video(@NonNull String taskId, @Nullable String userId, @NonNull VideoFrame frame) {
+        if (frame.getFrameType() != VideoFrameType.RAW_MEMORY) {
+            return null;
+        }
+        final int height = frame.getHeight();
+        final int planeCount = frame.getNumberOfPlanes();
+        final int[] strides = new int[planeCount];
+        final ByteBuffer[] planes = new ByteBuffer[planeCount];
+        int size = 0;
+        for (int i = 0; i < planeCount; i++) {
+            final ByteBuffer plane = frame.getPlaneData(i);
+            if (plane == null) {
+                return null;
+            }
+            strides[i] = frame.getPlaneStride(i);
+            final int planeHeight = i == 0 ? height : (height + 1) / 2;
+            planes[i] = plane.duplicate();
+            planes[i].clear();
+            planes[i].limit(Math.min(planes[i].capacity(), strides[i] * planeHeight));
+            size += planes[i].remaining();
+        }
+        final ByteBuffer data = ByteBuffer.allocate(size);
+        for (ByteBuffer plane : planes) {
+            data.put(plane);
+        }
+        return new MixedStreamFrame(TYPE_VIDEO, taskId, userId, frame.getTimeStampUs() / 1000, 0,
+                frame.getWidth(), height, frame.getPixelFormat().value(), strides, data.array());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.video;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue between the SDK mixing callbacks and an opened {@link MixedStreamSink}.
+ * <p>
+ * The SDK threads never block: when the queue is full the oldest frame is dropped.
+ * A dedicated thread writes the frames to the sink in order and records the latency
+ * from receiving a frame to the sink having written it.
+ */
+final class MixedStreamPipeline {
+    private final MixedStreamSink sink;
+    private final ArrayBlockingQueue<MixedStreamFrame> queue;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong writeFailed = new AtomicLong();
+    private final AtomicLong unsupported = new AtomicLong();
+    private final AtomicLong totalLatencyMs = new AtomicLong();
+    private final AtomicLong maxLatencyMs = new AtomicLong();
+
+    /**
+     * @param sink opened sink, closed by the pipeline
+     */
+    MixedStreamPipeline(@NonNull MixedStreamSink sink, int capacity) {
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.thread = new Thread(this::loop, "ByteRTCMixedStreamSink");
+        this.thread.start();
+    }
+
+    /**
+     * Called on the SDK threads
+     */
+    void offer(@NonNull MixedStreamFrame frame) {
+        received.incrementAndGet();
+        while (!queue.offer(frame)) {
+            if (queue.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Called on the SDK threads for a frame that cannot be copied, such as a texture frame
+     */
+    void skipUnsupported() {
+        received.incrementAndGet();
+        unsupported.incrementAndGet();
+    }
+
+    void close() {
+        running = false;
+        thread.interrupt();
+    }
+
+    @NonNull
+    HashMap<String, Object> stats() {
+        final long writtenCount = written.get();
+        HashMap<String, Object> map = new HashMap<>();
+        map.put("received", received.get());
+        map.put("dropped", dropped.get());
+        map.put("written", writtenCount);
+        map.put("writeFailed", writeFailed.get());
+        map.put("unsupported", unsupported.get());
+        map.put("queued", queue.size());
+        map.put("avgLatency", writtenCount == 0 ? 0 : totalLatencyMs.get() / writtenCount);
+        map.put("maxLatency", maxLatencyMs.get());
+        return map;
+    }
+
+    private void loop() {
+        try {
+            while (running) {
+                final MixedStreamFrame frame;
+                try {
+                    frame = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (frame == null) {
+                    continue;
+                }
+                try {
+                    sink.write(frame);
+                    final long latency = SystemClock.elapsedRealtime() - frame.receivedAt;
+                    written.incrementAndGet();
+                    totalLatencyMs.addAndGet(latency);
+                    if (latency > maxLatencyMs.get()) {
+                        maxLatencyMs.set(latency);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // An app sink failing on one frame must not stop the pipeline
+                    writeFailed.incrementAndGet();
+                }
+            }
+        } finally {
+            queue.clear();
+            sink.close();
+        }
+    }
+}
@@ -5,8 +5,12 @@
 
 package com.ss.bytertc.engine.flutter.video;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
+import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.event.EventEmitter;
 import com.ss.bytertc.engine.live.ByteRTCStreamMixingEvent;
 import com.ss.bytertc.engine.live.ByteRTCTranscoderErrorCode;
@@ -14,6 +18,7 @@ import com.ss.bytertc.engine.live.IMixedStreamObserver;
 import com.ss.bytertc.engine.live.MixedStreamType;
 import com.ss.bytertc.engine.video.VideoFrame;
 
+import java.io.IOException;
 import java.util.HashMap;
 
 import io.flutter.plugin.common.BinaryMessenger;
@@ -21,19 +26,75 @@ import io.flutter.plugin.common.BinaryMessenger;
 @RestrictTo(RestrictTo.Scope.LIBRARY)
 public class MixedStreamProxy implements IMixedStreamObserver {
 
+    private static final String TAG = "MixedStreamProxy";
+
+    /**
+     * The sink could not be opened
+     */
+    public static final int ERROR_SINK_OPEN_FAILED = -2;
+
     private final EventEmitter emitter = new EventEmitter();
 
+    @Nullable
+    private volatile MixedStreamPipeline pipeline;
+
     public void registerEvent(BinaryMessenger binaryMessenger) {
         emitter.registerEvent(binaryMessenger, "com.bytedance.ve_rtc_mix_stream");
     }
 
     public void destroy() {
         emitter.destroy();
+        closePipeline();
+    }
+
+    /**
+     * Enable or disable the client push pipeline, call before starting a client mixing task.
+     *
+     * The sink is opened before returning, the pipeline stays disabled if that fails.
+     *
+     * @param config enable; filePath: output of the file sink; maxQueueFrames: capacity of the pipeline
+     * @return 0 on success, {@link #ERROR_SINK_OPEN_FAILED} if the sink could not be opened
+     */
+    public int setClientPushConfig(@NonNull RTCTypeBox config) {
+        closePipeline();
+        if (!config.optBoolean("enable")) {
+            return 0;
+        }
+        MixedStreamSink sink = MixedStreamSinkRegistry.getSink();
+        if (sink == null) {
+            sink = new FileMixedStreamSink(config.optString("filePath"));
+        }
+        try {
+            sink.open();
+        } catch (IOException | RuntimeException e) {
+            Logger.e(TAG, "Failed to open sink: " + e);
+            sink.close();
+            return ERROR_SINK_OPEN_FAILED;
+        }
+        pipeline = new MixedStreamPipeline(sink, config.optInt("maxQueueFrames", 60));
+        return 0;
+    }
+
+    /**
+     * Counters of the client push pipeline, empty when disabled
+     */
+    @NonNull
+    public HashMap<String, Object> getClientPushStats() {
+        final MixedStreamPipeline current = pipeline;
+        return current == null ? new HashMap<>() : current.stats();
+    }
+
+    private void closePipeline() {
+        final MixedStreamPipeline current = pipeline;
+        pipeline = null;
+        if (current != null) {
+            current.close();
+        }
     }
 
     @Override
     public boolean isSupportClientPushStream() {
-        return false;
+        return pipeline != null;
     }
 
     @Override
@@ -49,21 +110,53 @@ public class MixedStreamProxy implements IMixedStreamObserver {
 
     @Override
     public void onMixingAudioFrame(String taskId, byte[] audioFrame, int frameNum, long timeStampMs) {
-
+        final MixedStreamPipeline current = pipeline;
+        if (current != null && audioFrame != null) {
+            current.offer(MixedStreamFrame.audio(taskId, audioFrame.clone(), frameNum, timeStampMs));
+        }
     }
 
     @Override
     public void onMixingVideoFrame(String taskId, VideoFrame videoFrame) {
-
+        final MixedStreamPipeline current = pipeline;
+        if (current != null && videoFrame != null) {
+            offerVideo(current, taskId, null, videoFrame);
+        }
     }
 
     @Override
     public void onMixingDataFrame(String taskId, byte[] dataFrame, long time) {
-
+        final MixedStreamPipeline current = pipeline;
+        if (current != null && dataFrame != null) {
+            current.offer(MixedStreamFrame.data(taskId, null, dataFrame.clone(), time));
+        }
     }
 
     @Override
     public void onCacheSyncVideoFrames(String taskId, String[] userIds, VideoFrame[] videoFrame, byte[][] dataFrame, int count) {
+        final MixedStreamPipeline current = pipeline;
+        if (current == null || userIds == null || videoFrame == null) {
+            return;
+        }
+        for (int i = 0; i < count && i < userIds.length && i < videoFrame.length; i++) {
+            if (videoFrame[i] != null) {
+                offerVideo(current, taskId, userIds[i], videoFrame[i]);
+            }
+            // The data of each user follows its video frame, with the same timestamp
+            if (dataFrame != null && i < dataFrame.length && dataFrame[i] != null) {
+                final long timestampMs = videoFrame[i] != null ? videoFrame[i].getTimeStampUs() / 1000 : 0;
+                current.offer(MixedStreamFrame.data(taskId, userIds[i], dataFrame[i].clone(), timestampMs));
+            }
+        }
+    }
 
+    private static void offerVideo(@NonNull MixedStreamPipeline pipeline, @NonNull String taskId,
+                                   @Nullable String userId, @NonNull VideoFrame videoFrame) {
+        final MixedStreamFrame frame = MixedStreamFrame.video(taskId, userId, videoFrame);
+        if (frame != null) {
+            pipeline.offer(frame);
+        } else {
+            pipeline.skipUnsupported();
+        }
     }
 }
\ No newline at end of file
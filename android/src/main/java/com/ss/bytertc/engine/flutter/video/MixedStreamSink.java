@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2023 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.video;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+/**
+ * Local consumer of client mixed stream frames, for example a muxer or a socket writer.
+ * <p>
+ * {@link #open()} is called on the thread of {@code setClientMixedStreamConfig}, whose call fails if it throws.
+ * {@link #write} and {@link #close()} are then called on the pipeline thread, one frame at a time.
+ * A slow sink does not block the SDK: frames are dropped from the pipeline instead.
+ *
+ * @see MixedStreamSinkRegistry#setSink(MixedStreamSink)
+ */
+public interface MixedStreamSink {
+    void open() throws IOException;
+
+    void write(@NonNull MixedStreamFrame frame) throws IOException;
+
+    void close();
+}
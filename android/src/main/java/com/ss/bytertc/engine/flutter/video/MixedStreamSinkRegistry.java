@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2023 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.video;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Lets the host app replace the output of client mixed stream frames, for example with a socket writer.
+ * <p>
+ * Without a custom sink, frames are written to the file set by {@code setClientMixedStreamConfig} in Dart.
+ */
+public final class MixedStreamSinkRegistry {
+    @Nullable
+    private static volatile MixedStreamSink sSink;
+
+    private MixedStreamSinkRegistry() {
+    }
+
+    /**
+     * Set the sink of client mixed stream frames, null to restore the file sink.
+     * Takes effect on the next {@code setClientMixedStreamConfig}.
+     */
+    public static void setSink(@Nullable MixedStreamSink sink) {
+        sSink = sink;
+    }
+
+    @Nullable
+    static MixedStreamSink getSink() {
+        return sSink;
+    }
+}
@@ -6,8 +6,10 @@
 package com.ss.bytertc.engine.flutter.video;
 
 import android.content.Context;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import com.ss.bytertc.engine.NetworkTimeInfo;
@@ -46,8 +48,11 @@ import com.ss.bytertc.engine.data.VideoSuperResolutionMode;
 import com.ss.bytertc.engine.data.VirtualBackgroundSource;
 import com.ss.bytertc.engine.data.ZoomConfigType;
 import com.ss.bytertc.engine.data.ZoomDirectionType;
-import com.ss.bytertc.engine.flutter.BuildConfig;
 import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.MethodCallDispatcher;
+import com.ss.bytertc.engine.flutter.base.MethodMetrics;
+import com.ss.bytertc.engine.flutter.base.RTCMap;
+import com.ss.bytertc.engine.flutter.base.RTCMethodRegistry;
 import com.ss.bytertc.engine.flutter.base.RTCType;
 import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.base.RTCVideoManager;
@@ -84,29 +89,79 @@ import com.ss.bytertc.ktv.IKTVManager;
 
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.MethodChannel;
 
 @RestrictTo(RestrictTo.Scope.LIBRARY)
 public class RTCVideoPlugin extends RTCFlutterPlugin {
 
-    private final HashMap<String, RTCFlutterPlugin> flutterPlugins = new HashMap<>();
-    private final HashMap<Integer, RTCRoomPlugin> roomPlugins = new HashMap<>();
-
+    /**
+     * Calls bound to views, activities, contexts or channel registration, which stay on the main thread
+     */
+    private static final String[] MAIN_THREAD_METHODS = {
+            "removeLocalVideo",
+            "removeRemoteVideo",
+            "removePublicStreamVideo",
+            "createRTCRoom",
+            "destroyRTCRoom",
+            "clearPreCreatedRTCRooms",
+            "startScreenCapture",
+            "updateScreenCapture",
+            "stopScreenCapture",
+            "checkVideoEffectLicense",
+            "getAudioEffectPlayer",
+            "getAudioMixingManager",
+            "getVideoEffectInterface",
+            "registerEventChannel",
+            "getMediaPlayer",
+            "startEchoTest",
+            "stopEchoTest",
+            "getSingScoringManager",
+            "getKTVManager",
+    };
+    private static final Set<String> MAIN_THREAD_METHOD_SET = new HashSet<>(Arrays.asList(MAIN_THREAD_METHODS));
+    /**
+     * Calls of a batch are counted under the plugin that handles them
+     */
+    private static final MethodMetrics.Channel VIDEO_BATCH_METRICS = MethodMetrics.channel(RTCVideoPlugin.class.getSimpleName());
+    private static final MethodMetrics.Channel ROOM_BATCH_METRICS = MethodMetrics.channel(RTCRoomPlugin.class.getSimpleName());
+
+    /**
+     * Read by the main thread, the background call thread and batch calls, lookups do not lock
+     */
+    private final ConcurrentHashMap<String, RTCFlutterPlugin> flutterPlugins = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, RTCRoomPlugin> roomPlugins = new ConcurrentHashMap<>();
+    private final WarmRoomPool warmRoomPool = new WarmRoomPool();
+
+    private final VideoEventProxy videoEventHandler;
     private final FaceDetectionEventProxy faceDetectionHandler = new FaceDetectionEventProxy();
     private final LiveTranscodingEventProxy liveTranscodingEventProxy = new LiveTranscodingEventProxy();
     private final MixedStreamProxy mixedStreamProxy = new MixedStreamProxy();
     private final ASREngineEventProxy asrEventHandler = new ASREngineEventProxy();
     private final PushSingleStreamToCDNProxy pushSingleStreamToCDNProxy = new PushSingleStreamToCDNProxy();
     private final SnapshotResultCallbackProxy snapshotResultCallbackProxy = new SnapshotResultCallbackProxy();
-
-    public RTCVideoPlugin() {
-        flutterPlugins.put("AudioMixing", new AudioMixingPlugin());
-        flutterPlugins.put("VideoEffect", new VideoEffectPlugin());
+    private final SnapshotSampler snapshotSampler = new SnapshotSampler(snapshotResultCallbackProxy);
+    private final AudioFrameStreamer audioFrameStreamer = new AudioFrameStreamer();
+
+    /**
+     * Event channels registered so far, the feature event channels are registered on first use
+     */
+    private final Set<String> registeredEventChannels = new HashSet<>();
+
+    public RTCVideoPlugin(VideoEventProxy videoEventHandler) {
+        this.videoEventHandler = videoEventHandler;
+        videoEventHandler.setSpectrumFormat(RTCMap.SPECTRUM_FORMAT_FLOAT64);
+        registerMethods(callHandler);
     }
 
     @Override
@@ -117,13 +172,8 @@ public class RTCVideoPlugin extends RTCFlutterPlugin {
             plugin.onAttachedToEngine(binding);
         }
         channel = new MethodChannel(binding.getBinaryMessenger(), "com.bytedance.ve_rtc_video");
-        channel.setMethodCallHandler(callHandler);
-        faceDetectionHandler.registerEvent(binding.getBinaryMessenger(), "com.bytedance.ve_rtc_face_detection");
-        liveTranscodingEventProxy.registerEvent(binding.getBinaryMessenger());
-        mixedStreamProxy.registerEvent(binding.getBinaryMessenger());
-        asrEventHandler.registerEvent(binding.getBinaryMessenger());
-        pushSingleStreamToCDNProxy.registerEvent(binding.getBinaryMessenger());
-        snapshotResultCallbackProxy.registerEvent(binding.getBinaryMessenger());
+        channel.setMethodCallHandler(new MethodCallDispatcher(getTAG(), callHandler, MAIN_THREAD_METHODS));
+        audioFrameStreamer.register(binding.getBinaryMessenger());
     }
 
     @Override
@@ -137,1431 +187,1530 @@ public class RTCVideoPlugin extends RTCFlutterPlugin {
             value.onDetachedFromEngine(binding);
         }
         roomPlugins.clear();
+        warmRoomPool.clear();
+        registeredEventChannels.clear();
         faceDetectionHandler.destroy();
         liveTranscodingEventProxy.destroy();
         mixedStreamProxy.destroy();
         asrEventHandler.destroy();
         pushSingleStreamToCDNProxy.destroy();
+        snapshotSampler.stop();
         snapshotResultCallbackProxy.destroy();
+        audioFrameStreamer.unregister();
     }
 
-    private final MethodChannel.MethodCallHandler callHandler = new MethodChannel.MethodCallHandler() {
-        @Override
-        public void onMethodCall(@NonNull MethodCall call, @NonNull MethodChannel.Result result) {
-            if (BuildConfig.DEBUG) {
-                Logger.d(getTAG(), "Video Call: " + call.method);
-            }
-            final RTCTypeBox arguments = new RTCTypeBox(call.arguments, call.method);
+    private final RTCMethodRegistry callHandler = new RTCMethodRegistry(getTAG(), "Video Call");
 
-            switch (call.method) {
-// endregion
+    /**
+     * Register the event channel of a feature on its first use, before Dart listens to it.
+     *
+     * @return false if channelName is not a feature event channel
+     */
+    private boolean registerEventChannel(@NonNull String channelName) {
+        if (registeredEventChannels.contains(channelName)) {
+            return true;
+        }
+        BinaryMessenger messenger = binding.getBinaryMessenger();
+        switch (channelName) {
+            case "com.bytedance.ve_rtc_face_detection":
+                faceDetectionHandler.registerEvent(messenger, channelName);
+                break;
+            case "com.bytedance.ve_rtc_live_transcoding":
+                liveTranscodingEventProxy.registerEvent(messenger);
+                break;
+            case "com.bytedance.ve_rtc_mix_stream":
+                mixedStreamProxy.registerEvent(messenger);
+                break;
+            case "com.bytedance.ve_rtc_asr":
+                asrEventHandler.registerEvent(messenger);
+                break;
+            case "com.bytedance.ve_rtc_push_single_stream_to_cdn":
+                pushSingleStreamToCDNProxy.registerEvent(messenger);
+                break;
+            case "com.bytedance.ve_rtc_snapshot_result":
+                snapshotResultCallbackProxy.registerEvent(messenger);
+                break;
+            default:
+                return false;
+        }
+        registeredEventChannels.add(channelName);
+        return true;
+    }
+
+    private void registerMethods(@NonNull RTCMethodRegistry registry) {
 // region Object methods
-                case "startAudioCapture": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startAudioCapture();
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("startAudioCapture", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startAudioCapture();
+            result.success(retValue);
+        });
 
-                case "stopAudioCapture": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopAudioCapture();
+        registry.register("stopAudioCapture", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopAudioCapture();
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "setAudioScenario": {
-                    AudioScenarioType scenario = AudioScenarioType.fromId(arguments.optInt("audioScenario"));
+        registry.register("setAudioScenario", (arguments, result) -> {
+            AudioScenarioType scenario = AudioScenarioType.fromId(arguments.optInt("audioScenario"));
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setAudioScenario(scenario);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setAudioScenario(scenario);
 
-                    result.success(retValue);
+            result.success(retValue);
+        });
+
+        registry.register("setAudioScene", (arguments, result) -> {
+            AudioSceneType audioScene = AudioSceneType.AUDIO_SCENE_DEFAULT;
+            for (AudioSceneType item : AudioSceneType.values()) {
+                if (item.value == arguments.optInt("audioScene")) {
+                    audioScene = item;
                     break;
                 }
+            }
 
-                case "setAudioScene": {
-                    AudioSceneType audioScene = AudioSceneType.AUDIO_SCENE_DEFAULT;
-                    for (AudioSceneType item : AudioSceneType.values()) {
-                        if (item.value == arguments.optInt("audioScene")) {
-                            audioScene = item;
-                            break;
-                        }
-                    }
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setAudioScene(audioScene);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setAudioScene(audioScene);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setAudioProfile", (arguments, result) -> {
+            AudioProfileType profile = AudioProfileType.fromId(arguments.optInt("audioProfile"));
 
-                case "setAudioProfile": {
-                    AudioProfileType profile = AudioProfileType.fromId(arguments.optInt("audioProfile"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setAudioProfile(profile);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setAudioProfile(profile);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setAnsMode", (arguments, result) -> {
+            AnsMode ansMode = AnsMode.fromId(arguments.optInt("ansMode"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setAnsMode(ansMode);
+            result.success(retValue);
+        });
 
-                case "setAnsMode" : {
-                    AnsMode ansMode = AnsMode.fromId(arguments.optInt("ansMode"));
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setAnsMode(ansMode);
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVoiceChangerType", (arguments, result) -> {
+            VoiceChangerType changerType = VoiceChangerType.fromId(arguments.optInt("voiceChanger"));
 
-                case "setVoiceChangerType": {
-                    VoiceChangerType changerType = VoiceChangerType.fromId(arguments.optInt("voiceChanger"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVoiceChangerType(changerType);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVoiceChangerType(changerType);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVoiceReverbType", (arguments, result) -> {
 
-                case "setVoiceReverbType": {
+            VoiceReverbType reverbType = VoiceReverbType.fromId(arguments.optInt("voiceReverb"));
 
-                    VoiceReverbType reverbType = VoiceReverbType.fromId(arguments.optInt("voiceReverb"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVoiceReverbType(reverbType);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVoiceReverbType(reverbType);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setLocalVoiceEqualization", (arguments, result) -> {
+            VoiceEqualizationConfig config = RTCType.toVoiceEqualizationConfig(arguments.optBox("config"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setLocalVoiceEqualization(config);
+            result.success(retValue);
+        });
 
-                case "setLocalVoiceEqualization": {
-                    VoiceEqualizationConfig config = RTCType.toVoiceEqualizationConfig(arguments.optBox("config"));
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setLocalVoiceEqualization(config);
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setLocalVoiceReverbParam", (arguments, result) -> {
+            VoiceReverbConfig config = RTCType.toVoiceReverbConfig(arguments.optBox("config"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setLocalVoiceReverbParam(config);
+            result.success(retValue);
+        });
 
-                case "setLocalVoiceReverbParam": {
-                    VoiceReverbConfig config = RTCType.toVoiceReverbConfig(arguments.optBox("config"));
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setLocalVoiceReverbParam(config);
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("enableLocalVoiceReverb", (arguments, result) -> {
+            boolean enabled = arguments.optBoolean("enable");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.enableLocalVoiceReverb(enabled);
+            result.success(retValue);
+        });
 
-                case "enableLocalVoiceReverb": {
-                    boolean enabled = arguments.optBoolean("enable");
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.enableLocalVoiceReverb(enabled);
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("muteAudioCapture", (arguments, result) -> {
+            boolean mute = arguments.optBoolean("mute");
+            StreamIndex index = StreamIndex.fromId(arguments.optInt("index"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.muteAudioCapture(index,mute);
+            result.success(retValue);
+        });
 
-                case "muteAudioCapture": {
-                    boolean mute = arguments.optBoolean("mute");
-                    StreamIndex index = StreamIndex.fromId(arguments.optInt("index"));
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.muteAudioCapture(index,mute);
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setCaptureVolume", (arguments, result) -> {
+            StreamIndex index = StreamIndex.fromId(arguments.optInt("index"));
+            int vol = arguments.optInt("volume");
 
-                case "setCaptureVolume": {
-                    StreamIndex index = StreamIndex.fromId(arguments.optInt("index"));
-                    int vol = arguments.optInt("volume");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setCaptureVolume(index, vol);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setCaptureVolume(index, vol);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setPlaybackVolume", (arguments, result) -> {
+            int vol = arguments.optInt("volume");
 
-                case "setPlaybackVolume": {
-                    int vol = arguments.optInt("volume");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setPlaybackVolume(vol);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setPlaybackVolume(vol);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("enableAudioPropertiesReport", (arguments, result) -> {
+            AudioPropertiesConfig config = RTCType.toAudioPropertiesConfig(arguments.optBox("config"));
+            videoEventHandler.setSpectrumFormat(arguments.optBox("config").optInt("spectrumFormat", RTCMap.SPECTRUM_FORMAT_FLOAT64));
 
-                case "enableAudioPropertiesReport": {
-                    AudioPropertiesConfig config = RTCType.toAudioPropertiesConfig(arguments.optBox("config"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.enableAudioPropertiesReport(config);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.enableAudioPropertiesReport(config);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setRemoteAudioPlaybackVolume", (arguments, result) -> {
+            String roomId = arguments.optString("roomId");
+            String uid = arguments.optString("uid");
+            int volume = arguments.optInt("volume");
 
-                case "setRemoteAudioPlaybackVolume": {
-                    String roomId = arguments.optString("roomId");
-                    String uid = arguments.optString("uid");
-                    int volume = arguments.optInt("volume");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setRemoteAudioPlaybackVolume(roomId, uid, volume);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setRemoteAudioPlaybackVolume(roomId, uid, volume);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setEarMonitorMode", (arguments, result) -> {
+            int mode = arguments.optInt("mode");
 
-                case "setEarMonitorMode": {
-                    int mode = arguments.optInt("mode");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setEarMonitorMode(EarMonitorMode.fromId(mode));
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setEarMonitorMode(EarMonitorMode.fromId(mode));
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setEarMonitorVolume", (arguments, result) -> {
+            int volume = arguments.optInt("volume");
 
-                case "setEarMonitorVolume": {
-                    int volume = arguments.optInt("volume");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setEarMonitorVolume(volume);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setEarMonitorVolume(volume);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setLocalVoicePitch", (arguments, result) -> {
+            int pitch = arguments.optInt("pitch");
 
-                case "setLocalVoicePitch": {
-                    int pitch = arguments.optInt("pitch");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setLocalVoicePitch(pitch);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setLocalVoicePitch(pitch);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("enableVocalInstrumentBalance", (arguments, result) -> {
+            boolean enabled = arguments.optBoolean("enable");
 
-                case "enableVocalInstrumentBalance": {
-                    boolean enabled = arguments.optBoolean("enable");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.enableVocalInstrumentBalance(enabled);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.enableVocalInstrumentBalance(enabled);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("enablePlaybackDucking", (arguments, result) -> {
+            boolean enabled = arguments.optBoolean("enable");
 
-                case "enablePlaybackDucking": {
-                    boolean enabled = arguments.optBoolean("enable");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.enablePlaybackDucking(enabled);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.enablePlaybackDucking(enabled);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("enableSimulcastMode", (arguments, result) -> {
+            boolean enable = arguments.optBoolean("enable");
 
-                case "enableSimulcastMode": {
-                    boolean enable = arguments.optBoolean("enable");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.enableSimulcastMode(enable);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.enableSimulcastMode(enable);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setMaxVideoEncoderConfig", (arguments, result) -> { // Support Dart setMaxVideoEncoderConfig
+            VideoEncoderConfig maxSolution = RTCType.toVideoEncoderConfig(arguments.optBox("maxSolution"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVideoEncoderConfig(maxSolution);
 
-                case "setMaxVideoEncoderConfig": { // Support Dart setMaxVideoEncoderConfig
-                    VideoEncoderConfig maxSolution = RTCType.toVideoEncoderConfig(arguments.optBox("maxSolution"));
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVideoEncoderConfig(maxSolution);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVideoEncoderConfig", (arguments, result) -> {
+            VideoEncoderConfig[] channelSolutions = RTCType.toVideoEncoderConfigArray(arguments.getList("channelSolutions"));
 
-                case "setVideoEncoderConfig": {
-                    VideoEncoderConfig[] channelSolutions = RTCType.toVideoEncoderConfigArray(arguments.getList("channelSolutions"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVideoEncoderConfig(channelSolutions);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVideoEncoderConfig(channelSolutions);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setScreenVideoEncoderConfig", (arguments, result) -> {
+            ScreenVideoEncoderConfig solution = RTCType.toScreenVideoEncoderConfig(arguments.optBox("screenSolution"));
 
-                case "setScreenVideoEncoderConfig": {
-                    ScreenVideoEncoderConfig solution = RTCType.toScreenVideoEncoderConfig(arguments.optBox("screenSolution"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setScreenVideoEncoderConfig(solution);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setScreenVideoEncoderConfig(solution);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVideoCaptureConfig", (arguments, result) -> {
+            VideoCaptureConfig videoCaptureConfig = RTCType.toVideoCaptureConfig(arguments.optBox("config"));
 
-                case "setVideoCaptureConfig": {
-                    VideoCaptureConfig videoCaptureConfig = RTCType.toVideoCaptureConfig(arguments.optBox("config"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVideoCaptureConfig(videoCaptureConfig);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVideoCaptureConfig(videoCaptureConfig);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("removeLocalVideo", (arguments, result) -> { // Support Dart removeLocalVideo
+            StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamType"));
+            VideoCanvas videoCanvas = new VideoCanvas(); // Use a blank Canvas as Remove
 
-                case "removeLocalVideo": { // Support Dart removeLocalVideo
-                    StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamType"));
-                    VideoCanvas videoCanvas = new VideoCanvas(); // Use a blank Canvas as Remove
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setLocalVideoCanvas(streamIndex, videoCanvas);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setLocalVideoCanvas(streamIndex, videoCanvas);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("removeRemoteVideo", (arguments, result) -> { // Support Dart removeRemoteVideo
+            String roomId = arguments.optString("roomId");
+            String uid = arguments.optString("uid");
+            StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamType"));
+            VideoCanvas canvas = new VideoCanvas(); // Use a blank Canvas as Remove
 
-                case "removeRemoteVideo": { // Support Dart removeRemoteVideo
-                    String roomId = arguments.optString("roomId");
-                    String uid = arguments.optString("uid");
-                    StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamType"));
-                    VideoCanvas canvas = new VideoCanvas(); // Use a blank Canvas as Remove
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            RemoteStreamKey streamKey = new RemoteStreamKey(roomId, uid, streamIndex);
+            int retValue = rtcVideo.setRemoteVideoCanvas(streamKey, canvas);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    RemoteStreamKey streamKey = new RemoteStreamKey(roomId, uid, streamIndex);
-                    int retValue = rtcVideo.setRemoteVideoCanvas(streamKey, canvas);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("startVideoCapture", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startVideoCapture();
 
-                case "startVideoCapture": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startVideoCapture();
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("stopVideoCapture", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopVideoCapture();
 
-                case "stopVideoCapture": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopVideoCapture();
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setLocalVideoMirrorType", (arguments, result) -> {
+            MirrorType mode = MirrorType.fromId(arguments.optInt("mirrorType"));
 
-                case "setLocalVideoMirrorType": {
-                    MirrorType mode = MirrorType.fromId(arguments.optInt("mirrorType"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setLocalVideoMirrorType(mode);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setLocalVideoMirrorType(mode);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setRemoteVideoMirrorType", (arguments, result) -> {
+            RemoteStreamKey streamKey = RTCType.toRemoteStreamKey(arguments.optBox("streamKey"));
+            RemoteMirrorType mirrorType = RemoteMirrorType.fromId(arguments.optInt("mirrorType"));
 
-                case "setRemoteVideoMirrorType": {
-                    RemoteStreamKey streamKey = RTCType.toRemoteStreamKey(arguments.optBox("streamKey"));
-                    RemoteMirrorType mirrorType = RemoteMirrorType.fromId(arguments.optInt("mirrorType"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setRemoteVideoMirrorType(streamKey, mirrorType);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setRemoteVideoMirrorType(streamKey, mirrorType);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVideoRotationMode", (arguments, result) -> {
+            VideoRotationMode rotationMode = VideoRotationMode.fromId(arguments.optInt("rotationMode"));
 
-                case "setVideoRotationMode": {
-                    VideoRotationMode rotationMode = VideoRotationMode.fromId(arguments.optInt("rotationMode"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVideoRotationMode(rotationMode);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVideoRotationMode(rotationMode);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("switchCamera", (arguments, result) -> {
+            CameraId cameraId = CameraId.fromId(arguments.optInt("cameraId"));
 
-                case "switchCamera": {
-                    CameraId cameraId = CameraId.fromId(arguments.optInt("cameraId"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.switchCamera(cameraId);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.switchCamera(cameraId);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("checkVideoEffectLicense", (arguments, result) -> {
+            Context context = binding.getApplicationContext();
+            String licenseFile = arguments.optString("licenseFile");
 
-                case "checkVideoEffectLicense": {
-                    Context context = binding.getApplicationContext();
-                    String licenseFile = arguments.optString("licenseFile");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.checkVideoEffectLicense(context, licenseFile);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.checkVideoEffectLicense(context, licenseFile);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("enableVideoEffect", (arguments, result) -> {
+            boolean enable = arguments.optBoolean("enable");
 
-                case "enableVideoEffect": {
-                    boolean enable = arguments.optBoolean("enable");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.enableVideoEffect(enable);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.enableVideoEffect(enable);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVideoEffectAlgoModelPath", (arguments, result) -> {
+            String modelPath = arguments.optString("modelPath");
 
-                case "setVideoEffectAlgoModelPath": {
-                    String modelPath = arguments.optString("modelPath");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVideoEffectAlgoModelPath(modelPath);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVideoEffectAlgoModelPath(modelPath);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVideoEffectNodes", (arguments, result) -> {
+            List<String> effectNodes = arguments.getList("effectNodes");
 
-                case "setVideoEffectNodes": {
-                    List<String> effectNodes = arguments.getList("effectNodes");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVideoEffectNodes(effectNodes);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVideoEffectNodes(effectNodes);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("updateVideoEffectNode", (arguments, result) -> {
+            String effectNode = arguments.optString("effectNode");
+            String key = arguments.optString("key");
+            float value = arguments.optFloat("value");
 
-                case "updateVideoEffectNode": {
-                    String effectNode = arguments.optString("effectNode");
-                    String key = arguments.optString("key");
-                    float value = arguments.optFloat("value");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.updateVideoEffectNode(effectNode, key, value);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.updateVideoEffectNode(effectNode, key, value);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVideoEffectColorFilter", (arguments, result) -> {
+            String resFile = arguments.optString("resFile");
 
-                case "setVideoEffectColorFilter": {
-                    String resFile = arguments.optString("resFile");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVideoEffectColorFilter(resFile);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVideoEffectColorFilter(resFile);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVideoEffectColorFilterIntensity", (arguments, result) -> {
+            float intensity = arguments.optFloat("intensity");
 
-                case "setVideoEffectColorFilterIntensity": {
-                    float intensity = arguments.optFloat("intensity");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVideoEffectColorFilterIntensity(intensity);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVideoEffectColorFilterIntensity(intensity);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setBackgroundSticker", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            String modelPath = arguments.optString("modelPath");
+            VirtualBackgroundSource source = RTCType.toVirtualBackgroundSource(arguments.optBox("source"));
+            int retValue = rtcVideo.setBackgroundSticker(modelPath, source);
 
-                case "setBackgroundSticker": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    String modelPath = arguments.optString("modelPath");
-                    VirtualBackgroundSource source = RTCType.toVirtualBackgroundSource(arguments.optBox("source"));
-                    int retValue = rtcVideo.setBackgroundSticker(modelPath, source);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("registerFaceDetectionObserver", (arguments, result) -> {
+            int interval = arguments.optInt("interval");
+            boolean observer = arguments.optBoolean("observer");
 
-                case "registerFaceDetectionObserver": {
-                    int interval = arguments.optInt("interval");
-                    boolean observer = arguments.optBoolean("observer");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue;
+            if (observer) {
+                retValue = rtcVideo.registerFaceDetectionObserver(faceDetectionHandler, interval);
+            } else {
+                retValue = rtcVideo.registerFaceDetectionObserver(null, interval);
+            }
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue;
-                    if (observer) {
-                        retValue = rtcVideo.registerFaceDetectionObserver(faceDetectionHandler, interval);
-                    } else {
-                        retValue = rtcVideo.registerFaceDetectionObserver(null, interval);
-                    }
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("enableEffectBeauty", (arguments, result) -> {
+            final boolean enabled = arguments.optBoolean("enable");
 
-                case "enableEffectBeauty": {
-                    final boolean enabled = arguments.optBoolean("enable");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.enableEffectBeauty(enabled);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.enableEffectBeauty(enabled);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setBeautyIntensity", (arguments, result) -> {
+            EffectBeautyMode beautyMode = EffectBeautyMode.fromId(arguments.optInt("beautyMode"));
+            float intensity = arguments.optFloat("intensity");
 
-                case "setBeautyIntensity": {
-                    EffectBeautyMode beautyMode = EffectBeautyMode.fromId(arguments.optInt("beautyMode"));
-                    float intensity = arguments.optFloat("intensity");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setBeautyIntensity(beautyMode, intensity);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setBeautyIntensity(beautyMode, intensity);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setRemoteVideoSuperResolution", (arguments, result) -> {
+            RemoteStreamKey streamKey = RTCType.toRemoteStreamKey(arguments.optBox("streamKey"));
+            VideoSuperResolutionMode mode = VideoSuperResolutionMode.fromId(arguments.optInt("mode"));
 
-                case "setRemoteVideoSuperResolution": {
-                    RemoteStreamKey streamKey = RTCType.toRemoteStreamKey(arguments.optBox("streamKey"));
-                    VideoSuperResolutionMode mode = VideoSuperResolutionMode.fromId(arguments.optInt("mode"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setRemoteVideoSuperResolution(streamKey, mode);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setRemoteVideoSuperResolution(streamKey, mode);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVideoDenoiser", (arguments, result) -> {
+            VideoDenoiseMode mode = VideoDenoiseMode.fromId(arguments.optInt("mode"));
 
-                case "setVideoDenoiser": {
-                    VideoDenoiseMode mode = VideoDenoiseMode.fromId(arguments.optInt("mode"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVideoDenoiser(mode);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVideoDenoiser(mode);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setCameraZoomRatio", (arguments, result) -> {
+            float zoom = arguments.optFloat("zoom");
 
-                case "setCameraZoomRatio": {
-                    float zoom = arguments.optFloat("zoom");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setCameraZoomRatio(zoom);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setCameraZoomRatio(zoom);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("getCameraZoomMaxRatio", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            float retValue = rtcVideo.getCameraZoomMaxRatio();
 
-                case "getCameraZoomMaxRatio": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    float retValue = rtcVideo.getCameraZoomMaxRatio();
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("isCameraZoomSupported", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            boolean retValue = rtcVideo.isCameraZoomSupported();
 
-                case "isCameraZoomSupported": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    boolean retValue = rtcVideo.isCameraZoomSupported();
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("isCameraTorchSupported", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            boolean supported = rtcVideo.isCameraTorchSupported();
 
-                case "isCameraTorchSupported": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    boolean supported = rtcVideo.isCameraTorchSupported();
+            result.success(supported);
+        });
 
-                    result.success(supported);
-                    break;
-                }
+        registry.register("isCameraExposurePositionSupported", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            boolean supported = rtcVideo.isCameraExposurePositionSupported();
 
-                case "isCameraExposurePositionSupported": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    boolean supported = rtcVideo.isCameraExposurePositionSupported();
+            result.success(supported);
+        });
 
-                    result.success(supported);
-                    break;
-                }
+        registry.register("setCameraTorch", (arguments, result) -> {
+            TorchState torchState = RTCType.toTorchState(arguments.optInt("torchState"));
 
-                case "setCameraTorch": {
-                    TorchState torchState = RTCType.toTorchState(arguments.optInt("torchState"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setCameraTorch(torchState);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setCameraTorch(torchState);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("isCameraFocusPositionSupported", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            boolean retValue = rtcVideo.isCameraFocusPositionSupported();
 
-                case "isCameraFocusPositionSupported": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    boolean retValue = rtcVideo.isCameraFocusPositionSupported();
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setCameraFocusPosition", (arguments, result) -> {
+            float x = arguments.optFloat("x");
+            float y = arguments.optFloat("y");
 
-                case "setCameraFocusPosition": {
-                    float x = arguments.optFloat("x");
-                    float y = arguments.optFloat("y");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setCameraFocusPosition(x, y);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setCameraFocusPosition(x, y);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setCameraExposureCompensation", (arguments, result) -> {
+            float val = arguments.optFloat("val");
 
-                case "setCameraExposureCompensation": {
-                    float val = arguments.optFloat("val");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setCameraExposureCompensation(val);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setCameraExposureCompensation(val);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setCameraExposurePosition", (arguments, result) -> {
+            float x = arguments.optFloat("x");
+            float y = arguments.optFloat("y");
 
-                case "setCameraExposurePosition": {
-                    float x = arguments.optFloat("x");
-                    float y = arguments.optFloat("y");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setCameraExposurePosition(x, y);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setCameraExposurePosition(x, y);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("enableCameraAutoExposureFaceMode", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.enableCameraAutoExposureFaceMode(arguments.optBoolean("enable"));
+            result.success(retValue);
+        });
 
-                case "enableCameraAutoExposureFaceMode": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.enableCameraAutoExposureFaceMode(arguments.optBoolean("enable"));
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setCameraAdaptiveMinimumFrameRate", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setCameraAdaptiveMinimumFrameRate(arguments.optInt("framerate"));
+            result.success(retValue);
+        });
 
-                case "setCameraAdaptiveMinimumFrameRate": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setCameraAdaptiveMinimumFrameRate(arguments.optInt("framerate"));
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("sendSEIMessage", (arguments, result) -> {
+            StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
+            byte[] msg = arguments.optBytes("message");
+            int repeatCount = arguments.optInt("repeatCount");
+            SEICountPerFrame mode = SEICountPerFrame.fromId(arguments.optInt("mode"));
 
-                case "sendSEIMessage": {
-                    StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
-                    byte[] msg = arguments.optBytes("message");
-                    int repeatCount = arguments.optInt("repeatCount");
-                    SEICountPerFrame mode = SEICountPerFrame.fromId(arguments.optInt("mode"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.sendSEIMessage(streamIndex, msg, repeatCount, mode);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.sendSEIMessage(streamIndex, msg, repeatCount, mode);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("sendPublicStreamSEIMessage", (arguments, result) -> {
+            StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
+            int channelId = arguments.optInt("channelId");
+            byte[] msg = arguments.optBytes("message");
+            int repeatCount = arguments.optInt("repeatCount");
+            SEICountPerFrame mode = SEICountPerFrame.fromId(arguments.optInt("mode"));
 
-                case "sendPublicStreamSEIMessage": {
-                    StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
-                    int channelId = arguments.optInt("channelId");
-                    byte[] msg = arguments.optBytes("message");
-                    int repeatCount = arguments.optInt("repeatCount");
-                    SEICountPerFrame mode = SEICountPerFrame.fromId(arguments.optInt("mode"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.sendPublicStreamSEIMessage(streamIndex, channelId, msg, repeatCount, mode);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.sendPublicStreamSEIMessage(streamIndex, channelId, msg, repeatCount, mode);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVideoDigitalZoomConfig", (arguments, result) -> {
+            ZoomConfigType type = ZoomConfigType.fromId(arguments.optInt("type"));
+            float size = arguments.optFloat("size");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVideoDigitalZoomConfig(type, size);
+            result.success(retValue);
+        });
 
-                case "setVideoDigitalZoomConfig": {
-                    ZoomConfigType type = ZoomConfigType.fromId(arguments.optInt("type"));
-                    float size = arguments.optFloat("size");
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVideoDigitalZoomConfig(type, size);
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVideoDigitalZoomControl", (arguments, result) -> {
+            ZoomDirectionType direction = ZoomDirectionType.fromId(arguments.optInt("direction"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVideoDigitalZoomControl(direction);
+            result.success(retValue);
+        });
 
-                case "setVideoDigitalZoomControl": {
-                    ZoomDirectionType direction = ZoomDirectionType.fromId(arguments.optInt("direction"));
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVideoDigitalZoomControl(direction);
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("startVideoDigitalZoomControl", (arguments, result) -> {
+            ZoomDirectionType direction = ZoomDirectionType.fromId(arguments.optInt("direction"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startVideoDigitalZoomControl(direction);
+            result.success(retValue);
+        });
 
-                case "startVideoDigitalZoomControl": {
-                    ZoomDirectionType direction = ZoomDirectionType.fromId(arguments.optInt("direction"));
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startVideoDigitalZoomControl(direction);
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("stopVideoDigitalZoomControl", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopVideoDigitalZoomControl();
+            result.success(retValue);
+        });
 
-                case "stopVideoDigitalZoomControl": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopVideoDigitalZoomControl();
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setAudioRoute", (arguments, result) -> {
+            AudioRoute audioRouteDevice = AudioRoute.fromId(arguments.optInt("audioRoute"));
 
-                case "setAudioRoute": {
-                    AudioRoute audioRouteDevice = AudioRoute.fromId(arguments.optInt("audioRoute"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setAudioRoute(audioRouteDevice);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setAudioRoute(audioRouteDevice);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setDefaultAudioRoute", (arguments, result) -> {
+            AudioRoute audioRouteDevice = AudioRoute.fromId(arguments.optInt("audioRoute"));
 
-                case "setDefaultAudioRoute": {
-                    AudioRoute audioRouteDevice = AudioRoute.fromId(arguments.optInt("audioRoute"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setDefaultAudioRoute(audioRouteDevice);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setDefaultAudioRoute(audioRouteDevice);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("getAudioRoute", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.getAudioRoute().value();
 
-                case "getAudioRoute": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.getAudioRoute().value();
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("enableExternalSoundCard", (arguments, result) -> {
+            final boolean enabled = arguments.optBoolean("enable");
 
-                case "enableExternalSoundCard": {
-                    final boolean enabled = arguments.optBoolean("enable");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.enableExternalSoundCard(enabled);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.enableExternalSoundCard(enabled);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("startLiveTranscoding", (arguments, result) -> {
+            String taskId = arguments.optString("taskId");
+            LiveTranscoding liveTranscoding = RTCType.toLiveTranscoding(arguments.optBox("transcoding"));
 
-                case "startLiveTranscoding": {
-                    String taskId = arguments.optString("taskId");
-                    LiveTranscoding liveTranscoding = RTCType.toLiveTranscoding(arguments.optBox("transcoding"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startLiveTranscoding(taskId, liveTranscoding, liveTranscodingEventProxy);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startLiveTranscoding(taskId, liveTranscoding, liveTranscodingEventProxy);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("stopLiveTranscoding", (arguments, result) -> {
+            String taskId = arguments.optString("taskId");
 
-                case "stopLiveTranscoding": {
-                    String taskId = arguments.optString("taskId");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopLiveTranscoding(taskId);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopLiveTranscoding(taskId);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("updateLiveTranscoding", (arguments, result) -> {
+            String taskId = arguments.optString("taskId");
+            LiveTranscoding liveTranscoding = RTCType.toLiveTranscoding(arguments.optBox("transcoding"));
 
-                case "updateLiveTranscoding": {
-                    String taskId = arguments.optString("taskId");
-                    LiveTranscoding liveTranscoding = RTCType.toLiveTranscoding(arguments.optBox("transcoding"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.updateLiveTranscoding(taskId, liveTranscoding);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.updateLiveTranscoding(taskId, liveTranscoding);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
 
+        registry.register("startPushPublicStream", (arguments, result) -> {
+            String publicStreamId = arguments.optString("publicStreamId");
+            PublicStreaming publicStreamParam = RTCType.toPublicStreaming(arguments.optBox("publicStreamParam"));
+            publicStreamParam.setAction(PublicStreaming.ACTION_START);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startPushPublicStream(publicStreamId, publicStreamParam);
 
-                case "startPushPublicStream": {
-                    String publicStreamId = arguments.optString("publicStreamId");
-                    PublicStreaming publicStreamParam = RTCType.toPublicStreaming(arguments.optBox("publicStreamParam"));
-                    publicStreamParam.setAction(PublicStreaming.ACTION_START);
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startPushPublicStream(publicStreamId, publicStreamParam);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("stopPushPublicStream", (arguments, result) -> {
+            String publicStreamId = arguments.optString("publicStreamId");
 
-                case "stopPushPublicStream": {
-                    String publicStreamId = arguments.optString("publicStreamId");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopPushPublicStream(publicStreamId);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopPushPublicStream(publicStreamId);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("updatePublicStreamParam", (arguments, result) -> {
+            String publicStreamId = arguments.optString("publicStreamId");
+            PublicStreaming publicStreamParam = RTCType.toPublicStreaming(arguments.optBox("publicStreamParam"));
+            publicStreamParam.setAction(PublicStreaming.ACTION_CHANGED);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.updatePublicStreamParam(publicStreamId, publicStreamParam);
 
-                case "updatePublicStreamParam": {
-                    String publicStreamId = arguments.optString("publicStreamId");
-                    PublicStreaming publicStreamParam = RTCType.toPublicStreaming(arguments.optBox("publicStreamParam"));
-                    publicStreamParam.setAction(PublicStreaming.ACTION_CHANGED);
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.updatePublicStreamParam(publicStreamId, publicStreamParam);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("startPlayPublicStream", (arguments, result) -> {
+            String publicStreamId = arguments.optString("publicStreamId");
 
-                case "startPlayPublicStream": {
-                    String publicStreamId = arguments.optString("publicStreamId");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startPlayPublicStream(publicStreamId);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startPlayPublicStream(publicStreamId);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("stopPlayPublicStream", (arguments, result) -> {
+            String publicStreamId = arguments.optString("publicStreamId");
 
-                case "stopPlayPublicStream": {
-                    String publicStreamId = arguments.optString("publicStreamId");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopPlayPublicStream(publicStreamId);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopPlayPublicStream(publicStreamId);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("removePublicStreamVideo", (arguments, result) -> { // Support Dart removePublicStreamVideo
+            String publicStreamId = arguments.optString("publicStreamId");
+            VideoCanvas videoCanvas = new VideoCanvas(); // Use a blank Canvas as Remove
 
-                case "removePublicStreamVideo": { // Support Dart removePublicStreamVideo
-                    String publicStreamId = arguments.optString("publicStreamId");
-                    VideoCanvas videoCanvas = new VideoCanvas(); // Use a blank Canvas as Remove
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setPublicStreamVideoCanvas(publicStreamId, videoCanvas);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setPublicStreamVideoCanvas(publicStreamId, videoCanvas);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setPublicStreamAudioPlaybackVolume", (arguments, result) -> {
+            String publicStreamId = arguments.optString("publicStreamId");
+            int volume = arguments.optInt("volume");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setPublicStreamAudioPlaybackVolume(publicStreamId, volume);
 
-                case "setPublicStreamAudioPlaybackVolume": {
-                    String publicStreamId = arguments.optString("publicStreamId");
-                    int volume = arguments.optInt("volume");
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setPublicStreamAudioPlaybackVolume(publicStreamId, volume);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setBusinessId", (arguments, result) -> {
+            String businessId = arguments.optString("businessId");
 
-                case "setBusinessId": {
-                    String businessId = arguments.optString("businessId");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setBusinessId(businessId);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setBusinessId(businessId);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("feedback", (arguments, result) -> {
+            List<ProblemFeedbackOption> types = RTCType.toFeedBackList(arguments.getList("types"));
+            ProblemFeedbackInfo info = RTCType.toFeedbackInfo(arguments.optBox("info"));
 
-                case "feedback": {
-                    List<ProblemFeedbackOption> types = RTCType.toFeedBackList(arguments.getList("types"));
-                    ProblemFeedbackInfo info = RTCType.toFeedbackInfo(arguments.optBox("info"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.feedback(types, info);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.feedback(types, info);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setPublishFallbackOption", (arguments, result) -> {
+            PublishFallbackOption option = RTCType.toPublishFallbackOption(arguments.optInt("option"));
 
-                case "setPublishFallbackOption": {
-                    PublishFallbackOption option = RTCType.toPublishFallbackOption(arguments.optInt("option"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setPublishFallbackOption(option);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setPublishFallbackOption(option);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setSubscribeFallbackOption", (arguments, result) -> {
+            SubscribeFallbackOptions options = RTCType.toSubscribeFallbackOptions(arguments.optInt("option"));
 
-                case "setSubscribeFallbackOption": {
-                    SubscribeFallbackOptions options = RTCType.toSubscribeFallbackOptions(arguments.optInt("option"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setSubscribeFallbackOption(options);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setSubscribeFallbackOption(options);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setRemoteUserPriority", (arguments, result) -> {
+            String roomId = arguments.optString("roomId");
+            String uid = arguments.optString("uid");
+            RemoteUserPriority priority = RTCType.toRemoteUserPriority(arguments.optInt("priority"));
 
-                case "setRemoteUserPriority": {
-                    String roomId = arguments.optString("roomId");
-                    String uid = arguments.optString("uid");
-                    RemoteUserPriority priority = RTCType.toRemoteUserPriority(arguments.optInt("priority"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setRemoteUserPriority(roomId, uid, priority);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setRemoteUserPriority(roomId, uid, priority);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setEncryptInfo", (arguments, result) -> {
+            int aesType = arguments.optInt("aesType");
+            String key = arguments.optString("key");
 
-                case "setEncryptInfo": {
-                    int aesType = arguments.optInt("aesType");
-                    String key = arguments.optString("key");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setEncryptInfo(aesType, key);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setEncryptInfo(aesType, key);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("createRTCRoom", (arguments, result) -> {
+            int insId = arguments.optInt("roomInsId");
+            String roomId = arguments.optString("roomId");
+            RTCRoomPlugin warmPlugin = warmRoomPool.take(roomId, insId);
+            if (warmPlugin != null) {
+                roomPlugins.put(insId, warmPlugin);
+                result.success(true);
+                return;
+            }
+            RTCRoom rtcRoom = RTCVideoManager.createRoom(insId, roomId);
+            if (rtcRoom == null) {
+                result.success(false);
+            } else {
+                final long start = System.nanoTime();
+                RTCRoomPlugin plugin = new RTCRoomPlugin(insId, rtcRoom);
+                plugin.onAttachedToEngine(binding);
+                roomPlugins.put(insId, plugin);
+                MethodMetrics.recordStartup("attachRTCRoomPlugin", start);
+
+                result.success(true);
+            }
+        });
+
+        registry.register("preCreateRTCRooms", (arguments, result) -> {
+            List<Map<String, Object>> rooms = arguments.getList("rooms");
+            int maxRooms = arguments.optInt("maxRooms", 3);
+            long ttlMs = arguments.optInt("expireSeconds", 60) * 1000L;
+            // Runs on the background call thread, the channels are registered right after on the main thread
+            List<WarmRoomPool.CreatedRoom> created = warmRoomPool.create(rooms);
+            MethodCallDispatcher.runNext(true, result, reply ->
+                    reply.success(warmRoomPool.attach(binding, rooms, created, maxRooms, ttlMs)));
+        });
+
+        registry.register("clearPreCreatedRTCRooms", (arguments, result) -> {
+            warmRoomPool.clear();
+            result.success(null);
+        });
+
+        registry.register("destroyRTCRoom", (arguments, result) -> {
+            int insId = arguments.optInt("insId");
+            RTCRoomPlugin plugin = roomPlugins.remove(insId);
+            if (plugin != null) {
+                plugin.onDetachedFromEngine(binding);
+            }
+            result.success(null);
+        });
 
-                case "createRTCRoom": {
-                    int insId = arguments.optInt("roomInsId");
-                    String roomId = arguments.optString("roomId");
-                    RTCRoom rtcRoom = RTCVideoManager.createRoom(insId, roomId);
-                    if (rtcRoom == null) {
-                        result.success(false);
-                    } else {
-                        RTCRoomPlugin plugin = new RTCRoomPlugin(insId, rtcRoom);
-                        plugin.onAttachedToEngine(binding);
-                        roomPlugins.put(insId, plugin);
-
-                        result.success(true);
-                    }
-                    break;
-                }
+        registry.register("startScreenCapture", (arguments, result) -> {
+            ScreenMediaType type = ScreenMediaType.fromId(arguments.optInt("type"));
 
-                case "destroyRTCRoom": {
-                    int insId = arguments.optInt("insId");
-                    RTCRoomPlugin plugin = roomPlugins.remove(insId);
-                    if (plugin != null) {
-                        plugin.onDetachedFromEngine(binding);
-                    }
-                    result.success(null);
-                    break;
-                }
+            Context applicationContext = binding.getApplicationContext();
+            boolean retValue = LaunchHelper.requestScreenCapture(applicationContext, type);
 
-                case "startScreenCapture": {
-                    ScreenMediaType type = ScreenMediaType.fromId(arguments.optInt("type"));
+            result.success(retValue);
+        });
 
-                    Context applicationContext = binding.getApplicationContext();
-                    boolean retValue = LaunchHelper.requestScreenCapture(applicationContext, type);
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("updateScreenCapture", (arguments, result) -> {
+            ScreenMediaType type = ScreenMediaType.fromId(arguments.optInt("type"));
 
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.updateScreenCapture(type);
 
-                case "updateScreenCapture": {
-                    ScreenMediaType type = ScreenMediaType.fromId(arguments.optInt("type"));
+            result.success(retValue);
+        });
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.updateScreenCapture(type);
+        registry.register("stopScreenCapture", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopScreenCapture();
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "stopScreenCapture": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopScreenCapture();
+        registry.register("setRuntimeParameters", (arguments, result) -> {
+            JSONObject params = arguments.optJSONObject("params");
 
-                    result.success(retValue);
-                    break;
-                }
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setRuntimeParameters(params);
 
-                case "setRuntimeParameters": {
-                    JSONObject params = arguments.optJSONObject("params");
+            result.success(retValue);
+        });
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setRuntimeParameters(params);
+        registry.register("startASR", (arguments, result) -> {
+            RTCASRConfig asrConfig = RTCType.toRTCASRConfig(arguments.optBox("asrConfig"));
 
-                    result.success(retValue);
-                    break;
-                }
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startASR(asrConfig, asrEventHandler);
 
-                case "startASR": {
-                    RTCASRConfig asrConfig = RTCType.toRTCASRConfig(arguments.optBox("asrConfig"));
+            result.success(retValue);
+        });
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startASR(asrConfig, asrEventHandler);
+        registry.register("stopASR", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopASR();
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "stopASR": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopASR();
+        registry.register("startFileRecording", (arguments, result) -> {
+            StreamIndex type = StreamIndex.fromId(arguments.optInt("streamIndex"));
+            RecordingConfig config = RTCType.toRecordingConfig(arguments.optBox("config"));
 
-                    result.success(retValue);
-                    break;
-                }
+            RecordingType recordingType = RecordingType.fromId(arguments.optInt("recordingType"));
 
-                case "startFileRecording": {
-                    StreamIndex type = StreamIndex.fromId(arguments.optInt("streamIndex"));
-                    RecordingConfig config = RTCType.toRecordingConfig(arguments.optBox("config"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startFileRecording(type, config, recordingType);
 
-                    RecordingType recordingType = RecordingType.fromId(arguments.optInt("recordingType"));
+            result.success(retValue);
+        });
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startFileRecording(type, config, recordingType);
+        registry.register("stopFileRecording", (arguments, result) -> {
+            StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
 
-                    result.success(retValue);
-                    break;
-                }
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopFileRecording(streamIndex);
 
-                case "stopFileRecording": {
-                    StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
+            result.success(retValue);
+        });
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopFileRecording(streamIndex);
+        registry.register("startAudioRecording", (arguments, result) -> {
+            AudioRecordingConfig config = RTCType.toAudioRecordingConfig(arguments.optBox("config"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startAudioRecording(config);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("stopAudioRecording", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopAudioRecording();
+            result.success(retValue);
+        });
 
-                case "startAudioRecording": {
-                    AudioRecordingConfig config = RTCType.toAudioRecordingConfig(arguments.optBox("config"));
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startAudioRecording(config);
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("getAudioEffectPlayer", (arguments, result) -> {
+            if (flutterPlugins.get("AudioEffectPlayer") != null) {
+                result.success(true);
+                return;
+            }
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            IAudioEffectPlayer player = rtcVideo.getAudioEffectPlayer();
+            boolean retValue = player != null;
+            if (retValue) {
+                AudioEffectPlayerPlugin plugin = new AudioEffectPlayerPlugin(player);
+                plugin.onAttachedToEngine(binding);
+                flutterPlugins.put("AudioEffectPlayer", plugin);
+            }
+            result.success(retValue);
+        });
+
+        registry.register("getAudioMixingManager", (arguments, result) -> {
+            if (flutterPlugins.get("AudioMixing") == null) {
+                AudioMixingPlugin plugin = new AudioMixingPlugin();
+                plugin.onAttachedToEngine(binding);
+                flutterPlugins.put("AudioMixing", plugin);
+            }
+            result.success(true);
+        });
+
+        registry.register("getVideoEffectInterface", (arguments, result) -> {
+            if (flutterPlugins.get("VideoEffect") == null) {
+                VideoEffectPlugin plugin = new VideoEffectPlugin();
+                plugin.onAttachedToEngine(binding);
+                flutterPlugins.put("VideoEffect", plugin);
+            }
+            result.success(true);
+        });
+
+        registry.register("registerEventChannel", (arguments, result) -> {
+            result.success(registerEventChannel(arguments.optString("name")));
+        });
+
+        registry.register("getMediaPlayer", (arguments, result) -> {
+            int playerId = arguments.optInt("playerId");
+            String key = "MediaPlayer" + playerId;
+            if (flutterPlugins.get(key) != null) {
+                result.success(true);
+                return;
+            }
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            IMediaPlayer player = rtcVideo.getMediaPlayer(playerId);
+            boolean retValue = player != null;
+            if (retValue) {
+                MediaPlayerPlugin plugin = new MediaPlayerPlugin(player, playerId);
+                plugin.onAttachedToEngine(binding);
+                flutterPlugins.put(key, plugin);
+            }
+            result.success(retValue);
+        });
 
-                case "stopAudioRecording": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopAudioRecording();
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("login", (arguments, result) -> {
+            String token = arguments.optString("token");
+            String uid = arguments.optString("uid");
 
-                case "getAudioEffectPlayer": {
-                    if (flutterPlugins.get("AudioEffectPlayer") != null) {
-                        result.success(true);
-                        break;
-                    }
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    IAudioEffectPlayer player = rtcVideo.getAudioEffectPlayer();
-                    boolean retValue = player != null;
-                    if (retValue) {
-                        AudioEffectPlayerPlugin plugin = new AudioEffectPlayerPlugin(player);
-                        plugin.onAttachedToEngine(binding);
-                        flutterPlugins.put("AudioEffectPlayer", plugin);
-                    }
-                    result.success(retValue);
-                    break;
-                }
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            long retValue = rtcVideo.login(token, uid);
 
-                case "getMediaPlayer": {
-                    int playerId = arguments.optInt("playerId");
-                    String key = "MediaPlayer" + playerId;
-                    if (flutterPlugins.get(key) != null) {
-                        result.success(true);
-                        break;
-                    }
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    IMediaPlayer player = rtcVideo.getMediaPlayer(playerId);
-                    boolean retValue = player != null;
-                    if (retValue) {
-                        MediaPlayerPlugin plugin = new MediaPlayerPlugin(player, playerId);
-                        plugin.onAttachedToEngine(binding);
-                        flutterPlugins.put(key, plugin);
-                    }
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "login": {
-                    String token = arguments.optString("token");
-                    String uid = arguments.optString("uid");
+        registry.register("logout", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.logout();
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    long retValue = rtcVideo.login(token, uid);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
 
-                case "logout": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.logout();
+        registry.register("updateLoginToken", (arguments, result) -> {
+            String token = arguments.optString("token");
 
-                    result.success(retValue);
-                    break;
-                }
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.updateLoginToken(token);
 
+            result.success(retValue);
+        });
 
-                case "updateLoginToken": {
-                    String token = arguments.optString("token");
+        registry.register("setServerParams", (arguments, result) -> {
+            String signature = arguments.optString("signature");
+            String url = arguments.optString("url");
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.updateLoginToken(token);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setServerParams(signature, url);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "setServerParams": {
-                    String signature = arguments.optString("signature");
-                    String url = arguments.optString("url");
+        registry.register("getPeerOnlineStatus", (arguments, result) -> {
+            String peerUserId = arguments.optString("peerUid");
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setServerParams(signature, url);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.getPeerOnlineStatus(peerUserId);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "getPeerOnlineStatus": {
-                    String peerUserId = arguments.optString("peerUid");
+        registry.register("sendUserMessageOutsideRoom", (arguments, result) -> {
+            String uid = arguments.optString("uid");
+            String message = arguments.optString("message");
+            MessageConfig config = MessageConfig.fromId(arguments.optInt("config"));
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.getPeerOnlineStatus(peerUserId);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            long retValue = rtcVideo.sendUserMessageOutsideRoom(uid, message, config);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "sendUserMessageOutsideRoom": {
-                    String uid = arguments.optString("uid");
-                    String message = arguments.optString("message");
-                    MessageConfig config = MessageConfig.fromId(arguments.optInt("config"));
+        registry.register("sendUserBinaryMessageOutsideRoom", (arguments, result) -> {
+            String uid = arguments.optString("uid");
+            byte[] messages = arguments.optBytes("message");
+            MessageConfig config = MessageConfig.fromId(arguments.optInt("config"));
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    long retValue = rtcVideo.sendUserMessageOutsideRoom(uid, message, config);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            long retValue = rtcVideo.sendUserBinaryMessageOutsideRoom(uid, messages, config);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "sendUserBinaryMessageOutsideRoom": {
-                    String uid = arguments.optString("uid");
-                    byte[] messages = arguments.optBytes("message");
-                    MessageConfig config = MessageConfig.fromId(arguments.optInt("config"));
+        registry.register("sendServerMessage", (arguments, result) -> {
+            String message = arguments.optString("message");
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    long retValue = rtcVideo.sendUserBinaryMessageOutsideRoom(uid, messages, config);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            long retValue = rtcVideo.sendServerMessage(message);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "sendServerMessage": {
-                    String message = arguments.optString("message");
+        registry.register("sendServerBinaryMessage", (arguments, result) -> {
+            byte[] messages = arguments.optBytes("message");
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    long retValue = rtcVideo.sendServerMessage(message);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            long retValue = rtcVideo.sendServerBinaryMessage(messages);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "sendServerBinaryMessage": {
-                    byte[] messages = arguments.optBytes("message");
+        registry.register("startNetworkDetection", (arguments, result) -> {
+            boolean isTestUplink = arguments.optBoolean("isTestUplink");
+            int expectedUplinkBitrate = arguments.optInt("expectedUplinkBitrate");
+            boolean isTestDownlink = arguments.optBoolean("isTestDownlink");
+            int expectedDownlinkBitrate = arguments.optInt("expectedDownlinkBitrate");
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    long retValue = rtcVideo.sendServerBinaryMessage(messages);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue =  rtcVideo.startNetworkDetection(isTestUplink, expectedUplinkBitrate, isTestDownlink, expectedDownlinkBitrate);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "startNetworkDetection": {
-                    boolean isTestUplink = arguments.optBoolean("isTestUplink");
-                    int expectedUplinkBitrate = arguments.optInt("expectedUplinkBitrate");
-                    boolean isTestDownlink = arguments.optBoolean("isTestDownlink");
-                    int expectedDownlinkBitrate = arguments.optInt("expectedDownlinkBitrate");
+        registry.register("stopNetworkDetection", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopNetworkDetection();
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue =  rtcVideo.startNetworkDetection(isTestUplink, expectedUplinkBitrate, isTestDownlink, expectedDownlinkBitrate);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setScreenAudioStreamIndex", (arguments, result) -> {
+            StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
 
-                case "stopNetworkDetection": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopNetworkDetection();
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setScreenAudioStreamIndex(streamIndex);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "setScreenAudioStreamIndex": {
-                    StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
+        registry.register("sendStreamSyncInfo", (arguments, result) -> {
+            byte[] data = arguments.optBytes("data");
+            StreamSycnInfoConfig config = RTCType.toStreamSyncInfoConfig(arguments.optBox("config"));
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setScreenAudioStreamIndex(streamIndex);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.sendStreamSyncInfo(data, config);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "sendStreamSyncInfo": {
-                    byte[] data = arguments.optBytes("data");
-                    StreamSycnInfoConfig config = RTCType.toStreamSyncInfoConfig(arguments.optBox("config"));
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.sendStreamSyncInfo(data, config);
+        registry.register("muteAudioPlayback", (arguments, result) -> {
+            MuteState muteState = MuteState.fromId(arguments.optInt("muteState"));
 
-                    result.success(retValue);
-                    break;
-                }
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.muteAudioPlayback(muteState);
 
+            result.success(retValue);
+        });
 
-                case "muteAudioPlayback": {
-                    MuteState muteState = MuteState.fromId(arguments.optInt("muteState"));
+        registry.register("setVideoWatermark", (arguments, result) -> {
+            StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
+            String imagePath = arguments.optString("imagePath");
+            RTCWatermarkConfig watermarkConfig = RTCType.toRTCWatermarkConfig(arguments.optBox("watermarkConfig"));
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.muteAudioPlayback(muteState);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setVideoWatermark(streamIndex, imagePath, watermarkConfig);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "setVideoWatermark": {
-                    StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
-                    String imagePath = arguments.optString("imagePath");
-                    RTCWatermarkConfig watermarkConfig = RTCType.toRTCWatermarkConfig(arguments.optBox("watermarkConfig"));
+        registry.register("clearVideoWatermark", (arguments, result) -> {
+            StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setVideoWatermark(streamIndex, imagePath, watermarkConfig);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.clearVideoWatermark(streamIndex);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "clearVideoWatermark": {
-                    StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
+        registry.register("startCloudProxy", (arguments, result) -> {
+            List<CloudProxyInfo> cloudProxiesInfo = RTCType.toCloudProxyInfoList(arguments.opt("cloudProxiesInfo", Collections.emptyList(), List.class));
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.clearVideoWatermark(streamIndex);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startCloudProxy(cloudProxiesInfo);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "startCloudProxy": {
-                    List<CloudProxyInfo> cloudProxiesInfo = RTCType.toCloudProxyInfoList(arguments.opt("cloudProxiesInfo", Collections.emptyList(), List.class));
+        registry.register("stopCloudProxy", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopCloudProxy();
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startCloudProxy(cloudProxiesInfo);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("startEchoTest", (arguments, result) -> {
+            EchoTestConfig config = RTCType.toEchoTestConfig(arguments.optBox("config"));
+            config.view = EchoTestViewHolder.getRenderView();
+            int delayTime = arguments.optInt("delayTime");
 
-                case "stopCloudProxy": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopCloudProxy();
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startEchoTest(config, delayTime);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "startEchoTest": {
-                    EchoTestConfig config = RTCType.toEchoTestConfig(arguments.optBox("config"));
-                    config.view = EchoTestViewHolder.getRenderView();
-                    int delayTime = arguments.optInt("delayTime");
+        registry.register("stopEchoTest", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopEchoTest();
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startEchoTest(config, delayTime);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVideoOrientation", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            VideoOrientation orientation = VideoOrientation.fromId(arguments.optInt("orientation"));
+            int retValue = rtcVideo.setVideoOrientation(orientation);
 
-                case "stopEchoTest": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopEchoTest();
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setVideoCaptureRotation", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            VideoRotation rotation = VideoRotation.fromId(arguments.optInt("rotation"));
+            int retValue = rtcVideo.setVideoCaptureRotation(rotation);
 
-                case "setVideoOrientation": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    VideoOrientation orientation = VideoOrientation.fromId(arguments.optInt("orientation"));
-                    int retValue = rtcVideo.setVideoOrientation(orientation);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("startPushMixedStreamToCDN", (arguments, result) -> {
+            String taskId = arguments.optString("taskId");
+            MixedStreamConfig mixedConfig = RTCType.toMixedStreamConfig(arguments.optBox("mixedConfig"));
 
-                case "setVideoCaptureRotation": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    VideoRotation rotation = VideoRotation.fromId(arguments.optInt("rotation"));
-                    int retValue = rtcVideo.setVideoCaptureRotation(rotation);
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startPushMixedStreamToCDN(taskId, mixedConfig, mixedStreamProxy);
 
-                    result.success(retValue);
-                    break;
-                }
+            result.success(retValue);
+        });
 
-                case "startPushMixedStreamToCDN": {
-                    String taskId = arguments.optString("taskId");
-                    MixedStreamConfig mixedConfig = RTCType.toMixedStreamConfig(arguments.optBox("mixedConfig"));
+        registry.register("setClientMixedStreamConfig", (arguments, result) -> {
+            int retValue = mixedStreamProxy.setClientPushConfig(arguments.optBox("config"));
+            result.success(retValue);
+        });
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startPushMixedStreamToCDN(taskId, mixedConfig, mixedStreamProxy);
+        registry.register("getClientMixedStreamStats", (arguments, result) -> {
+            result.success(mixedStreamProxy.getClientPushStats());
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("updatePushMixedStreamToCDN", (arguments, result) -> {
+            String taskId = arguments.optString("taskId");
+            MixedStreamConfig mixedConfig = RTCType.toMixedStreamConfig(arguments.optBox("mixedConfig"));
 
-                case "updatePushMixedStreamToCDN": {
-                    String taskId = arguments.optString("taskId");
-                    MixedStreamConfig mixedConfig = RTCType.toMixedStreamConfig(arguments.optBox("mixedConfig"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.updatePushMixedStreamToCDN(taskId, mixedConfig);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.updatePushMixedStreamToCDN(taskId, mixedConfig);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("startPushSingleStreamToCDN", (arguments, result) -> {
+            String taskId = arguments.optString("taskId");
+            PushSingleStreamParam param = RTCType.toPushSingleStreamParam(arguments.optBox("param"));
 
-                case "startPushSingleStreamToCDN": {
-                    String taskId = arguments.optString("taskId");
-                    PushSingleStreamParam param = RTCType.toPushSingleStreamParam(arguments.optBox("param"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startPushSingleStreamToCDN(taskId, param, pushSingleStreamToCDNProxy);
 
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startPushSingleStreamToCDN(taskId, param, pushSingleStreamToCDNProxy);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("stopPushStreamToCDN", (arguments, result) -> {
+            String taskId = arguments.optString("taskId");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
 
-                case "stopPushStreamToCDN": {
-                    String taskId = arguments.optString("taskId");
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopPushStreamToCDN(taskId);
 
-                    int retValue = rtcVideo.stopPushStreamToCDN(taskId);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("setDummyCaptureImagePath", (arguments, result) -> {
+            String filePath = arguments.optString("filePath");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setDummyCaptureImagePath(filePath);
 
-                case "setDummyCaptureImagePath": {
-                    String filePath = arguments.optString("filePath");
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setDummyCaptureImagePath(filePath);
+            result.success(retValue);
+        });
 
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("takeLocalSnapshot", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
+            String filePath = arguments.optString("filePath");
+            SnapshotResultCallbackProxy.Options options = SnapshotResultCallbackProxy.Options.from(arguments.optBox("config"));
+            long taskId = rtcVideo.takeLocalSnapshot(streamIndex, snapshotResultCallbackProxy.createCallback(filePath, options));
 
-                case "takeLocalSnapshot": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    StreamIndex streamIndex = StreamIndex.fromId(arguments.optInt("streamIndex"));
-                    String filePath = arguments.optString("filePath");
-                    long taskId = rtcVideo.takeLocalSnapshot(streamIndex, snapshotResultCallbackProxy.createCallback(filePath));
+            result.success(taskId);
+        });
 
-                    result.success(taskId);
-                    break;
-                }
+        registry.register("takeRemoteSnapshot", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            RemoteStreamKey streamKey = RTCType.toRemoteStreamKey(arguments.optBox("streamKey"));
+            String filePath = arguments.optString("filePath");
+            SnapshotResultCallbackProxy.Options options = SnapshotResultCallbackProxy.Options.from(arguments.optBox("config"));
+            long taskId = rtcVideo.takeRemoteSnapshot(streamKey, snapshotResultCallbackProxy.createCallback(filePath, options));
 
-                case "takeRemoteSnapshot": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    RemoteStreamKey streamKey = RTCType.toRemoteStreamKey(arguments.optBox("streamKey"));
-                    String filePath = arguments.optString("filePath");
-                    long taskId = rtcVideo.takeRemoteSnapshot(streamKey, snapshotResultCallbackProxy.createCallback(filePath));
+            result.success(taskId);
+        });
+
+        registry.register("startSnapshotSampler", (arguments, result) -> {
+            int retValue = snapshotSampler.start(arguments.optBox("config"));
+            result.success(retValue);
+        });
 
-                    result.success(taskId);
-                    break;
-                }
+        registry.register("updateSnapshotSamplerStreams", (arguments, result) -> {
+            snapshotSampler.updateStreams(RTCType.toRemoteStreamKeyList(arguments.getList("streamKeys")));
+            result.success(0);
+        });
+
+        registry.register("stopSnapshotSampler", (arguments, result) -> {
+            snapshotSampler.stop();
+            result.success(0);
+        });
+
+        registry.register("startAudioFrameStream", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = audioFrameStreamer.start(rtcVideo, arguments.optBox("config"));
+            result.success(retValue);
+        });
 
-                case "getSingScoringManager": {
-                    if (flutterPlugins.get("SingScoring") != null) {
-                        result.success(true);
-                        break;
-                    }
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    ISingScoringManager manager = rtcVideo.getSingScoringManager();
-                    boolean retValue = manager != null;
-                    if (retValue) {
-                        SingScoringPlugin plugin = new SingScoringPlugin(manager);
-                        plugin.onAttachedToEngine(binding);
-                        flutterPlugins.put("SingScoring", plugin);
-                    }
-                    result.success(retValue);
-                    break;
-                }
+        registry.register("stopAudioFrameStream", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            audioFrameStreamer.stop(rtcVideo);
+            result.success(0);
+        });
+
+        registry.register("getSingScoringManager", (arguments, result) -> {
+            if (flutterPlugins.get("SingScoring") != null) {
+                result.success(true);
+                return;
+            }
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            ISingScoringManager manager = rtcVideo.getSingScoringManager();
+            boolean retValue = manager != null;
+            if (retValue) {
+                SingScoringPlugin plugin = new SingScoringPlugin(manager);
+                plugin.onAttachedToEngine(binding);
+                flutterPlugins.put("SingScoring", plugin);
+            }
+            result.success(retValue);
+        });
+
+        registry.register("getNetworkTimeInfo", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            NetworkTimeInfo info = rtcVideo.getNetworkTimeInfo();
+            if (info == null) {
+                result.success(null);
+                return;
+            }
+            final HashMap<String, Object> map = new HashMap<>();
+            map.put("timestamp", info.timestamp);
+            result.success(map);
+        });
+
+        registry.register("setAudioAlignmentProperty", (arguments, result) -> {
+            RemoteStreamKey streamKey = RTCType.toRemoteStreamKey(arguments.optBox("streamKey"));
+            AudioAlignmentMode mode = AudioAlignmentMode.fromId(arguments.optInt("mode"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setAudioAlignmentProperty(streamKey, mode);
+            result.success(retValue);
+        });
+
+        registry.register("invokeExperimentalAPI", (arguments, result) -> {
+            String param = arguments.optString("param");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.invokeExperimentalAPI(param);
+            result.success(retValue);
+        });
+
+        registry.register("getKTVManager", (arguments, result) -> {
+            if (flutterPlugins.get("KTVManager") != null) {
+                result.success(true);
+                return;
+            }
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            IKTVManager manager = rtcVideo.getKTVManager();
+            boolean retValue = manager != null;
+            if (retValue) {
+                KTVManagerPlugin plugin = new KTVManagerPlugin(manager);
+                plugin.onAttachedToEngine(binding);
+                flutterPlugins.put("KTVManager", plugin);
+            }
+            result.success(retValue);
+        });
+
+        registry.register("startHardwareEchoDetection", (arguments, result) -> {
+            String testAudioFilePath = arguments.optString("testAudioFilePath");
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.startHardwareEchoDetection(testAudioFilePath);
+            result.success(retValue);
+        });
+
+        registry.register("stopHardwareEchoDetection", (arguments, result) -> {
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.stopHardwareEchoDetection();
+            result.success(retValue);
+        });
+
+        registry.register("setCellularEnhancement", (arguments, result) -> {
+            MediaTypeEnhancementConfig config = RTCType.toMediaTypeEnhancementConfig(arguments.optBox("config"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setCellularEnhancement(config);
+            result.success(retValue);
+        });
+
+        registry.register("setLocalProxy", (arguments, result) -> {
+            List<LocalProxyConfiguration> configurations = RTCType.toLocalProxyConfigurations(arguments.getList("configurations"));
+            RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            int retValue = rtcVideo.setLocalProxy(configurations);
+            result.success(retValue);
+        });
+// endregion
+// region Batch
+        registry.register("invokeBatch", (arguments, result) -> {
+            List<Object> calls = arguments.getList("calls");
+            invokeBatchItems(calls, 0, new BatchResult(calls.size(), result));
+        });
+// endregion
+    }
 
-                case "getNetworkTimeInfo": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    NetworkTimeInfo info = rtcVideo.getNetworkTimeInfo();
-                    if (info == null) {
-                        result.success(null);
-                        break;
-                    }
-                    final HashMap<String, Object> map = new HashMap<>();
-                    map.put("timestamp", info.timestamp);
-                    result.success(map);
-                    break;
-                }
+    /**
+     * Run the calls of a batch in order, starting at {@code from}.
+     * When a call must run on another thread, the rest of the batch continues there without blocking.
+     */
+    private void invokeBatchItems(@NonNull List<Object> calls, int from, @NonNull BatchResult batchResult) {
+        final boolean onMain = Looper.myLooper() == Looper.getMainLooper();
+        for (int i = from; i < calls.size(); i++) {
+            final RTCTypeBox item = new RTCTypeBox(calls.get(i), "invokeBatch");
+            if (!onMain && MAIN_THREAD_METHOD_SET.contains(item.optString("method"))) {
+                final int next = i;
+                MethodCallDispatcher.runNext(true, () -> invokeBatchMainItem(calls, next, batchResult));
+                return;
+            }
+            invokeBatchItem(item, batchResult.itemResult(i));
+        }
+    }
 
-                case "setAudioAlignmentProperty": {
-                    RemoteStreamKey streamKey = RTCType.toRemoteStreamKey(arguments.optBox("streamKey"));
-                    AudioAlignmentMode mode = AudioAlignmentMode.fromId(arguments.optInt("mode"));
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setAudioAlignmentProperty(streamKey, mode);
-                    result.success(retValue);
-                    break;
-                }
+    /**
+     * Run a main thread call of a batch, then continue with the rest of the batch in the background
+     */
+    private void invokeBatchMainItem(@NonNull List<Object> calls, int index, @NonNull BatchResult batchResult) {
+        invokeBatchItem(new RTCTypeBox(calls.get(index), "invokeBatch"), batchResult.itemResult(index));
+        if (index + 1 < calls.size()) {
+            MethodCallDispatcher.runNext(false, () -> invokeBatchItems(calls, index + 1, batchResult));
+        }
+    }
 
-                case "invokeExperimentalAPI": {
-                    String param = arguments.optString("param");
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.invokeExperimentalAPI(param);
-                    result.success(retValue);
-                    break;
-                }
+    /**
+     * Run one call of a batch through the handler registered on its channel
+     *
+     * @param item target: "video" or "room"; insId: room instance id; method; arguments
+     */
+    private void invokeBatchItem(@NonNull RTCTypeBox item, @NonNull MethodChannel.Result itemResult) {
+        final String method = item.optString("method");
+        final RTCTypeBox arguments = new RTCTypeBox(item.opt("arguments", null, Object.class), method);
+
+        final RTCMethodRegistry.Handler handler;
+        final MethodChannel.Result result;
+        if ("room".equals(item.optString("target"))) {
+            RTCRoomPlugin plugin = roomPlugins.get(item.optInt("insId"));
+            handler = plugin == null ? null : plugin.getMethodHandler(method);
+            result = MethodMetrics.wrap(ROOM_BATCH_METRICS, method, itemResult);
+        } else {
+            handler = "invokeBatch".equals(method) ? null : callHandler.get(method);
+            result = MethodMetrics.wrap(VIDEO_BATCH_METRICS, method, itemResult);
+        }
+        if (handler == null) {
+            result.notImplemented();
+            return;
+        }
 
-                case "getKTVManager": {
-                    if (flutterPlugins.get("KTVManager") != null) {
-                        result.success(true);
-                        break;
-                    }
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    IKTVManager manager = rtcVideo.getKTVManager();
-                    boolean retValue = manager != null;
-                    if (retValue) {
-                        KTVManagerPlugin plugin = new KTVManagerPlugin(manager);
-                        plugin.onAttachedToEngine(binding);
-                        flutterPlugins.put("KTVManager", plugin);
-                    }
-                    result.success(retValue);
-                    break;
-                }
+        try {
+            handler.handle(arguments, result);
+        } catch (RuntimeException e) {
+            Logger.e(getTAG(), "Batch call " + method + " failed: " + e);
+            result.error(e.getClass().getSimpleName(), e.getMessage(), null);
+        }
+    }
 
-                case "startHardwareEchoDetection": {
-                    String testAudioFilePath = arguments.optString("testAudioFilePath");
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.startHardwareEchoDetection(testAudioFilePath);
-                    result.success(retValue);
-                    break;
-                }
+    /**
+     * Collects the results of a batch in call order, and replies once all calls are done.
+     * Each item is a map with "value" on success, "errorCode", "errorMessage" and "errorDetails" on error,
+     * or "notImplemented" set to true.
+     */
+    private static final class BatchResult {
+        private final Object[] items;
+        private final MethodChannel.Result result;
+        private int remaining;
+
+        BatchResult(int size, @NonNull MethodChannel.Result result) {
+            this.items = new Object[size];
+            this.result = result;
+            this.remaining = size;
+            if (size == 0) {
+                result.success(new ArrayList<>());
+            }
+        }
 
-                case "stopHardwareEchoDetection": {
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.stopHardwareEchoDetection();
-                    result.success(retValue);
-                    break;
+        MethodChannel.Result itemResult(int index) {
+            return new MethodChannel.Result() {
+                @Override
+                public void success(@Nullable Object value) {
+                    final HashMap<String, Object> item = new HashMap<>();
+                    item.put("value", value);
+                    complete(index, item);
                 }
 
-                case "setCellularEnhancement": {
-                    MediaTypeEnhancementConfig config = RTCType.toMediaTypeEnhancementConfig(arguments.optBox("config"));
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setCellularEnhancement(config);
-                    result.success(retValue);
-                    break;
+                @Override
+                public void error(@NonNull String errorCode, @Nullable String errorMessage, @Nullable Object errorDetails) {
+                    final HashMap<String, Object> item = new HashMap<>();
+                    item.put("errorCode", errorCode);
+                    item.put("errorMessage", errorMessage);
+                    item.put("errorDetails", errorDetails);
+                    complete(index, item);
                 }
 
-                case "setLocalProxy": {
-                    List<LocalProxyConfiguration> configurations = RTCType.toLocalProxyConfigurations(arguments.getList("configurations"));
-                    RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
-                    int retValue = rtcVideo.setLocalProxy(configurations);
-                    result.success(retValue);
-                    break;
+                @Override
+                public void notImplemented() {
+                    final HashMap<String, Object> item = new HashMap<>();
+                    item.put("notImplemented", true);
+                    complete(index, item);
                 }
-// endregion
+            };
+        }
 
-                default:
-                    result.notImplemented();
-                    break;
+        private void complete(int index, @NonNull Object item) {
+            synchronized (this) {
+                if (items[index] != null) {
+                    return;
+                }
+                items[index] = item;
+                if (--remaining > 0) {
+                    return;
+                }
             }
+            result.success(new ArrayList<>(Arrays.asList(items)));
         }
-    };
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.video;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.ss.bytertc.engine.data.AudioPropertiesInfo;
+import com.ss.bytertc.engine.data.RemoteAudioPropertiesInfo;
+import com.ss.bytertc.engine.data.RemoteStreamKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Native side filter of onRemoteAudioPropertiesReport, shrinks every report to the active speakers.
+ * <p>
+ * A user is reported when its linear volume reaches {@link #minLinearVolume} and it is among the
+ * {@link #topN} loudest users. A user leaving the reported set is sent once more so that Dart sees
+ * the final value, or as silent when the SDK no longer reports it at all. With {@link #suppressUnchanged}, users whose values did not change since the last
+ * report are skipped.
+ * <p>
+ * Called from the SDK callback thread only.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+final class RemoteAudioPropertiesFilter {
+    static final RemoteAudioPropertiesFilter NONE = new RemoteAudioPropertiesFilter(0, 0, false);
+
+    private static final RemoteStreamKey[] NO_KEYS = new RemoteStreamKey[0];
+
+    private final int minLinearVolume;
+    private final int topN;
+    private final boolean suppressUnchanged;
+
+    /**
+     * Last reported users by stream
+     */
+    private final HashMap<String, Reported> lastReported = new HashMap<>();
+    private int lastTotalRemoteVolume = -1;
+
+    RemoteAudioPropertiesFilter(int minLinearVolume, int topN, boolean suppressUnchanged) {
+        this.minLinearVolume = minLinearVolume;
+        this.topN = topN;
+        this.suppressUnchanged = suppressUnchanged;
+    }
+
+    /**
+     * Reports of an enabled filter are deltas, each of them must be delivered
+     */
+    boolean isEnabled() {
+        return minLinearVolume > 0 || topN > 0 || suppressUnchanged;
+    }
+
+    /**
+     * @return the report to send, or null if the whole report can be skipped
+     */
+    @Nullable
+    Report apply(RemoteAudioPropertiesInfo[] infos, int totalRemoteVolume) {
+        if (!isEnabled() || infos == null) {
+            return infos == null ? null : new Report(infos, NO_KEYS);
+        }
+
+        RemoteAudioPropertiesInfo[] active = infos;
+        if (minLinearVolume > 0) {
+            int count = 0;
+            active = new RemoteAudioPropertiesInfo[infos.length];
+            for (RemoteAudioPropertiesInfo info : infos) {
+                if (info.audioPropertiesInfo.linearVolume >= minLinearVolume) {
+                    active[count++] = info;
+                }
+            }
+            active = Arrays.copyOf(active, count);
+        }
+        if (topN > 0 && active.length > topN) {
+            if (active == infos) {
+                active = infos.clone();
+            }
+            Arrays.sort(active, (a, b) -> Integer.compare(b.audioPropertiesInfo.linearVolume, a.audioPropertiesInfo.linearVolume));
+            active = Arrays.copyOf(active, topN);
+        }
+
+        final HashMap<String, RemoteAudioPropertiesInfo> activeByKey = new HashMap<>(active.length * 2);
+        for (RemoteAudioPropertiesInfo info : active) {
+            activeByKey.put(keyOf(info.streamKey), info);
+        }
+
+        final ArrayList<RemoteAudioPropertiesInfo> result = new ArrayList<>(active.length);
+        for (RemoteAudioPropertiesInfo info : active) {
+            final String key = keyOf(info.streamKey);
+            final double[] values = valuesOf(info.audioPropertiesInfo);
+            final Reported last = lastReported.put(key, new Reported(info.streamKey, values));
+            if (!suppressUnchanged || last == null || !Arrays.equals(last.values, values)) {
+                result.add(info);
+            }
+        }
+
+        // Users leaving the reported set, send their current value once, or silence if they are gone
+        final ArrayList<RemoteStreamKey> silenced = new ArrayList<>();
+        final Iterator<Map.Entry<String, Reported>> iterator = lastReported.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Reported> entry = iterator.next();
+            final String key = entry.getKey();
+            if (activeByKey.containsKey(key)) {
+                continue;
+            }
+            iterator.remove();
+            RemoteAudioPropertiesInfo current = null;
+            for (RemoteAudioPropertiesInfo info : infos) {
+                if (key.equals(keyOf(info.streamKey))) {
+                    current = info;
+                    break;
+                }
+            }
+            if (current != null) {
+                result.add(current);
+            } else {
+                silenced.add(entry.getValue().streamKey);
+            }
+        }
+
+        if (result.isEmpty() && silenced.isEmpty() && suppressUnchanged && totalRemoteVolume == lastTotalRemoteVolume) {
+            return null;
+        }
+        lastTotalRemoteVolume = totalRemoteVolume;
+        return new Report(result.toArray(new RemoteAudioPropertiesInfo[0]), silenced.toArray(NO_KEYS));
+    }
+
+    private static String keyOf(RemoteStreamKey key) {
+        return key.getRoomId() + "|" + key.getUserId() + "|" + key.getStreamIndex().value();
+    }
+
+    private static double[] valuesOf(AudioPropertiesInfo info) {
+        return new double[]{info.linearVolume, info.nonlinearVolume, info.vad, info.voicePitch};
+    }
+
+    static final class Report {
+        /**
+         * Users to report with their current values
+         */
+        final RemoteAudioPropertiesInfo[] infos;
+        /**
+         * Users which left the reported set and are no longer reported by the SDK, to be sent as silent
+         */
+        final RemoteStreamKey[] silenced;
+
+        Report(RemoteAudioPropertiesInfo[] infos, RemoteStreamKey[] silenced) {
+            this.infos = infos;
+            this.silenced = silenced;
+        }
+    }
+
+    private static final class Reported {
+        final RemoteStreamKey streamKey;
+        /**
+         * {linearVolume, nonlinearVolume, vad, voicePitch}
+         */
+        final double[] values;
+
+        Reported(RemoteStreamKey streamKey, double[] values) {
+            this.streamKey = streamKey;
+            this.values = values;
+        }
+    }
+}
@@ -31,6 +31,6 @@ public class SingScoringEventProxy implements ISingScoringEventHandler {
         if (info != null) {
             map.put("info", RTCMap.from(info));
         }
-        emitter.emit("onCurrentScoringInfo", map);
+        emitter.emitDroppable("onCurrentScoringInfo", map);
     }
 }
@@ -13,6 +13,7 @@ import com.ss.bytertc.engine.data.SingScoringConfig;
 import com.ss.bytertc.engine.data.StandardPitchInfo;
 import com.ss.bytertc.engine.flutter.BuildConfig;
 import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.MethodCallDispatcher;
 import com.ss.bytertc.engine.flutter.base.RTCMap;
 import com.ss.bytertc.engine.flutter.base.RTCType;
 import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
@@ -37,7 +38,7 @@ public class SingScoringPlugin extends RTCFlutterPlugin {
         super.onAttachedToEngine(binding);
 
         channel = new MethodChannel(binding.getBinaryMessenger(), "com.bytedance.ve_rtc_sing_scoring_manager");
-        channel.setMethodCallHandler(methodCallHandler);
+        channel.setMethodCallHandler(new MethodCallDispatcher(getTAG(), methodCallHandler));
         mSingScoringEventProxy.registerEvent(binding.getBinaryMessenger());
     }
 
@@ -6,20 +6,52 @@
 package com.ss.bytertc.engine.flutter.video;
 
 import android.graphics.Bitmap;
+import android.os.Build;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import com.ss.bytertc.engine.data.RemoteStreamKey;
 import com.ss.bytertc.engine.data.StreamIndex;
 import com.ss.bytertc.engine.flutter.base.RTCMap;
+import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.event.EventEmitter;
 import com.ss.bytertc.engine.video.ISnapshotResultCallback;
 import io.flutter.plugin.common.BinaryMessenger;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class SnapshotResultCallbackProxy {
     public static final int ERROR_WRITE_FILE_FAILED = -102;
     public static final int ERROR_IMAGE_FORMAT = -103;
+
+    public static final int FORMAT_JPEG = 0;
+    public static final int FORMAT_PNG = 1;
+    public static final int FORMAT_WEBP_LOSSY = 2;
+
+    public static final int OUTPUT_FILE = 0;
+    public static final int OUTPUT_ENCODED = 1;
+    public static final int OUTPUT_RGBA = 2;
+
+    /**
+     * Default cap of in-memory results, larger results are written to the file path instead
+     */
+    private static final int DEFAULT_MAX_BYTES = 4 * 1024 * 1024;
+
+    /**
+     * Encodes snapshots off the SDK callback thread, one at a time to keep CPU usage flat
+     */
+    private static final ExecutorService sEncodeExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "ByteRTCSnapshotEncoder"));
+
     private final EventEmitter emitter = new EventEmitter();
 
     public void registerEvent(BinaryMessenger messenger) {
@@ -30,7 +62,41 @@ public class SnapshotResultCallbackProxy {
         emitter.destroy();
     }
 
-    public ISnapshotResultCallback createCallback(String filePath) {
+    void emit(@NonNull String methodName, @NonNull HashMap<String, Object> map) {
+        emitter.emit(methodName, map);
+    }
+
+    /**
+     * Run {@link #storeImage} on the encode thread, then run onDone on it.
+     * The SDK only lends the image for the duration of its callback, so a private copy, already
+     * downscaled, is taken on the calling thread and recycled once it is stored.
+     */
+    static void encodeAsync(@Nullable Bitmap image, String filePath, @NonNull Options options,
+                            HashMap<String, Object> map, @NonNull Runnable onDone) {
+        final Bitmap owned = copyOf(image, options);
+        sEncodeExecutor.execute(() -> {
+            storeImage(owned, filePath, options, map);
+            if (owned != null) {
+                owned.recycle();
+            }
+            onDone.run();
+        });
+    }
+
+    @Nullable
+    private static Bitmap copyOf(@Nullable Bitmap image, @NonNull Options options) {
+        if (image == null || image.isRecycled()) {
+            return null;
+        }
+        final Bitmap scaled = options.scale(image);
+        if (scaled != image) {
+            return scaled;
+        }
+        final Bitmap.Config config = image.getConfig();
+        return image.copy(config != null ? config : Bitmap.Config.ARGB_8888, false);
+    }
+
+    public ISnapshotResultCallback createCallback(String filePath, @NonNull Options options) {
         return new ISnapshotResultCallback() {
             @Override
             public void onTakeLocalSnapshotResult(long taskId, StreamIndex streamIndex, Bitmap image, int errorCode) {
@@ -39,14 +105,8 @@ public class SnapshotResultCallbackProxy {
                 map.put("streamIndex", streamIndex.value());
                 map.put("filePath", filePath);
                 map.put("error", errorCode);
-                if (image != null) {
-                    map.put("width", image.getWidth());
-                    map.put("height", image.getHeight());
-                }
-
-                storeImageToFile(image, filePath, map);
 
-                emitter.emit("onTakeLocalSnapshotResult", map);
+                encodeAsync(image, filePath, options, map, () -> emitter.emit("onTakeLocalSnapshotResult", map));
             }
 
             @Override
@@ -56,27 +116,167 @@ public class SnapshotResultCallbackProxy {
                 map.put("streamKey", RTCMap.from(streamKey));
                 map.put("filePath", filePath);
                 map.put("error", errorCode);
-                if (image != null) {
-                    map.put("width", image.getWidth());
-                    map.put("height", image.getHeight());
-                }
-
-                storeImageToFile(image, filePath, map);
 
-                emitter.emit("onTakeRemoteSnapshotResult", map);
+                encodeAsync(image, filePath, options, map, () -> emitter.emit("onTakeRemoteSnapshotResult", map));
             }
         };
     }
 
-    void storeImageToFile(Bitmap image, String filePath, HashMap<String, Object> map) {
+    /**
+     * Downscale and encode the image. The image stays owned by the SDK, only the downscaled copy is recycled.
+     * Adds width, height and output to the map, plus data and stride when the result is delivered in memory.
+     * encodeTime (ms) and fileSize (bytes) are only added when the result was stored.
+     */
+    static void storeImage(@Nullable Bitmap image, String filePath, @NonNull Options options, HashMap<String, Object> map) {
         if (image == null) {
             map.put("error", ERROR_IMAGE_FORMAT);
             return;
         }
-        try (FileOutputStream fos = new FileOutputStream(filePath)) {
-            image.compress(Bitmap.CompressFormat.JPEG, 100, fos);
-        } catch (IOException e) {
-            map.put("error", ERROR_WRITE_FILE_FAILED);
+        final long start = SystemClock.elapsedRealtime();
+        final Bitmap scaled = options.scale(image);
+        map.put("width", scaled.getWidth());
+        map.put("height", scaled.getHeight());
+
+        try {
+            // copyPixelsToBuffer only yields RGBA bytes for ARGB_8888, other configs are encoded instead
+            final boolean rgba = options.output == OUTPUT_RGBA && scaled.getConfig() == Bitmap.Config.ARGB_8888;
+            if (rgba && scaled.getByteCount() <= options.maxBytes) {
+                ByteBuffer buffer = ByteBuffer.allocate(scaled.getByteCount());
+                scaled.copyPixelsToBuffer(buffer);
+                putData(map, OUTPUT_RGBA, buffer.array());
+                map.put("stride", scaled.getRowBytes());
+                map.put("encodeTime", SystemClock.elapsedRealtime() - start);
+                return;
+            }
+
+            // An RGBA result over the size cap goes straight to the file path below
+            if (!rgba && options.output != OUTPUT_FILE) {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                if (!scaled.compress(options.compressFormat(), options.quality, bos)) {
+                    map.put("error", ERROR_IMAGE_FORMAT);
+                    return;
+                }
+                if (bos.size() <= options.maxBytes) {
+                    putData(map, OUTPUT_ENCODED, bos.toByteArray());
+                    map.put("encodeTime", SystemClock.elapsedRealtime() - start);
+                    return;
+                }
+                // Over the size cap, fall back to the file path with the bytes already encoded
+                map.put("output", OUTPUT_FILE);
+                try (FileOutputStream fos = new FileOutputStream(filePath)) {
+                    bos.writeTo(fos);
+                    map.put("fileSize", (long) bos.size());
+                    map.put("encodeTime", SystemClock.elapsedRealtime() - start);
+                } catch (IOException e) {
+                    map.put("error", ERROR_WRITE_FILE_FAILED);
+                }
+                return;
+            }
+
+            // Encode straight into the file, without an in-memory copy of the result
+            map.put("output", OUTPUT_FILE);
+            final File file = new File(filePath);
+            boolean compressed = false;
+            try (FileOutputStream fos = new FileOutputStream(file)) {
+                compressed = scaled.compress(options.compressFormat(), options.quality, fos);
+            } catch (IOException e) {
+                map.put("error", ERROR_WRITE_FILE_FAILED);
+                return;
+            }
+            if (!compressed) {
+                file.delete();
+                map.put("error", ERROR_IMAGE_FORMAT);
+                return;
+            }
+            map.put("fileSize", file.length());
+            map.put("encodeTime", SystemClock.elapsedRealtime() - start);
+        } finally {
+            if (scaled != image) {
+                scaled.recycle();
+            }
+        }
+    }
+
+    private static void putData(HashMap<String, Object> map, int output, byte[] data) {
+        map.put("output", output);
+        map.put("data", data);
+        map.put("fileSize", (long) data.length);
+    }
+
+    /**
+     * Snapshot encoding options
+     */
+    public static final class Options {
+        public final int format;
+        public final int quality;
+        /**
+         * Max length of the longer edge in pixels, 0 to keep the original size
+         */
+        public final int maxSize;
+        /**
+         * {@link #OUTPUT_FILE}, {@link #OUTPUT_ENCODED} or {@link #OUTPUT_RGBA}
+         */
+        public final int output;
+        /**
+         * Max size of an in-memory result in bytes
+         */
+        public final int maxBytes;
+
+        public Options(int format, int quality, int maxSize, int output, int maxBytes) {
+            this.format = format;
+            this.quality = Math.max(0, Math.min(100, quality));
+            this.maxSize = Math.max(0, maxSize);
+            this.output = output;
+            this.maxBytes = Math.max(0, maxBytes);
+        }
+
+        @NonNull
+        public static Options from(@NonNull RTCTypeBox box) {
+            return new Options(
+                    box.optInt("format", FORMAT_JPEG),
+                    box.optInt("quality", 100),
+                    box.optInt("maxSize", 0),
+                    box.optInt("output", OUTPUT_FILE),
+                    box.optInt("maxBytes", DEFAULT_MAX_BYTES)
+            );
+        }
+
+        String fileExtension() {
+            switch (format) {
+                case FORMAT_PNG:
+                    return ".png";
+                case FORMAT_WEBP_LOSSY:
+                    return ".webp";
+                default:
+                    return ".jpg";
+            }
+        }
+
+        @SuppressWarnings("deprecation")
+        Bitmap.CompressFormat compressFormat() {
+            switch (format) {
+                case FORMAT_PNG:
+                    return Bitmap.CompressFormat.PNG;
+                case FORMAT_WEBP_LOSSY:
+                    return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                            ? Bitmap.CompressFormat.WEBP_LOSSY
+                            : Bitmap.CompressFormat.WEBP;
+                default:
+                    return Bitmap.CompressFormat.JPEG;
+            }
+        }
+
+        @NonNull
+        Bitmap scale(@NonNull Bitmap image) {
+            final int longEdge = Math.max(image.getWidth(), image.getHeight());
+            if (maxSize == 0 || longEdge <= maxSize) {
+                return image;
+            }
+            final float ratio = (float) maxSize / longEdge;
+            return Bitmap.createScaledBitmap(image,
+                    Math.max(1, Math.round(image.getWidth() * ratio)),
+                    Math.max(1, Math.round(image.getHeight() * ratio)),
+                    true);
         }
     }
 }
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2023 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.video;
+
+import android.graphics.Bitmap;
+import android.os.Handler;
+import android.os.HandlerThread;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.ss.bytertc.engine.RTCVideo;
+import com.ss.bytertc.engine.data.RemoteStreamKey;
+import com.ss.bytertc.engine.data.StreamIndex;
+import com.ss.bytertc.engine.flutter.BuildConfig;
+import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.RTCMap;
+import com.ss.bytertc.engine.flutter.base.RTCType;
+import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
+import com.ss.bytertc.engine.flutter.base.RTCVideoManager;
+import com.ss.bytertc.engine.video.ISnapshotResultCallback;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Snapshots a set of remote streams on an interval, for thumbnails of every user in a room.
+ * <p>
+ * The snapshots of one tick are spread evenly over the interval instead of being taken at once,
+ * and are encoded one at a time on the snapshot encode thread, which keeps CPU usage flat.
+ * Files are written to a per stream ring of {@code maxFilesPerStream} slots in the output directory.
+ * The results of a tick are emitted as one {@code onSnapshotSamplerTick} event, once all streams
+ * returned or when the next tick starts. Stopping emits the results of the current tick that
+ * already arrived, marked as final.
+ * <p>
+ * Each start after a stop runs a new {@link Session} on its own thread, whose state is confined
+ * to that thread, so the final flush of a stopped session never touches the state of the next one.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public class SnapshotSampler {
+    private static final String TAG = "SnapshotSampler";
+
+    private static final int ERROR_NO_RTC_VIDEO = -1;
+
+    private final SnapshotResultCallbackProxy proxy;
+
+    /**
+     * The running session, guarded by this
+     */
+    @Nullable
+    private Session mSession;
+
+    public SnapshotSampler(@NonNull SnapshotResultCallbackProxy proxy) {
+        this.proxy = proxy;
+    }
+
+    /**
+     * Start sampling, or restart it with the new config when already running.
+     *
+     * @return 0 on success, -2 if the output directory is not writable
+     */
+    public synchronized int start(@NonNull RTCTypeBox config) {
+        final File directory = new File(config.optString("directory"));
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            Logger.e(TAG, "Failed to create directory: " + directory);
+            return -2;
+        }
+        final List<RemoteStreamKey> streamKeys = RTCType.toRemoteStreamKeyList(config.getList("streamKeys"));
+        final long intervalMs = Math.max(1000, config.optInt("interval", 10000));
+        final int maxFilesPerStream = Math.max(1, config.optInt("maxFilesPerStream", 3));
+        final SnapshotResultCallbackProxy.Options options = SnapshotResultCallbackProxy.Options.from(config.optBox("snapshot"));
+
+        if (mSession == null) {
+            mSession = new Session();
+        }
+        mSession.start(streamKeys, intervalMs, directory, maxFilesPerStream, options);
+        return 0;
+    }
+
+    /**
+     * Replace the sampled streams, takes effect from the next tick.
+     */
+    public synchronized void updateStreams(@NonNull List<RemoteStreamKey> streamKeys) {
+        if (mSession != null) {
+            mSession.updateStreams(streamKeys);
+        }
+    }
+
+    /**
+     * Stop sampling, results of the current tick that already arrived are emitted.
+     */
+    public synchronized void stop() {
+        if (mSession != null) {
+            mSession.stop();
+            mSession = null;
+        }
+    }
+
+    /**
+     * One run of the sampler, from start to stop. All fields are confined to its thread.
+     */
+    private final class Session {
+        private final HandlerThread mThread;
+        private final Handler mHandler;
+
+        private final List<RemoteStreamKey> mStreamKeys = new ArrayList<>();
+        private long mIntervalMs;
+        private File mDirectory;
+        private int mMaxFilesPerStream;
+        private SnapshotResultCallbackProxy.Options mOptions;
+
+        private int mTickSeq = 0;
+        @Nullable
+        private Tick mCurrentTick;
+        private boolean mStopped = false;
+
+        Session() {
+            mThread = new HandlerThread("ByteRTCSnapshotSampler");
+            mThread.start();
+            mHandler = new Handler(mThread.getLooper());
+        }
+
+        void start(@NonNull List<RemoteStreamKey> streamKeys, long intervalMs, @NonNull File directory,
+                   int maxFilesPerStream, @NonNull SnapshotResultCallbackProxy.Options options) {
+            mHandler.removeCallbacksAndMessages(null);
+            mHandler.post(() -> {
+                flush(false);
+                mStreamKeys.clear();
+                mStreamKeys.addAll(streamKeys);
+                mIntervalMs = intervalMs;
+                mDirectory = directory;
+                mMaxFilesPerStream = maxFilesPerStream;
+                mOptions = options;
+                mHandler.post(mTickRunnable);
+            });
+        }
+
+        void updateStreams(@NonNull List<RemoteStreamKey> streamKeys) {
+            mHandler.post(() -> {
+                mStreamKeys.clear();
+                mStreamKeys.addAll(streamKeys);
+            });
+        }
+
+        void stop() {
+            mHandler.removeCallbacksAndMessages(null);
+            mHandler.post(() -> {
+                mStopped = true;
+                flush(true);
+            });
+            mThread.quitSafely();
+        }
+
+        private final Runnable mTickRunnable = new Runnable() {
+            @Override
+            public void run() {
+                flush(false);
+                final int count = mStreamKeys.size();
+                final Tick tick = new Tick(++mTickSeq, count);
+                mCurrentTick = tick;
+                for (int i = 0; i < count; i++) {
+                    final RemoteStreamKey streamKey = mStreamKeys.get(i);
+                    mHandler.postDelayed(() -> take(tick, streamKey), mIntervalMs * i / count);
+                }
+                mHandler.postDelayed(this, mIntervalMs);
+            }
+        };
+
+        private void take(@NonNull Tick tick, @NonNull RemoteStreamKey streamKey) {
+            final HashMap<String, Object> map = new HashMap<>();
+            map.put("streamKey", RTCMap.from(streamKey));
+
+            final RTCVideo rtcVideo = RTCVideoManager.getRTCVideo();
+            if (rtcVideo == null) {
+                map.put("error", ERROR_NO_RTC_VIDEO);
+                collect(tick, map);
+                return;
+            }
+            final String filePath = fileFor(streamKey, tick.seq);
+            final SnapshotResultCallbackProxy.Options options = mOptions;
+            map.put("filePath", filePath);
+            rtcVideo.takeRemoteSnapshot(streamKey, new ISnapshotResultCallback() {
+                @Override
+                public void onTakeLocalSnapshotResult(long taskId, StreamIndex streamIndex, Bitmap image, int errorCode) {
+                }
+
+                @Override
+                public void onTakeRemoteSnapshotResult(long taskId, RemoteStreamKey streamKey, Bitmap image, int errorCode) {
+                    map.put("taskId", taskId);
+                    map.put("error", errorCode);
+                    SnapshotResultCallbackProxy.encodeAsync(image, filePath, options, map,
+                            () -> mHandler.post(() -> collect(tick, map)));
+                }
+            });
+        }
+
+        private void collect(@NonNull Tick tick, @NonNull HashMap<String, Object> result) {
+            if (tick.emitted || mStopped) {
+                // Arrived after its tick was flushed
+                return;
+            }
+            tick.results.add(result);
+            if (tick.results.size() >= tick.expected) {
+                flush(false);
+            }
+        }
+
+        /**
+         * @param last true when the session stops, the event is then emitted even without results
+         */
+        private void flush(boolean last) {
+            final Tick tick = mCurrentTick;
+            final boolean pending = tick != null && !tick.emitted;
+            if (pending) {
+                tick.emitted = true;
+            }
+            if (!last && (!pending || tick.expected == 0)) {
+                return;
+            }
+            if (BuildConfig.DEBUG && pending) {
+                Logger.d(TAG, "tick " + tick.seq + ": " + tick.results.size() + "/" + tick.expected);
+            }
+            final HashMap<String, Object> map = new HashMap<>();
+            map.put("tick", tick == null ? 0 : tick.seq);
+            map.put("results", pending ? tick.results : new ArrayList<>());
+            map.put("final", last);
+            proxy.emit("onSnapshotSamplerTick", map);
+        }
+
+        @NonNull
+        private String fileFor(@NonNull RemoteStreamKey streamKey, int seq) {
+            final String name = (streamKey.getRoomId() + "_" + streamKey.getUserId() + "_" + streamKey.getStreamIndex().value())
+                    .replaceAll("[^A-Za-z0-9._-]", "_");
+            return new File(mDirectory, name + "_" + (seq % mMaxFilesPerStream) + mOptions.fileExtension()).getPath();
+        }
+    }
+
+    private static final class Tick {
+        final int seq;
+        final int expected;
+        final ArrayList<HashMap<String, Object>> results = new ArrayList<>();
+        boolean emitted = false;
+
+        Tick(int seq, int expected) {
+            this.seq = seq;
+            this.expected = expected;
+        }
+    }
+}
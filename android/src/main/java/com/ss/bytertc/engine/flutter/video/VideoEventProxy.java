@@ -29,6 +29,7 @@ import com.ss.bytertc.engine.data.VideoFrameInfo;
 import com.ss.bytertc.engine.data.VideoSuperResolutionMode;
 import com.ss.bytertc.engine.data.VideoSuperResolutionModeChangedReason;
 import com.ss.bytertc.engine.flutter.base.RTCMap;
+import com.ss.bytertc.engine.flutter.base.RTCMapPool;
 import com.ss.bytertc.engine.flutter.base.RTCTypeBox;
 import com.ss.bytertc.engine.flutter.event.EventEmitter;
 import com.ss.bytertc.engine.handler.IRTCVideoEventHandler;
@@ -65,11 +66,42 @@ import org.json.JSONObject;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import io.flutter.plugin.common.BinaryMessenger;
 
 @RestrictTo(RestrictTo.Scope.LIBRARY)
 public final class VideoEventProxy extends IRTCVideoEventHandler {
+    /**
+     * Keeps the users of an undelivered filtered report which the next report does not carry,
+     * so the backlog stays one report with at most one entry per stream
+     */
+    @SuppressWarnings("unchecked")
+    private static final EventEmitter.Merger REMOTE_AUDIO_PROPERTIES_MERGER = (undelivered, next) -> {
+        final List<Map<?, ?>> older = (List<Map<?, ?>>) undelivered.get("infos");
+        final List<Map<?, ?>> newer = (List<Map<?, ?>>) next.get("infos");
+        if (older == null || newer == null) {
+            return;
+        }
+        final HashSet<Object> streams = new HashSet<>();
+        for (Map<?, ?> info : newer) {
+            streams.add(info.get("streamKey"));
+        }
+        final ArrayList<Map<?, ?>> kept = new ArrayList<>();
+        final Iterator<Map<?, ?>> iterator = older.iterator();
+        while (iterator.hasNext()) {
+            final Map<?, ?> info = iterator.next();
+            if (!streams.contains(info.get("streamKey"))) {
+                kept.add(info);
+                iterator.remove();
+            }
+        }
+        newer.addAll(0, kept);
+    };
+
     private final EventEmitter emitter = new EventEmitter();
 
     /**
@@ -81,6 +113,22 @@ public final class VideoEventProxy extends IRTCVideoEventHandler {
      */
     private boolean enableSysStats = false;
 
+    /**
+     * Filter for onRemoteAudioPropertiesReport
+     * For performance reason
+     *
+     * @see #onRemoteAudioPropertiesReport(RemoteAudioPropertiesInfo[], int)
+     * @see #setRemoteAudioPropertiesFilter(RTCTypeBox)
+     */
+    private volatile RemoteAudioPropertiesFilter remoteAudioPropertiesFilter = RemoteAudioPropertiesFilter.NONE;
+
+    /**
+     * Spectrum format of audio properties reports, set with enableAudioPropertiesReport
+     *
+     * @see RTCMap#SPECTRUM_FORMAT_FLOAT64
+     */
+    private volatile int spectrumFormat = RTCMap.SPECTRUM_FORMAT_FLOAT64;
+
     public void registerEvent(BinaryMessenger binaryMessenger) {
         emitter.registerEvent(binaryMessenger, "com.bytedance.ve_rtc_video_event");
     }
@@ -121,9 +169,9 @@ public final class VideoEventProxy extends IRTCVideoEventHandler {
         if (!enableSysStats) {
             return;
         }
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(2);
         map.put("stats", RTCMap.from(stats));
-        emitter.emit("onSysStats", map);
+        emitter.emitLatest("onSysStats", "", map);
     }
 
     @Override
@@ -303,7 +351,7 @@ public final class VideoEventProxy extends IRTCVideoEventHandler {
     public void onSEIMessageReceived(RemoteStreamKey remoteStreamKey, ByteBuffer message) {
         final HashMap<String, Object> map = new HashMap<>();
         map.put("streamKey", RTCMap.from(remoteStreamKey));
-        map.put("message", message.array());
+        map.put("message", RTCMap.bytesOf(message));
         emitter.emit("onSEIMessageReceived", map);
     }
 
@@ -358,7 +406,7 @@ public final class VideoEventProxy extends IRTCVideoEventHandler {
     public void onUserBinaryMessageReceivedOutsideRoom(String uid, ByteBuffer message) {
         final HashMap<String, Object> map = new HashMap<>();
         map.put("uid", uid);
-        map.put("message", message.array());
+        map.put("message", RTCMap.bytesOf(message));
         emitter.emit("onUserBinaryMessageReceivedOutsideRoom", map);
     }
 
@@ -375,7 +423,7 @@ public final class VideoEventProxy extends IRTCVideoEventHandler {
         final HashMap<String, Object> map = new HashMap<>();
         map.put("msgid", msgid);
         map.put("error", error);
-        map.put("message", message.array());
+        map.put("message", RTCMap.bytesOf(message));
         emitter.emit("onServerMessageSendResult", map);
     }
 
@@ -573,30 +621,44 @@ public final class VideoEventProxy extends IRTCVideoEventHandler {
         final HashMap<String, Object> map = new HashMap<>();
         map.put("mixId", mixId);
         map.put("progress", progress);
-        emitter.emit("onAudioMixingPlayingProgress", map);
+        emitter.emitLatest("onAudioMixingPlayingProgress", String.valueOf(mixId), map);
     }
 
     @Override
     public void onLocalAudioPropertiesReport(LocalAudioPropertiesInfo[] audioPropertiesInfos) {
-        ArrayList<HashMap<String, Object>> list = new ArrayList<>();
+        ArrayList<HashMap<String, Object>> list = new ArrayList<>(audioPropertiesInfos.length);
         for (LocalAudioPropertiesInfo info : audioPropertiesInfos) {
-            HashMap<String, Object> obj = new HashMap<>();
+            HashMap<String, Object> obj = RTCMapPool.obtain(2);
             obj.put("type", info.streamIndex.value());
-            obj.put("audioPropertiesInfo", RTCMap.from(info.audioPropertiesInfo));
+            obj.put("audioPropertiesInfo", RTCMap.from(info.audioPropertiesInfo, spectrumFormat));
             list.add(obj);
         }
 
-        final HashMap<String, Object> map = new HashMap<>();
+        final HashMap<String, Object> map = RTCMapPool.obtain(2);
         map.put("infos", list);
-        emitter.emit("onLocalAudioPropertiesReport", map);
+        emitter.emitLatest("onLocalAudioPropertiesReport", "", map);
     }
 
     @Override
     public void onRemoteAudioPropertiesReport(RemoteAudioPropertiesInfo[] audioPropertiesInfos, int totalRemoteVolume) {
-        final HashMap<String, Object> map = new HashMap<>();
-        map.put("infos", RTCMap.from(audioPropertiesInfos));
+        final RemoteAudioPropertiesFilter filter = remoteAudioPropertiesFilter;
+        final RemoteAudioPropertiesFilter.Report report = filter.apply(audioPropertiesInfos, totalRemoteVolume);
+        if (report == null) {
+            return;
+        }
+        final List<Map<?, ?>> infos = RTCMap.from(report.infos, spectrumFormat);
+        for (RemoteStreamKey streamKey : report.silenced) {
+            infos.add(RTCMap.silentAudioProperties(streamKey, spectrumFormat));
+        }
+        final HashMap<String, Object> map = RTCMapPool.obtain(3);
+        map.put("infos", infos);
         map.put("totalRemoteVolume", totalRemoteVolume);
-        emitter.emit("onRemoteAudioPropertiesReport", map);
+        if (filter.isEnabled()) {
+            // Filtered reports only carry changed and leaving users, keep the undelivered ones
+            emitter.emitMerged("onRemoteAudioPropertiesReport", "", map, REMOTE_AUDIO_PROPERTIES_MERGER);
+        } else {
+            emitter.emitLatest("onRemoteAudioPropertiesReport", "", map);
+        }
     }
 
     @Override
@@ -612,7 +674,7 @@ public final class VideoEventProxy extends IRTCVideoEventHandler {
         final HashMap<String, Object> map = new HashMap<>();
         map.put("streamKey", RTCMap.from(streamKey));
         map.put("streamType", streamType.ordinal());
-        map.put("data", data.array());
+        map.put("data", RTCMap.bytesOf(data));
         emitter.emit("onStreamSyncInfoReceived", map);
     }
 
@@ -637,7 +699,7 @@ public final class VideoEventProxy extends IRTCVideoEventHandler {
     public void onPublicStreamSEIMessageReceived(String publicStreamId, ByteBuffer message, DataMessageSourceType sourceType) {
         final HashMap<String, Object> map = new HashMap<>();
         map.put("publicStreamId", publicStreamId);
-        map.put("message", message.array());
+        map.put("message", RTCMap.bytesOf(message));
         map.put("sourceType", sourceType.value());
         emitter.emit("onPublicStreamSEIMessageReceived", map);
     }
@@ -647,7 +709,7 @@ public final class VideoEventProxy extends IRTCVideoEventHandler {
         final HashMap<String, Object> map = new HashMap<>();
         map.put("publicStreamId", publicStreamId);
         map.put("channelId", channelId);
-        map.put("message", message.array());
+        map.put("message", RTCMap.bytesOf(message));
         emitter.emit("onPublicStreamSEIMessageReceivedWithChannel", map);
     }
 
@@ -655,7 +717,7 @@ public final class VideoEventProxy extends IRTCVideoEventHandler {
     public void onPublicStreamDataMessageReceived(String publicStreamId, ByteBuffer message, DataMessageSourceType sourceType) {
         final HashMap<String, Object> map = new HashMap<>();
         map.put("publicStreamId", publicStreamId);
-        map.put("message", message.array());
+        map.put("message", RTCMap.bytesOf(message));
         map.put("sourceType", sourceType.value());
         emitter.emit("onPublicStreamDataMessageReceived", map);
     }
@@ -728,4 +790,15 @@ public final class VideoEventProxy extends IRTCVideoEventHandler {
     public void setSwitches(RTCTypeBox box) {
         enableSysStats = box.optBoolean("enableSysStats", enableSysStats);
     }
+
+    public void setSpectrumFormat(int format) {
+        spectrumFormat = format;
+    }
+
+    public void setRemoteAudioPropertiesFilter(RTCTypeBox box) {
+        remoteAudioPropertiesFilter = new RemoteAudioPropertiesFilter(
+                box.optInt("minLinearVolume"),
+                box.optInt("topN"),
+                box.optBoolean("suppressUnchanged"));
+    }
 }
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.video;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.ss.bytertc.engine.RTCRoom;
+import com.ss.bytertc.engine.flutter.BuildConfig;
+import com.ss.bytertc.engine.flutter.base.Logger;
+import com.ss.bytertc.engine.flutter.base.RTCVideoManager;
+import com.ss.bytertc.engine.flutter.room.RTCRoomPlugin;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.flutter.embedding.engine.plugins.FlutterPlugin.FlutterPluginBinding;
+
+/**
+ * Rooms created ahead of {@code createRTCRoom}, with their method and event channels already registered.
+ * <p>
+ * A warm room is keyed by its room ID and bound to the instance ID reserved for it by Dart, since
+ * the channel names contain the instance ID. The least recently warmed rooms are destroyed
+ * once the pool is full, and every room is destroyed when it was not claimed in time.
+ * <p>
+ * The SDK rooms are created on the background call thread, only the channels are registered
+ * on the main thread. The pool is guarded by {@link #rooms}, the other methods run on the main thread.
+ */
+final class WarmRoomPool {
+    private static final String TAG = "WarmRoomPool";
+
+    private static final class WarmRoom {
+        final int insId;
+        final RTCRoomPlugin plugin;
+        final long expireAt;
+
+        WarmRoom(int insId, RTCRoomPlugin plugin, long expireAt) {
+            this.insId = insId;
+            this.plugin = plugin;
+            this.expireAt = expireAt;
+        }
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    /**
+     * In access order, the eldest entry is the least recently used one. Guarded by itself
+     */
+    private final LinkedHashMap<String, WarmRoom> rooms = new LinkedHashMap<>(8, 0.75f, true);
+    @Nullable
+    private FlutterPluginBinding binding;
+
+    /**
+     * A room created on the call thread, waiting to be attached on the main thread
+     */
+    static final class CreatedRoom {
+        final String roomId;
+        final int insId;
+        final RTCRoomPlugin plugin;
+
+        CreatedRoom(String roomId, int insId, RTCRoomPlugin plugin) {
+            this.roomId = roomId;
+            this.insId = insId;
+            this.plugin = plugin;
+        }
+    }
+
+    /**
+     * Create the SDK rooms for the room IDs not warm yet, without touching the pool.
+     * Safe on the background call thread, the rooms are handed to {@link #attach} on the main thread.
+     *
+     * @param items roomId and roomInsId of each room
+     */
+    @WorkerThread
+    @NonNull
+    List<CreatedRoom> create(@NonNull List<Map<String, Object>> items) {
+        final List<CreatedRoom> created = new ArrayList<>();
+        for (Map<String, Object> item : items) {
+            final String roomId = (String) item.get("roomId");
+            final Integer insId = (Integer) item.get("roomInsId");
+            if (roomId == null || insId == null || isWarm(roomId)) {
+                continue;
+            }
+            final long start = SystemClock.elapsedRealtimeNanos();
+            RTCRoom rtcRoom = RTCVideoManager.createRoom(insId, roomId);
+            if (rtcRoom == null) {
+                continue;
+            }
+            created.add(new CreatedRoom(roomId, insId, new RTCRoomPlugin(insId, rtcRoom)));
+            if (BuildConfig.DEBUG) {
+                Logger.d(TAG, "create: " + roomId + " in " + (SystemClock.elapsedRealtimeNanos() - start) / 1000 + "us");
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Register the channels of the created rooms and add them to the pool.
+     *
+     * @param items    roomId of each requested room
+     * @param maxRooms max warm rooms kept, the least recently used ones are destroyed first
+     * @param ttlMs    time a warm room is kept unclaimed
+     * @return room IDs that are warm after the call
+     */
+    @MainThread
+    @NonNull
+    List<String> attach(@NonNull FlutterPluginBinding binding, @NonNull List<Map<String, Object>> items,
+                        @NonNull List<CreatedRoom> created, int maxRooms, long ttlMs) {
+        this.binding = binding;
+        final long expireAt = SystemClock.elapsedRealtime() + ttlMs;
+        synchronized (rooms) {
+            for (CreatedRoom room : created) {
+                room.plugin.onAttachedToEngine(binding);
+                final WarmRoom replaced = rooms.put(room.roomId, new WarmRoom(room.insId, room.plugin, expireAt));
+                if (replaced != null) {
+                    release(replaced);
+                }
+            }
+            trimTo(Math.max(0, maxRooms));
+            final List<String> warmed = new ArrayList<>();
+            for (Map<String, Object> item : items) {
+                final String roomId = (String) item.get("roomId");
+                if (roomId != null && rooms.containsKey(roomId) && !warmed.contains(roomId)) {
+                    warmed.add(roomId);
+                }
+            }
+            scheduleSweep();
+            return warmed;
+        }
+    }
+
+    private boolean isWarm(@NonNull String roomId) {
+        synchronized (rooms) {
+            // containsKey does not count as an access
+            return rooms.containsKey(roomId);
+        }
+    }
+
+    /**
+     * Hand out the warm room of roomId if it was reserved for insId.
+     * A warm room reserved for another instance ID is destroyed, so that the caller can create
+     * the room again. Its channels are named after the other instance ID and cannot be reused.
+     */
+    @MainThread
+    @Nullable
+    RTCRoomPlugin take(@NonNull String roomId, int insId) {
+        synchronized (rooms) {
+            final WarmRoom room = rooms.remove(roomId);
+            if (room == null) {
+                return null;
+            }
+            if (room.insId != insId) {
+                release(room);
+                scheduleSweep();
+                return null;
+            }
+            if (BuildConfig.DEBUG) {
+                Logger.d(TAG, "take: " + roomId);
+            }
+            return room.plugin;
+        }
+    }
+
+    @MainThread
+    void clear() {
+        mainHandler.removeCallbacks(sweepRunnable);
+        synchronized (rooms) {
+            for (WarmRoom room : rooms.values()) {
+                release(room);
+            }
+            rooms.clear();
+        }
+    }
+
+    private void trimTo(int maxRooms) {
+        final Iterator<WarmRoom> iterator = rooms.values().iterator();
+        while (rooms.size() > maxRooms && iterator.hasNext()) {
+            release(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private void release(@NonNull WarmRoom room) {
+        if (BuildConfig.DEBUG) {
+            Logger.d(TAG, "release: insId=" + room.insId);
+        }
+        if (binding != null) {
+            room.plugin.onDetachedFromEngine(binding);
+        } else {
+            RTCVideoManager.destroyRoom(room.insId);
+        }
+    }
+
+    private void scheduleSweep() {
+        mainHandler.removeCallbacks(sweepRunnable);
+        long next = Long.MAX_VALUE;
+        for (WarmRoom room : rooms.values()) {
+            next = Math.min(next, room.expireAt);
+        }
+        if (next != Long.MAX_VALUE) {
+            mainHandler.postDelayed(sweepRunnable, Math.max(0, next - SystemClock.elapsedRealtime()));
+        }
+    }
+
+    private final Runnable sweepRunnable = new Runnable() {
+        @Override
+        public void run() {
+            final long now = SystemClock.elapsedRealtime();
+            synchronized (rooms) {
+                final Iterator<WarmRoom> iterator = rooms.values().iterator();
+                while (iterator.hasNext()) {
+                    WarmRoom room = iterator.next();
+                    if (room.expireAt <= now) {
+                        release(room);
+                        iterator.remove();
+                    }
+                }
+                scheduleSweep();
+            }
+        }
+    };
+}
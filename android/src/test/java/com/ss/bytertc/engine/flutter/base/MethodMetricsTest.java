@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+
+public class MethodMetricsTest {
+    private static final int LAST_BUCKET = MethodMetrics.bucketIndex(Long.MAX_VALUE);
+
+    @Test
+    public void linearBuckets() {
+        for (int micros = 0; micros < 16; micros++) {
+            assertEquals(micros, MethodMetrics.bucketIndex(micros));
+            assertEquals(micros, MethodMetrics.bucketLowerBound(micros));
+            assertEquals(micros + 1, MethodMetrics.bucketUpperBound(micros));
+        }
+        assertEquals(0, MethodMetrics.bucketIndex(-1));
+    }
+
+    @Test
+    public void firstLogBuckets() {
+        // [16, 32) 分为 8 个宽度为 2 的子桶
+        assertEquals(16, MethodMetrics.bucketIndex(16));
+        assertEquals(16, MethodMetrics.bucketIndex(17));
+        assertEquals(17, MethodMetrics.bucketIndex(18));
+        assertEquals(23, MethodMetrics.bucketIndex(31));
+        assertEquals(24, MethodMetrics.bucketIndex(32));
+        assertEquals(24, MethodMetrics.bucketIndex(35));
+        assertEquals(25, MethodMetrics.bucketIndex(36));
+    }
+
+    @Test
+    public void boundsMatchIndex() {
+        for (int i = 0; i < LAST_BUCKET; i++) {
+            final long lower = MethodMetrics.bucketLowerBound(i);
+            final long upper = MethodMetrics.bucketUpperBound(i);
+            assertTrue("bucket " + i, lower < upper);
+            assertEquals(i, MethodMetrics.bucketIndex(lower));
+            assertEquals(i, MethodMetrics.bucketIndex(upper - 1));
+            assertEquals(i + 1, MethodMetrics.bucketIndex(upper));
+        }
+    }
+
+    @Test
+    public void relativeErrorIsBounded() {
+        for (int i = 16; i < LAST_BUCKET; i++) {
+            final long lower = MethodMetrics.bucketLowerBound(i);
+            final long width = MethodMetrics.bucketUpperBound(i) - lower;
+            assertTrue("bucket " + i, width * 8 <= lower);
+        }
+    }
+
+    @Test
+    public void largeValuesGoToTheLastBucket() {
+        assertEquals(LAST_BUCKET, MethodMetrics.bucketIndex(1L << 28));
+        assertEquals(LAST_BUCKET, MethodMetrics.bucketIndex(1L << 40));
+        assertEquals(Long.MAX_VALUE, MethodMetrics.bucketUpperBound(LAST_BUCKET));
+        assertEquals(LAST_BUCKET - 1, MethodMetrics.bucketIndex(MethodMetrics.bucketLowerBound(LAST_BUCKET) - 1));
+    }
+
+    @Test
+    public void percentilesUseBucketUpperBound() {
+        final MethodMetrics.Stats stats = new MethodMetrics.Stats();
+        for (int i = 0; i < 90; i++) {
+            stats.record(10, false);
+        }
+        for (int i = 0; i < 10; i++) {
+            stats.record(1000, i == 0);
+        }
+
+        final HashMap<String, Object> map = stats.snapshot(1000, true);
+        assertEquals(100L, map.get("calls"));
+        assertEquals(1L, map.get("errors"));
+        assertEquals(10L, map.get("p50Us"));
+        assertEquals(10L, map.get("p90Us"));
+        // 1000 落在 [960, 1024) 桶，不超过记录到的最大值
+        assertEquals(1000L, map.get("p99Us"));
+        assertEquals(1000L, map.get("maxUs"));
+
+        // 清零后统计周期内无调用
+        assertNull(stats.snapshot(1000, false));
+    }
+}
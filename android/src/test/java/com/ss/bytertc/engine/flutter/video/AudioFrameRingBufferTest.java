@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+ * SPDX-License-Identifier: MIT
+ */
+
+package com.ss.bytertc.engine.flutter.video;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class AudioFrameRingBufferTest {
+    private static final int HEADER = AudioFrameRingBuffer.RECORD_HEADER_SIZE;
+
+    private static ByteBuffer pcm(int size, int seed) {
+        final ByteBuffer data = ByteBuffer.allocate(size);
+        for (int i = 0; i < size; i++) {
+            data.put((byte) (seed + i));
+        }
+        data.flip();
+        return data;
+    }
+
+    private static ByteBuffer drain(AudioFrameRingBuffer ring) {
+        final int size = ring.available();
+        final ByteBuffer out = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        ring.drainTo(out, size);
+        out.flip();
+        return out;
+    }
+
+    private static void assertRecord(ByteBuffer out, int source, long timestampUs, ByteBuffer expected) {
+        assertEquals(source, out.getInt());
+        assertEquals(48000, out.getInt());
+        assertEquals(2, out.getInt());
+        assertEquals(timestampUs, out.getLong());
+        final int size = out.getInt();
+        assertEquals(expected.remaining(), size);
+        final byte[] data = new byte[size];
+        out.get(data);
+        final byte[] expectedData = new byte[size];
+        expected.duplicate().get(expectedData);
+        assertArrayEquals(expectedData, data);
+    }
+
+    @Test
+    public void writeThenDrain() {
+        final AudioFrameRingBuffer ring = new AudioFrameRingBuffer(256);
+        final ByteBuffer first = pcm(16, 1);
+        final ByteBuffer second = pcm(8, 100);
+
+        assertTrue(ring.write(1, 48000, 2, 10, first, 16));
+        assertTrue(ring.write(2, 48000, 2, 20, second, 8));
+        assertEquals(2 * HEADER + 24, ring.available());
+
+        final ByteBuffer out = drain(ring);
+        assertRecord(out, 1, 10, first);
+        assertRecord(out, 2, 20, second);
+        assertFalse(out.hasRemaining());
+        assertEquals(0, ring.available());
+    }
+
+    @Test
+    public void writeKeepsDataPosition() {
+        final AudioFrameRingBuffer ring = new AudioFrameRingBuffer(256);
+        final ByteBuffer data = pcm(16, 1);
+        data.position(4);
+
+        assertTrue(ring.write(1, 48000, 2, 0, data, 8));
+        assertEquals(4, data.position());
+
+        final ByteBuffer expected = data.duplicate();
+        expected.limit(12);
+        assertRecord(drain(ring), 1, 0, expected);
+    }
+
+    @Test
+    public void headerWrapsAroundTheEnd() {
+        // Records of 40 bytes, the third one starts 20 bytes before the end
+        final AudioFrameRingBuffer ring = new AudioFrameRingBuffer(100);
+        assertTrue(ring.write(1, 48000, 2, 0, pcm(16, 0), 16));
+        assertTrue(ring.write(1, 48000, 2, 0, pcm(16, 0), 16));
+        drain(ring);
+
+        final ByteBuffer data = pcm(16, 7);
+        assertTrue(ring.write(3, 48000, 2, 30, data, 16));
+        final ByteBuffer out = drain(ring);
+        assertRecord(out, 3, 30, data);
+        assertFalse(out.hasRemaining());
+    }
+
+    @Test
+    public void pcmWrapsAroundTheEnd() {
+        // The header ends 6 bytes before the end, the PCM continues at the start
+        final AudioFrameRingBuffer ring = new AudioFrameRingBuffer(100);
+        assertTrue(ring.write(1, 48000, 2, 0, pcm(46, 0), 46));
+        drain(ring);
+
+        final ByteBuffer data = pcm(32, 9);
+        assertTrue(ring.write(2, 48000, 2, 40, data, 32));
+        final ByteBuffer out = drain(ring);
+        assertRecord(out, 2, 40, data);
+        assertFalse(out.hasRemaining());
+    }
+
+    @Test
+    public void recordThatFillsTheRingFits() {
+        final AudioFrameRingBuffer ring = new AudioFrameRingBuffer(HEADER + 16);
+        assertTrue(ring.write(1, 48000, 2, 0, pcm(16, 0), 16));
+        assertEquals(HEADER + 16, ring.available());
+        assertEquals(0, ring.takeDropped());
+    }
+
+    @Test
+    public void recordThatDoesNotFitIsDropped() {
+        final AudioFrameRingBuffer ring = new AudioFrameRingBuffer(64);
+        final ByteBuffer kept = pcm(16, 1);
+        assertTrue(ring.write(1, 48000, 2, 10, kept, 16));
+        assertFalse(ring.write(2, 48000, 2, 20, pcm(16, 2), 16));
+        assertFalse(ring.write(3, 48000, 2, 30, pcm(16, 3), 16));
+
+        assertEquals(2, ring.takeDropped());
+        assertEquals(0, ring.takeDropped());
+
+        // The dropped records left the kept one intact
+        final ByteBuffer out = drain(ring);
+        assertRecord(out, 1, 10, kept);
+        assertFalse(out.hasRemaining());
+    }
+
+    @Test
+    public void spaceIsReusedAfterDrain() {
+        final AudioFrameRingBuffer ring = new AudioFrameRingBuffer(64);
+        for (int i = 0; i < 10; i++) {
+            final ByteBuffer data = pcm(16, i);
+            assertTrue(ring.write(i, 48000, 2, i, data, 16));
+            assertRecord(drain(ring), i, i, data);
+        }
+        assertEquals(0, ring.takeDropped());
+    }
+}
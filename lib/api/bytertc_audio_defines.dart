@@ -1,6 +1,8 @@
 // Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
 // SPDX-License-Identifier: MIT
 
+import 'dart:typed_data';
+
 import '../src/base/bytertc_enum_convert.dart';
 import 'bytertc_audio_effect_player_api.dart';
 import 'bytertc_media_defines.dart';
@@ -498,6 +500,18 @@ enum AudioPropertiesMode {
   audioMixing,
 }
 
+/// 音频属性信息中频谱数据的传输格式
+enum SpectrumFormat {
+  /// 按 float64 数组传输（默认值），数据量最大，兼容所有 Flutter 版本
+  float64List,
+
+  /// 按 float32 数组（Float32List）传输，需要 Flutter 2.5 及以上版本
+  float32List,
+
+  /// 按 float32 打包为字节数组传输，兼容所有 Flutter 版本
+  packedBytes,
+}
+
 /// 音频属性信息提示的相关配置
 class AudioPropertiesConfig {
   /// 信息提示间隔，单位为毫秒
@@ -529,6 +543,11 @@ class AudioPropertiesConfig {
   /// 是否回调本地用户的人声基频
   bool enableVoicePitch;
 
+  /// 频谱数据的传输格式，默认为 [SpectrumFormat.float64List]。
+  ///
+  /// 仅适用于 Android。
+  SpectrumFormat spectrumFormat;
+
   /// @nodoc
   AudioPropertiesConfig({
     this.interval = 100,
@@ -538,6 +557,7 @@ class AudioPropertiesConfig {
     this.audioReportMode = AudioPropertiesMode.microphone,
     this.smooth = 1.0,
     this.enableVoicePitch = false,
+    this.spectrumFormat = SpectrumFormat.float64List,
   });
 
   /// @nodoc
@@ -550,6 +570,37 @@ class AudioPropertiesConfig {
       'audioReportMode': audioReportMode.index,
       'smooth': smooth,
       'enableVoicePitch': enableVoicePitch,
+      'spectrumFormat': spectrumFormat.index,
+    };
+  }
+}
+
+/// 远端音频属性信息回调的过滤条件
+///
+/// 在大房间中，仅回调正在说话的用户，使每次回调的数据量与活跃用户数相关，而非房间人数。
+class RemoteAudioPropertiesFilter {
+  /// 回调用户需达到的最小线性音量，取值范围是 `[0,255]`。默认值为 `0`，不过滤。
+  final int minLinearVolume;
+
+  /// 仅回调线性音量最大的 N 个用户。默认值为 `0`，不限制。
+  final int topN;
+
+  /// 是否跳过与上次回调相比音量信息未变化的用户，默认不跳过。
+  final bool suppressUnchanged;
+
+  /// @nodoc
+  const RemoteAudioPropertiesFilter({
+    this.minLinearVolume = 0,
+    this.topN = 0,
+    this.suppressUnchanged = false,
+  });
+
+  /// @nodoc
+  Map<String, dynamic> toMap() {
+    return <String, dynamic>{
+      'minLinearVolume': minLinearVolume,
+      'topN': topN,
+      'suppressUnchanged': suppressUnchanged,
     };
   }
 }
@@ -608,10 +659,29 @@ class AudioPropertiesInfo {
       linearVolume: map['linearVolume'],
       nonlinearVolume: map['nonlinearVolume'],
       vad: map['vad'],
-      spectrum: List<double>.from(map['spectrum']),
+      spectrum: _spectrumFrom(map['spectrum']),
       voicePitch: map['voicePitch'].toDouble(),
     );
   }
+
+  static List<double>? _spectrumFrom(dynamic value) {
+    if (value == null || value is Float32List) {
+      return value;
+    }
+    if (value is Uint8List) {
+      final count = value.lengthInBytes ~/ 4;
+      if (value.offsetInBytes % 4 == 0 && Endian.host == Endian.little) {
+        return value.buffer.asFloat32List(value.offsetInBytes, count);
+      }
+      final data = ByteData.sublistView(value);
+      final spectrum = Float32List(count);
+      for (var i = 0; i < count; i++) {
+        spectrum[i] = data.getFloat32(i * 4, Endian.little);
+      }
+      return spectrum;
+    }
+    return List<double>.from(value);
+  }
 }
 
 /// 远端音频属性信息
@@ -976,6 +1046,81 @@ class AudioRecordingConfig {
       };
 }
 
+/// 音频帧流的数据来源
+enum AudioFrameStreamSource {
+  /// 麦克风采集的音频数据
+  record,
+
+  /// 远端所有用户混音后的音频数据
+  playback,
+
+  /// 本地麦克风和所有远端用户混音后的音频数据
+  mixed,
+}
+
+/// 音频帧流配置
+class AudioFrameStreamConfig {
+  /// 需要获取的音频数据来源
+  final List<AudioFrameStreamSource> sources;
+
+  /// 回调的音频采样率，由 SDK 完成重采样，默认为 16000Hz
+  final AudioSampleRate sampleRate;
+
+  /// 回调的音频声道，由 SDK 完成声道转换，默认为单声道
+  final AudioChannel channel;
+
+  /// 批量回调的间隔，单位为毫秒，默认为 100
+  final int batchInterval;
+
+  /// 每个数据来源的缓冲区大小，单位为字节，默认为 256 KB。缓冲区写满后，新的音频帧将被丢弃
+  final int bufferSize;
+
+  /// @nodoc
+  const AudioFrameStreamConfig({
+    required this.sources,
+    this.sampleRate = AudioSampleRate.rate16000,
+    this.channel = AudioChannel.mono,
+    this.batchInterval = 100,
+    this.bufferSize = 256 * 1024,
+  });
+
+  /// @nodoc
+  Map<String, dynamic> toMap() => {
+        'sources': sources.map((e) => e.index).toList(),
+        'sampleRate': sampleRate.value,
+        'channel': channel.value,
+        'batchInterval': batchInterval,
+        'bufferSize': bufferSize,
+      };
+}
+
+/// 音频帧流中的一帧音频数据
+class AudioStreamFrame {
+  /// 数据来源
+  final AudioFrameStreamSource source;
+
+  /// 采样率，单位为 Hz
+  final int sampleRate;
+
+  /// 声道数
+  final int channel;
+
+  /// 时间戳，单位为微秒
+  final int timestampUs;
+
+  /// 16 位 PCM 数据，多声道时交错排列
+  final Uint8List data;
+
+  /// @nodoc
+  const AudioStreamFrame({
+    required this.source,
+    required this.sampleRate,
+    required this.channel,
+    required this.timestampUs,
+    required this.data,
+  });
+}
+
 /// 录音配置
 enum AudioRecordingState {
   /// 录制异常
@@ -1,6 +1,8 @@
 // Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
 // SPDX-License-Identifier: MIT
 
+import 'dart:typed_data';
+
 import 'bytertc_audio_defines.dart';
 import 'bytertc_video_api.dart';
 import 'bytertc_video_event_handler.dart';
@@ -307,4 +309,41 @@ abstract class RTCAudioMixingManager {
     required int mixId,
     required int audioTrackIndex,
   });
+
+  /// 启动 PCM 音频数据混音，之后通过 [RTCAudioMixingManager.pushAudioMixingFrame] 推送数据
+  ///
+  /// [mixId] 混音 ID，用于标识混音，保证混音 ID 唯一性。<br>
+  /// 如果使用相同的 ID 重复调用本方法后，前一次混音会停止，后一次混音开始。
+  ///
+  /// [type] 混音播放类型，参看 [AudioMixingType]。
+  ///
+  /// 注意：仅适用于 Android。
+  Future<void> enableAudioMixingFrame({
+    required int mixId,
+    required AudioMixingType type,
+  });
+
+  /// 停止 PCM 音频数据混音
+  ///
+  /// 注意：仅适用于 Android。
+  Future<void> disableAudioMixingFrame(int mixId);
+
+  /// 推送 PCM 音频帧数据用于混音
+  ///
+  /// [mixId] 混音 ID，需与 [RTCAudioMixingManager.enableAudioMixingFrame] 中一致。
+  ///
+  /// [buffer] 16 位 PCM 数据，建议每次推送 10 ms 的数据。
+  ///
+  /// [samples] 每个声道的采样点数。
+  ///
+  /// 注意：
+  /// + 仅适用于 Android。
+  /// + 数据通过二进制通道传输，不经过方法通道的参数编码，适合高频推送。
+  Future<void> pushAudioMixingFrame({
+    required int mixId,
+    required Uint8List buffer,
+    required int samples,
+    AudioSampleRate sampleRate = AudioSampleRate.rate48000,
+    AudioChannel channel = AudioChannel.stereo,
+  });
 }
@@ -8,6 +8,7 @@ import 'package:flutter/widgets.dart';
 
 import '../src/bytertc_render_view_impl.dart';
 import 'bytertc_media_defines.dart';
+import 'bytertc_room_api.dart';
 import 'bytertc_video_api.dart';
 import 'bytertc_video_defines.dart';
 
@@ -110,6 +111,16 @@ class RTCSurfaceView extends StatefulWidget {
   /// 具体参看 [setZOrderMediaOverlay](https://developer.android.com/reference/android/view/SurfaceView#setZOrderMediaOverlay(boolean))。仅适用于 Android。
   final bool zOrderMediaOverlay;
 
+  /// 是否根据画布的显示尺寸与可见状态自动调整远端视频流的订阅，默认不开启。
+  ///
+  /// 开启后：
+  /// + 画布尺寸变化时，调用 [RTCRoom.setRemoteVideoConfig] 请求不小于画布尺寸的最小分辨率，小尺寸画布同时降低帧率；
+  /// + 画布从窗口移除或尺寸为 0 时，暂停订阅该用户的视频，恢复显示时重新订阅；画布销毁时也会恢复订阅。
+  ///   暂停与恢复不影响音频的订阅；暂停期间若应用自行调用了订阅或取消订阅接口，则以应用的设置为准，不再自动恢复。
+  ///
+  /// 注意：仅对 [VideoCanvasType.remote] 画布生效，仅适用于 Android。
+  final bool adaptiveSubscribe;
+
   /// `PlatformView` 被创建时，收到此回调
   final PlatformViewCreatedCallback? onPlatformViewCreated;
 
@@ -127,6 +138,7 @@ class RTCSurfaceView extends StatefulWidget {
     this.backgroundColor = 0,
     this.zOrderOnTop = false,
     this.zOrderMediaOverlay = false,
+    this.adaptiveSubscribe = false,
     this.onPlatformViewCreated,
     this.gestureRecognizers,
   }) : super(key: key);
@@ -134,3 +146,89 @@ class RTCSurfaceView extends StatefulWidget {
   @override
   State<StatefulWidget> createState() => RTCSurfaceViewState();
 }
+
+/// 基于 Flutter 外接纹理的视频渲染视图。
+///
+/// 视频帧直接绘制到 Flutter 持有的纹理上，并通过 [Texture] 组件显示，不使用 `PlatformView`，
+/// 因此在多路视频宫格等场景下可避免混合合成带来的额外合成开销与掉帧。
+///
+/// 注意：
+/// + 仅适用于 Android，在其他平台以及 [VideoCanvasType.echoTest] 画布类型下会使用 [RTCSurfaceView] 渲染。
+/// + 本地视频不应用 [RTCVideo.setLocalVideoMirrorType] 设置的本地预览镜像。
+/// + 视频帧以 RGBA 格式经视频回调取得，每帧在 SDK 渲染线程上进行一次格式转换、一次 `宽 × 高 × 4` 字节的内存拷贝及一次纹理上传，
+///   单路高分辨率视频的开销高于 [RTCSurfaceView]，可通过 [onRenderStats] 获取实际耗时。
+/// + 通过视频回调取得视频帧，会替换应用为同一路流设置的自定义视频渲染器，反之亦然。
+class RTCTextureView extends StatefulWidget {
+  /// 传入 context 用于实例初始化
+  final RTCViewContext context;
+
+  /// 视频渲染模式
+  final VideoRenderMode renderMode;
+
+  /// 用于填充画布空白部分的背景颜色
+  ///
+  /// 取值范围是 `[0x0000000, 0xFFFFFFFF]`，默认值是 `0x00000000`。
+  final int backgroundColor;
+
+  /// 渲染耗时统计回调，每隔 [renderStatsInterval] 回调一次，为空时不获取统计
+  final ValueChanged<TextureRenderStats>? onRenderStats;
+
+  /// 渲染耗时统计的回调间隔，默认 2 秒
+  final Duration renderStatsInterval;
+
+  /// @nodoc
+  const RTCTextureView({
+    Key? key,
+    required this.context,
+    this.renderMode = VideoRenderMode.hidden,
+    this.backgroundColor = 0,
+    this.onRenderStats,
+    this.renderStatsInterval = const Duration(seconds: 2),
+  }) : super(key: key);
+
+  @override
+  State<StatefulWidget> createState() => RTCTextureViewState();
+}
+
+/// [RTCTextureView] 在一个统计周期内的渲染耗时
+class TextureRenderStats {
+  /// 统计周期，单位为毫秒
+  final int windowMs;
+
+  /// 统计周期内绘制的帧数
+  final int frames;
+
+  /// 统计周期内的平均绘制帧率
+  final double fps;
+
+  /// 每帧拷贝到位图的平均耗时，单位为微秒
+  final int avgCopyUs;
+
+  /// 每帧绘制到纹理的平均耗时，单位为微秒
+  final int avgDrawUs;
+
+  /// 单帧拷贝与绘制的最大耗时，单位为微秒
+  final int maxFrameUs;
+
+  /// @nodoc
+  const TextureRenderStats({
+    required this.windowMs,
+    required this.frames,
+    required this.fps,
+    required this.avgCopyUs,
+    required this.avgDrawUs,
+    required this.maxFrameUs,
+  });
+
+  /// @nodoc
+  factory TextureRenderStats.fromMap(Map<dynamic, dynamic> map) {
+    return TextureRenderStats(
+      windowMs: map['windowMs'],
+      frames: map['frames'],
+      fps: map['fps'].toDouble(),
+      avgCopyUs: map['avgCopyUs'],
+      avgDrawUs: map['avgDrawUs'],
+      maxFrameUs: map['maxFrameUs'],
+    );
+  }
+}
@@ -461,3 +461,139 @@ class RTCLogConfig {
     };
   }
 }
+
+/// 事件回调的投递方式。
+enum EventFlushMode {
+  /// 每个事件单独投递到 Flutter（默认值）。
+  immediate,
+
+  /// 将事件缓存并在每一帧（Choreographer 帧回调）合并投递一次。
+  frame,
+
+  /// 将事件缓存并按 [RTCEventDeliveryConfig.flushInterval] 的间隔合并投递。
+  interval,
+}
+
+/// 事件回调队列已满时的处理策略。
+///
+/// 仅丢弃高频的统计、进度类回调，状态与生命周期类回调（如 `onRoomStateChanged`、`onUserJoined`）不会被丢弃。
+enum EventOverflowPolicy {
+  /// 丢弃队列中最早的可丢弃回调（默认值）。
+  dropOldest,
+
+  /// 丢弃新到达的可丢弃回调。
+  dropNewest,
+}
+
+/// 事件回调的投递参数。
+///
+/// 开启合并投递后，同一事件通道内的回调顺序保持不变。
+class RTCEventDeliveryConfig {
+  /// 投递方式，默认为 [EventFlushMode.immediate]。
+  final EventFlushMode flushMode;
+
+  /// [EventFlushMode.interval] 模式下的投递间隔，单位为 ms，默认值为 16。
+  final int flushInterval;
+
+  /// 是否合并未投递的周期性统计回调，默认开启。
+  ///
+  /// 开启后，`onRoomStats`、`onLocalStreamStats`、`onRemoteStreamStats`、`onNetworkQuality`、`onSysStats` 及音量信息回调在尚未投递时，
+  /// 会被同一来源（用户/流）的新回调替换，仅保留最新值。最新值移至队尾，仍在此前发生的回调（如 `onUserLeave`）之后投递。
+  final bool coalesce;
+
+  /// 每个事件通道未投递回调的最大数量，默认值为 1000。设为 0 表示不限制。
+  final int maxQueueSize;
+
+  /// 队列已满时的处理策略，默认为 [EventOverflowPolicy.dropOldest]。
+  final EventOverflowPolicy overflowPolicy;
+
+  /// @nodoc
+  const RTCEventDeliveryConfig({
+    this.flushMode = EventFlushMode.immediate,
+    this.flushInterval = 16,
+    this.coalesce = true,
+    this.maxQueueSize = 1000,
+    this.overflowPolicy = EventOverflowPolicy.dropOldest,
+  });
+
+  /// @nodoc
+  Map<String, dynamic> toMap() {
+    return <String, dynamic>{
+      'flushMode': flushMode.index,
+      'flushInterval': flushInterval,
+      'coalesce': coalesce,
+      'maxQueueSize': maxQueueSize,
+      'overflowPolicy': overflowPolicy.index,
+    };
+  }
+}
+
+/// 单个方法的平台通道调用统计
+///
+/// 耗时为调用到达平台侧至返回结果的时间，包含排队等待的时间，单位为微秒。
+class MethodCallMetrics {
+  /// 统计周期时长，单位为 ms，自开始统计或上次清零起算。
+  final int windowMs;
+
+  /// 调用次数。
+  final int calls;
+
+  /// 失败次数，包括返回错误、未实现及抛出异常的调用。
+  final int errors;
+
+  /// 统计周期内平均每秒调用次数。
+  final double callsPerSecond;
+
+  /// 平均耗时。
+  final int avgUs;
+
+  /// 最大耗时。
+  final int maxUs;
+
+  /// 50 分位耗时，为所在分桶的上界，相对误差不超过 12.5%。
+  final int p50Us;
+
+  /// 90 分位耗时。
+  final int p90Us;
+
+  /// 99 分位耗时。
+  final int p99Us;
+
+  /// 耗时分布：分桶下界（微秒） -> 调用次数，仅包含非空分桶。
+  ///
+  /// 每个 2 的幂区间均分为 8 个分桶。
+  final Map<int, int> histogram;
+
+  /// @nodoc
+  const MethodCallMetrics({
+    required this.windowMs,
+    required this.calls,
+    required this.errors,
+    required this.callsPerSecond,
+    required this.avgUs,
+    required this.maxUs,
+    required this.p50Us,
+    required this.p90Us,
+    required this.p99Us,
+    required this.histogram,
+  });
+
+  /// @nodoc
+  factory MethodCallMetrics.fromMap(Map<dynamic, dynamic> map) {
+    return MethodCallMetrics(
+      windowMs: map['windowMs'],
+      calls: map['calls'],
+      errors: map['errors'],
+      callsPerSecond: map['callsPerSecond'],
+      avgUs: map['avgUs'],
+      maxUs: map['maxUs'],
+      p50Us: map['p50Us'],
+      p90Us: map['p90Us'],
+      p99Us: map['p99Us'],
+      histogram: {
+        for (final bucket in map['histogram'] as List)
+          (bucket as List)[0] as int: bucket[1] as int
+      },
+    );
+  }
+}
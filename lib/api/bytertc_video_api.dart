@@ -26,12 +26,25 @@ import 'bytertc_video_defines.dart';
 import 'bytertc_video_effect_api.dart';
 import 'bytertc_video_event_handler.dart';
 
+/// [tick]：一个周期的截图结果，参看 [SnapshotSamplerTick]。
+typedef OnSnapshotSamplerTickType = void Function(SnapshotSamplerTick tick);
+
+/// [frames]：一批音频帧，参看 [AudioStreamFrame]。
+///
+/// [droppedFrames]：自上一批以来因缓冲区已满而丢弃的音频帧数。
+typedef OnAudioStreamFramesType = void Function(
+    List<AudioStreamFrame> frames, int droppedFrames);
+
 /// 引擎接口
 abstract class RTCVideo {
   /// 创建引擎对象
   ///
   /// 如果当前线程中未创建引擎实例，那么你必须先使用此方法，以使用 RTC 提供的各种音视频能力。  <br>
   /// 如果当前线程中已创建了引擎实例，再次调用此方法时，会返回已创建的引擎实例。
+  ///
+  /// 注意：
+  /// + Android 端默认在主线程创建引擎。可在应用的 `AndroidManifest.xml` 中通过 `<meta-data android:name="com.bytedance.ve_rtc.create_in_background" android:value="true" />` 改为在后台线程创建，不阻塞 UI 渲染；创建期间发起的调用排队，在创建完成后按顺序执行。SDK 未声明引擎创建可在非主线程调用，开启前请在所用 SDK 版本上验证。关闭后台派发（参看 [RTCVideo.setBackgroundMethodDispatch]）时仍在主线程创建。
+  /// + 开启后台创建后，Android 端可再通过 `<meta-data android:name="com.bytedance.ve_rtc.prewarm_app_id" android:value="你的 AppID" />` 开启预创建：插件加载后即在后台线程以默认参数创建引擎，之后以相同 AppID 且未设置 [RTCVideoContext.parameters] 调用本方法时直接使用该引擎；AppID 或参数不同时销毁并以新的参数重新创建。
   static Future<RTCVideo?> createRTCVideo(RTCVideoContext context) =>
       RTCVideoImpl.createRTCVideo(context);
 
@@ -57,6 +70,70 @@ abstract class RTCVideo {
   static Future<String?> getErrorDescription(int code) =>
       RTCVideoImpl.getErrorDescription(code);
 
+  /// 设置事件回调投递到 Flutter 的方式，对所有引擎及房间的回调生效。
+  ///
+  /// [config]：投递参数，参看 [RTCEventDeliveryConfig]。
+  ///
+  /// 注意：
+  /// + 仅适用于 Android。
+  /// + 在房间内远端用户较多时，开启合并投递可以减少主线程唤醒与平台通道的消息次数。
+  static Future<void> setEventDeliveryConfig(RTCEventDeliveryConfig config) =>
+      RTCVideoImpl.setEventDeliveryConfig(config);
+
+  /// 设置是否在后台串行线程中执行引擎、房间等对象的方法调用，默认开启。
+  ///
+  /// [enable]：
+  /// + `true`：除涉及视图、屏幕共享授权等必须在主线程执行的方法外，其余调用在后台线程按调用顺序执行，避免阻塞 UI 渲染；
+  /// + `false`：所有调用在主线程执行。
+  ///
+  /// 注意：仅适用于 Android，对之后发起的调用生效。
+  static Future<void> setBackgroundMethodDispatch(bool enable) =>
+      RTCVideoImpl.setBackgroundMethodDispatch(enable);
+
+  /// 获取因事件队列已满而被丢弃的回调数量。
+  ///
+  /// [reset]：获取后是否清零计数。
+  ///
+  /// 返回值：事件通道名称到 `回调名称 -> 丢弃次数` 的映射。
+  ///
+  /// 注意：仅适用于 Android，参看 [RTCEventDeliveryConfig.maxQueueSize]。
+  static Future<Map<String, Map<String, int>>> getEventDropCounters(
+          {bool reset = false}) =>
+      RTCVideoImpl.getEventDropCounters(reset: reset);
+
+  /// 获取事件负载对象复用池的统计，用于评估回调序列化的内存分配情况。
+  ///
+  /// 返回值包含：
+  /// + `obtained`：获取负载对象的总次数；
+  /// + `created`：新分配负载对象的次数，与 `obtained` 的差值即复用次数；
+  /// + `recycled`：负载对象发送后归还的次数。
+  ///
+  /// 注意：仅适用于 Android。
+  static Future<Map<String, int>> getEventPayloadPoolStats() =>
+      RTCVideoImpl.getEventPayloadPoolStats();
+
+  /// 开启或关闭平台通道调用的统计，默认开启。
+  ///
+  /// 统计仅涉及原子计数，可在正式版本中常开。
+  ///
+  /// 注意：仅适用于 Android，对之后发起的调用生效。
+  static Future<void> setMethodMetricsEnabled(bool enable) =>
+      RTCVideoImpl.setMethodMetricsEnabled(enable);
+
+  /// 获取各平台通道方法的调用次数、失败次数及耗时分布，用于定位耗时较长的调用。
+  ///
+  /// [reset]：获取后是否清零统计并开始新的统计周期。
+  ///
+  /// 返回值：通道名称（如 `RTCVideoPlugin`、`RTCRoomPlugin`，多个房间合并统计）到 `方法名 -> 统计` 的映射，参看 [MethodCallMetrics]。
+  ///
+  /// 其中 `Startup` 通道统计 [RTCVideo.createRTCVideo]、[RTCVideo.createRTCRoom] 中创建插件及注册通道的耗时，
+  /// 分别计入 `attachRTCVideoPlugin`、`attachRTCRoomPlugin`，可用于对比不同版本的启动耗时。
+  ///
+  /// 注意：仅适用于 Android。
+  static Future<Map<String, Map<String, MethodCallMetrics>>> getMethodMetrics(
+          {bool reset = false}) =>
+      RTCVideoImpl.getMethodMetrics(reset: reset);
+
   /// 销毁由 [RTCVideo.createRTCVideo] 所创建的引擎实例，并释放所有相关资源。
   ///
   /// 注意：
@@ -67,6 +144,26 @@ abstract class RTCVideo {
   /// 设置事件回调的接收类
   void setRTCVideoEventHandler(RTCVideoEventHandler handler);
 
+  /// 将 [calls] 中同步发起的 RTCVideo 与 RTCRoom 方法调用合并为一次平台通道调用，按发起顺序执行。
+  ///
+  /// 各方法返回的 `Future` 在整批执行完成后，分别以各自的结果完成。
+  ///
+  /// ```dart
+  /// await rtcVideo.invokeBatch(() {
+  ///   rtcVideo.setVideoEncoderConfig(configs);
+  ///   rtcVideo.setAudioProfile(AudioProfileType.standard);
+  ///   room.joinRoom(token: token, userInfo: userInfo, roomConfig: roomConfig);
+  /// });
+  /// ```
+  ///
+  /// 注意：
+  /// + 仅适用于 Android，其他平台逐个调用。
+  /// + 在 [calls] 中 `await` 之后发起的调用不会合并。
+  /// + 首次使用需注册事件通道的功能（如 [RTCVideo.startLiveTranscoding]、[RTCVideo.startASR]、截图等）会在该处将合并拆分为前后两次平台通道调用，仍按发起顺序执行。
+  /// + 子模块对象（如 [RTCAudioMixingManager]、[RTCVideoEffect]、`RTCRangeAudio`、`RTCSpatialAudio`）的方法使用各自的平台通道，不参与合并，也不保证与批量调用之间的先后顺序。
+  /// + 适用于进房前后集中设置参数的场景，可减少平台通道往返次数。
+  Future<void> invokeBatch(void Function() calls);
+
   /// 开启内部音频采集，默认为关闭状态
   ///
   /// 内部采集是指使用 RTC SDK 内置的音频采集机制进行音频采集。
@@ -264,6 +361,18 @@ abstract class RTCVideo {
   /// + 通过 [RTCVideoEventHandler.onActiveSpeaker] 回调获取房间内的最活跃用户信息。
   Future<int?> enableAudioPropertiesReport(AudioPropertiesConfig config);
 
+  /// 设置 [RTCVideoEventHandler.onRemoteAudioPropertiesReport] 回调的过滤条件
+  ///
+  /// [filter]：过滤条件，参看 [RemoteAudioPropertiesFilter]。
+  ///
+  /// 注意：
+  /// + 仅适用于 Android。
+  /// + 用户从回调范围中移出时（如音量低于阈值），会额外回调一次其当前音量信息。
+  /// + 若该用户已不在 SDK 的音量回调中（如已停止发布或离开房间），则额外回调一次音量为 0 的信息。
+  /// + 未及时送达 Dart 的回调会与下一次回调合并，每条流仅保留最新的信息。
+  Future<void> setRemoteAudioPropertiesFilter(
+      RemoteAudioPropertiesFilter filter);
+
   /// 调节来自指定远端用户的音频播放音量
   ///
   /// [roomId]：远端用户所属的房间 ID。
@@ -1112,6 +1221,22 @@ abstract class RTCVideo {
     required MixedStreamConfig mixedConfig,
   });
 
+  /// 设置客户端合流数据的本地输出，需在 [RTCVideo.startPushMixedStreamToCDN] 之前调用
+  ///
+  /// [config]：本地输出配置，参看 [ClientMixedStreamConfig]
+  ///
+  /// 返回值：
+  /// + `0`：调用成功；
+  /// + `-2`：无法打开本地输出，如文件路径不可写，此时本地输出不开启。
+  ///
+  /// 注意：仅适用于 Android。
+  Future<int?> setClientMixedStreamConfig(ClientMixedStreamConfig config);
+
+  /// 获取客户端合流本地输出的统计，包括收到、丢弃、已写入、无法复制（如纹理格式）的帧数及平均、最大延迟（毫秒）
+  ///
+  /// 注意：仅适用于 Android，未开启本地输出时返回空。
+  Future<Map<String, int>> getClientMixedStreamStats();
+
   /// 新增单流转推直播任务
   ///
   /// [taskId] 任务 ID。<br>
@@ -1315,6 +1440,29 @@ abstract class RTCVideo {
   /// + 如果你需要在多个房间发布音视频流，无须创建多房间，直接调用 [RTCRoom.startForwardStreamToRooms]。
   Future<RTCRoom?> createRTCRoom(String roomId);
 
+  /// 预先创建房间，用于切换到下一个房间时减少 [RTCVideo.createRTCRoom] 的耗时
+  ///
+  /// 预创建的房间已完成 RTCRoom 实例的创建及各通道、回调的注册。之后以相同的 roomId 调用 [RTCVideo.createRTCRoom] 时，直接返回预创建的房间。
+  ///
+  /// [roomIds]：即将进入的房间 ID，已预创建的房间会被保留
+  ///
+  /// [maxRooms]：最多保留的预创建房间数，超出时销毁最早预创建的房间
+  ///
+  /// [expireSeconds]：预创建房间的保留时长，超时未使用的房间将被销毁
+  ///
+  /// 返回值：预创建成功的房间 ID
+  ///
+  /// 注意：
+  /// + 仅适用于 Android，其他平台返回空列表。
+  /// + 预创建的房间未加入，不会产生音视频流量。
+  Future<List<String>> preCreateRTCRooms(List<String> roomIds,
+      {int maxRooms = 3, int expireSeconds = 60});
+
+  /// 销毁所有未使用的预创建房间
+  ///
+  /// 注意：仅适用于 Android。
+  Future<void> clearPreCreatedRTCRooms();
+
   /// 使用 RTC SDK 内部采集模块开始采集屏幕音频流和（或）视频流
   ///
   /// 返回值：
@@ -1710,7 +1858,9 @@ abstract class RTCVideo {
   ///
   /// [streamIndex]：截图的视频流的属性
   ///
-  /// [filePath]：本地截图保存路径
+  /// [filePath]：本地截图保存路径。[SnapshotConfig.output] 为内存输出时，仅在结果超出 [SnapshotConfig.maxBytes] 时写入该路径
+  ///
+  /// [config]：截图编码格式、质量及缩放参数，参看 [SnapshotConfig]
   ///
   /// 方法调用成功则收到 [LocalSnapshot] 对象，调用失败则返回值如下：
   /// + -100：调用异常；
@@ -1721,14 +1871,17 @@ abstract class RTCVideo {
   /// 注意：对截取的画面，包含本地视频处理的全部效果，包含旋转，镜像，美颜等。
   CancelableOperation<LocalSnapshot> takeLocalSnapshot(
     StreamIndex streamIndex,
-    String filePath,
-  );
+    String filePath, {
+    SnapshotConfig config = const SnapshotConfig(),
+  });
 
   /// 截取远端视频画面
   ///
   /// [streamKey]：截图的远端视频流信息
   ///
-  /// [filePath]：远端截图保存路径
+  /// [filePath]：远端截图保存路径。[SnapshotConfig.output] 为内存输出时，仅在结果超出 [SnapshotConfig.maxBytes] 时写入该路径
+  ///
+  /// [config]：截图编码格式、质量及缩放参数，参看 [SnapshotConfig]
   ///
   /// 方法调用成功则收到 [RemoteSnapshot] 对象，调用失败则返回值如下：
   /// + -100：调用异常；
@@ -1737,8 +1890,59 @@ abstract class RTCVideo {
   /// + -103：图片格式错误。
   CancelableOperation<RemoteSnapshot> takeRemoteSnapshot(
     RemoteStreamKey streamKey,
-    String filePath,
-  );
+    String filePath, {
+    SnapshotConfig config = const SnapshotConfig(),
+  });
+
+  /// 开启远端视频流周期截图，用于为房间内各用户生成缩略图
+  ///
+  /// [config]：截图参数，参看 [SnapshotSamplerConfig]
+  ///
+  /// [onTick]：每个周期的截图结果，在该周期所有流返回结果或下一周期开始时回调一次
+  ///
+  /// 返回值：
+  /// + `0`：调用成功；
+  /// + `-2`：无法创建截图保存目录。
+  ///
+  /// 注意：
+  /// + 仅适用于 Android。
+  /// + 重复调用将以新的参数重新开始。
+  Future<int?> startSnapshotSampler(
+      SnapshotSamplerConfig config, OnSnapshotSamplerTickType onTick);
+
+  /// 更新周期截图的远端视频流，从下一周期开始生效
+  ///
+  /// 注意：仅适用于 Android。
+  Future<int?> updateSnapshotSamplerStreams(List<RemoteStreamKey> streamKeys);
+
+  /// 停止远端视频流周期截图
+  ///
+  /// 注意：
+  /// + 仅适用于 Android。
+  /// + 停止时未完成周期中已返回的截图结果，仍会通过 `onTick` 回调一次。
+  Future<int?> stopSnapshotSampler();
+
+  /// 开启音频帧流，将 SDK 的原始音频数据批量回调到 Dart，可用于本地语音识别、响度分析等场景
+  ///
+  /// [config]：音频帧流配置，参看 [AudioFrameStreamConfig]
+  ///
+  /// [onFrames]：每个批量回调间隔收到一次音频帧
+  ///
+  /// 返回值：
+  /// + `0`：调用成功；
+  /// + `<0`：调用失败。
+  ///
+  /// 注意：
+  /// + 仅适用于 Android。
+  /// + Dart 处理不及时时，新的音频帧将被丢弃，不会阻塞 SDK 的音频线程。
+  /// + 重复调用将以新的配置重新开始。
+  Future<int?> startAudioFrameStream(
+      AudioFrameStreamConfig config, OnAudioStreamFramesType onFrames);
+
+  /// 关闭音频帧流
+  ///
+  /// 注意：仅适用于 Android。
+  Future<int?> stopAudioFrameStream();
 
   /// 开启云代理
   ///
@@ -1720,6 +1720,72 @@ class PublicStreaming {
   }
 }
 
+/// 截图编码格式
+enum SnapshotFormat {
+  /// JPEG
+  jpeg,
+
+  /// PNG，无损，忽略 [SnapshotConfig.quality]
+  png,
+
+  /// 有损 WebP，Android 11 以下使用系统的 WebP 编码
+  webpLossy,
+}
+
+/// 截图结果的输出方式
+enum SnapshotOutput {
+  /// 编码后写入 `filePath`
+  file,
+
+  /// 编码后的图片数据通过 [LocalSnapshot.data] / [RemoteSnapshot.data] 返回，不写入文件
+  encodedBytes,
+
+  /// 未编码的 RGBA 像素通过 [LocalSnapshot.data] / [RemoteSnapshot.data] 返回，行字节数参看 `stride`
+  ///
+  /// SDK 返回的图片不是 32 位 RGBA 格式时，按 [encodedBytes] 返回。
+  rgba,
+}
+
+/// 截图编码参数
+///
+/// 注意：仅 Android 支持，编码在独立线程进行，不阻塞 SDK 回调线程。
+class SnapshotConfig {
+  /// 编码格式，默认为 JPEG
+  final SnapshotFormat format;
+
+  /// 编码质量，取值范围 [0, 100]，默认为 100
+  final int quality;
+
+  /// 截图长边的最大像素数，超出时等比缩小后再编码；默认为 0，保持原始尺寸
+  final int maxSize;
+
+  /// 截图结果的输出方式，默认写入文件
+  final SnapshotOutput output;
+
+  /// 内存返回结果的最大字节数，超出时回退为写入 `filePath`；默认为 4 MB
+  final int maxBytes;
+
+  /// @nodoc
+  const SnapshotConfig({
+    this.format = SnapshotFormat.jpeg,
+    this.quality = 100,
+    this.maxSize = 0,
+    this.output = SnapshotOutput.file,
+    this.maxBytes = 4 * 1024 * 1024,
+  });
+
+  /// @nodoc
+  Map<String, dynamic> toMap() {
+    return <String, dynamic>{
+      'format': format.index,
+      'quality': quality,
+      'maxSize': maxSize,
+      'output': output.index,
+      'maxBytes': maxBytes,
+    };
+  }
+}
+
 /// 本地截图结果
 class LocalSnapshot {
   /// 截图任务 ID
@@ -1737,6 +1803,21 @@ class LocalSnapshot {
   /// 图片高度
   int height;
 
+  /// 编码及写入文件耗时，单位为毫秒，截图失败时为 0
+  int encodeTime;
+
+  /// 截图结果大小，单位为字节，截图失败时为 0
+  int fileSize;
+
+  /// 截图结果的实际输出方式，内存结果超出 [SnapshotConfig.maxBytes] 时为 [SnapshotOutput.file]
+  SnapshotOutput output;
+
+  /// 内存返回的截图数据，[output] 为 [SnapshotOutput.file] 时为空
+  Uint8List? data;
+
+  /// RGBA 数据每行的字节数，仅 [output] 为 [SnapshotOutput.rgba] 时有效
+  int stride;
+
   /// @nodoc
   LocalSnapshot({
     this.taskId = 0,
@@ -1744,6 +1825,11 @@ class LocalSnapshot {
     required this.filePath,
     this.width = 0,
     this.height = 0,
+    this.encodeTime = 0,
+    this.fileSize = 0,
+    this.output = SnapshotOutput.file,
+    this.data,
+    this.stride = 0,
   });
 }
 
@@ -1764,6 +1850,21 @@ class RemoteSnapshot {
   /// 图片高度
   int height;
 
+  /// 编码及写入文件耗时，单位为毫秒，截图失败时为 0
+  int encodeTime;
+
+  /// 截图结果大小，单位为字节，截图失败时为 0
+  int fileSize;
+
+  /// 截图结果的实际输出方式，内存结果超出 [SnapshotConfig.maxBytes] 时为 [SnapshotOutput.file]
+  SnapshotOutput output;
+
+  /// 内存返回的截图数据，[output] 为 [SnapshotOutput.file] 时为空
+  Uint8List? data;
+
+  /// RGBA 数据每行的字节数，仅 [output] 为 [SnapshotOutput.rgba] 时有效
+  int stride;
+
   /// @nodoc
   RemoteSnapshot({
     this.taskId = 0,
@@ -1771,6 +1872,68 @@ class RemoteSnapshot {
     required this.filePath,
     this.width = 0,
     this.height = 0,
+    this.encodeTime = 0,
+    this.fileSize = 0,
+    this.output = SnapshotOutput.file,
+    this.data,
+    this.stride = 0,
+  });
+}
+
+/// 远端视频流周期截图参数
+class SnapshotSamplerConfig {
+  /// 截图的远端视频流
+  final List<RemoteStreamKey> streamKeys;
+
+  /// 截图周期，单位为毫秒，最小为 1000；默认为 10000。一个周期内的截图请求均匀分散在整个周期中发起
+  final int interval;
+
+  /// 截图保存目录
+  final String directory;
+
+  /// 每路流在 [directory] 中循环覆盖的文件数，默认为 3
+  final int maxFilesPerStream;
+
+  /// 截图编码参数，默认缩小至长边 320 像素、JPEG 质量 80
+  final SnapshotConfig snapshot;
+
+  /// @nodoc
+  const SnapshotSamplerConfig({
+    required this.streamKeys,
+    required this.directory,
+    this.interval = 10000,
+    this.maxFilesPerStream = 3,
+    this.snapshot = const SnapshotConfig(quality: 80, maxSize: 320),
+  });
+
+  /// @nodoc
+  Map<String, dynamic> toMap() {
+    return <String, dynamic>{
+      'streamKeys': streamKeys.map((e) => e.toMap()).toList(),
+      'interval': interval,
+      'directory': directory,
+      'maxFilesPerStream': maxFilesPerStream,
+      'snapshot': snapshot.toMap(),
+    };
+  }
+}
+
+/// 一个周期的截图结果
+class SnapshotSamplerTick {
+  /// 周期序号，从 1 开始
+  final int tick;
+
+  /// 截图成功的远端流
+  final List<RemoteSnapshot> snapshots;
+
+  /// 截图失败的远端流，在周期结束前未返回结果的流不包含在内
+  final List<RemoteStreamKey> failedStreams;
+
+  /// @nodoc
+  SnapshotSamplerTick({
+    required this.tick,
+    required this.snapshots,
+    required this.failedStreams,
   });
 }
 
@@ -2364,6 +2527,35 @@ class MixedStreamServerControlConfig {
   }
 }
 
+/// 端云一体合流中，客户端合流数据的本地输出配置
+///
+/// 当 [MixedStreamConfig.expectedMixingType] 为 [StreamMixingType.byClient] 时，合流后的音视频帧经有界队列交给本地输出；
+/// 队列已满时丢弃最早的帧，不阻塞 SDK。
+class ClientMixedStreamConfig {
+  /// 是否开启本地输出
+  final bool enable;
+
+  /// 合流数据的保存路径，宿主应用通过 Android 原生接口 `MixedStreamSinkRegistry.setSink` 设置了自定义输出时忽略
+  final String filePath;
+
+  /// 队列中最多缓存的帧数，默认为 60
+  final int maxQueueFrames;
+
+  /// @nodoc
+  const ClientMixedStreamConfig({
+    required this.enable,
+    this.filePath = '',
+    this.maxQueueFrames = 60,
+  });
+
+  /// @nodoc
+  Map<String, dynamic> toMap() => {
+        'enable': enable,
+        'filePath': filePath,
+        'maxQueueFrames': maxQueueFrames,
+      };
+}
+
 /// 转推直播配置参数。(新)
 class MixedStreamConfig {
   /// 推流 CDN 地址。仅支持 RTMP 协议，Url 必须满足正则 `/^rtmps?:\/\//`。
@@ -6,6 +6,8 @@ import 'dart:async';
 
 import 'package:flutter/services.dart';
 
+import 'bytertc_event_codec.dart';
+
 class RTCEventChannel {
   final Stream<dynamic> _stream;
   StreamSubscription<dynamic>? _subscription;
@@ -13,7 +15,8 @@ class RTCEventChannel {
   StreamSubscription<dynamic>? get subscription => _subscription;
 
   RTCEventChannel(String name)
-      : _stream = EventChannel(name).receiveBroadcastStream();
+      : _stream = EventChannel(name, StandardMethodCodec(RTCEventCodec()))
+            .receiveBroadcastStream(RTCEventCodec.listenArguments);
 
   void listen(
       void Function(String methodName, Map<dynamic, dynamic> dic)? onData,
@@ -22,11 +25,23 @@ class RTCEventChannel {
       bool? cancelOnError}) {
     cancel();
     _subscription = _stream.listen((event) {
-      final methodName = event['methodName'] as String;
-      onData?.call(methodName, event);
+      // Batched delivery sends a list of events in emission order
+      if (event is List) {
+        for (final item in event) {
+          _dispatch(item, onData);
+        }
+      } else {
+        _dispatch(event, onData);
+      }
     }, onError: onError, onDone: onDone, cancelOnError: cancelOnError);
   }
 
+  void _dispatch(dynamic event,
+      void Function(String methodName, Map<dynamic, dynamic> dic)? onData) {
+    final methodName = event['methodName'] as String;
+    onData?.call(methodName, event);
+  }
+
   void cancel() {
     _subscription?.cancel();
     _subscription = null;
@@ -0,0 +1,90 @@
+// Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+// SPDX-License-Identifier: MIT
+
+// ignore_for_file: public_member_api_docs
+import 'package:flutter/foundation.dart';
+import 'package:flutter/services.dart';
+
+/// Decoder of the compact event encoding written by the Android `RTCEventCodec`.
+///
+/// A map is sent as a session id and a schema id followed by its values, the
+/// keys and the method name are only sent with the first use of a schema. The
+/// platform side starts a new session on every listen, the tables of the latest
+/// sessions are kept so that events sent before a re-listen still decode.
+class RTCEventCodec extends StandardMessageCodec {
+  static const int _schemaRef = 128;
+  static const int _schemaDef = 129;
+
+  static const String _methodName = 'methodName';
+
+  /// Number of session tables kept, the current one and the one before it
+  static const int _maxSessions = 2;
+
+  /// Session id -> schema table, in the order the sessions were first seen
+  final Map<int, List<_RTCEventSchema?>> _sessions = {};
+
+  RTCEventCodec();
+
+  /// Listen arguments asking the platform side for compact encoding
+  static const Map<String, String> listenArguments = {'codec': 'compact'};
+
+  @override
+  dynamic readValueOfType(int type, ReadBuffer buffer) {
+    switch (type) {
+      case _schemaDef:
+        final schemas = _session(readSize(buffer));
+        final id = readSize(buffer);
+        final methodName = readValue(buffer) as String?;
+        final count = readSize(buffer);
+        final keys = List<String>.generate(
+            count, (_) => readValue(buffer) as String,
+            growable: false);
+        final schema = _RTCEventSchema(methodName, keys);
+        while (schemas.length <= id) {
+          schemas.add(null);
+        }
+        schemas[id] = schema;
+        return _readFields(schema, buffer);
+      case _schemaRef:
+        final schemas = _session(readSize(buffer));
+        final id = readSize(buffer);
+        final schema = id < schemas.length ? schemas[id] : null;
+        if (schema == null) {
+          throw const FormatException('Unknown event schema');
+        }
+        return _readFields(schema, buffer);
+      default:
+        return super.readValueOfType(type, buffer);
+    }
+  }
+
+  List<_RTCEventSchema?> _session(int session) {
+    final schemas = _sessions[session];
+    if (schemas != null) {
+      return schemas;
+    }
+    while (_sessions.length >= _maxSessions) {
+      _sessions.remove(_sessions.keys.first);
+    }
+    return _sessions[session] = [];
+  }
+
+  Map<dynamic, dynamic> _readFields(_RTCEventSchema schema, ReadBuffer buffer) {
+    final map = <dynamic, dynamic>{};
+    for (final key in schema.keys) {
+      map[key] = readValue(buffer);
+    }
+    if (schema.methodName != null) {
+      map[_methodName] = schema.methodName;
+    }
+    return map;
+  }
+}
+
+@immutable
+class _RTCEventSchema {
+  final String? methodName;
+  final List<String> keys;
+
+  const _RTCEventSchema(this.methodName, this.keys);
+}
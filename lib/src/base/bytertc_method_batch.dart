@@ -0,0 +1,150 @@
+// Copyright (c) 2022 Beijing Volcano Engine Technology Ltd.
+// SPDX-License-Identifier: MIT
+
+// ignore_for_file: public_member_api_docs
+import 'dart:async';
+
+import 'package:flutter/services.dart';
+
+class _BatchCall<T> {
+  final Map<String, dynamic> item;
+  final Completer<T?> completer = Completer<T?>();
+
+  _BatchCall(this.item);
+
+  void complete(dynamic res) {
+    if (res is! Map) {
+      completer.completeError(MissingPluginException());
+      return;
+    }
+    if (res['notImplemented'] == true) {
+      completer.completeError(MissingPluginException(
+          'No implementation found for method ${item['method']}'));
+    } else if (res.containsKey('errorCode')) {
+      completer.completeError(PlatformException(
+        code: res['errorCode'] as String,
+        message: res['errorMessage'] as String?,
+        details: res['errorDetails'],
+      ));
+    } else {
+      completer.complete(res['value'] as T?);
+    }
+  }
+
+  void fail(Object error) => completer.completeError(error);
+}
+
+/// A call that needs a platform round trip before it can be added, such as
+/// the registration of an event channel.
+class _DeferredCall<T> {
+  final Future<void> Function() prepare;
+  final Future<T> Function() action;
+  final Completer<T> completer = Completer<T>();
+
+  _DeferredCall(this.prepare, this.action);
+}
+
+/// Collects method calls of RTCVideo and RTCRoom into one `invokeBatch` call.
+class RTCMethodBatch {
+  static RTCMethodBatch? _current;
+
+  /// The batch being collected, method calls are added to it instead of being sent.
+  static RTCMethodBatch? get current => _current;
+
+  /// [_BatchCall]s and [_DeferredCall]s in the order they were issued
+  final List<Object> _calls = [];
+
+  /// Run [calls] and send all method calls issued synchronously inside it
+  /// through [channel] as one batch.
+  static Future<void> run(MethodChannel channel, void Function() calls) {
+    if (_current != null) {
+      // Nested batch joins the outer one
+      calls();
+      return Future.value();
+    }
+    final batch = RTCMethodBatch();
+    _current = batch;
+    try {
+      calls();
+    } finally {
+      _current = null;
+    }
+    return batch._send(channel);
+  }
+
+  Future<T?> add<T>(String target, String method,
+      [Map<String, dynamic>? arguments, int? insId]) {
+    final call = _BatchCall<T>({
+      'target': target,
+      'insId': insId,
+      'method': method,
+      'arguments': arguments,
+    });
+    _calls.add(call);
+    return call.completer.future;
+  }
+
+  /// Add [action] after the calls issued so far, once [prepare] completed.
+  ///
+  /// The batch is split at this point: the calls before are sent, then
+  /// [prepare] runs, then the calls issued by [action] and the calls after
+  /// it are sent, so the order of issue is kept.
+  Future<T> defer<T>(
+      Future<void> Function() prepare, Future<T> Function() action) {
+    final call = _DeferredCall<T>(prepare, action);
+    _calls.add(call);
+    return call.completer.future;
+  }
+
+  Future<void> _send(MethodChannel channel) async {
+    final remaining = List<Object>.of(_calls);
+    while (remaining.isNotEmpty) {
+      final index = remaining.indexWhere((e) => e is _DeferredCall);
+      final end = index < 0 ? remaining.length : index;
+      await _sendCalls(channel, remaining.sublist(0, end).cast<_BatchCall>());
+      remaining.removeRange(0, end);
+      if (remaining.isEmpty) break;
+
+      final deferred = remaining.removeAt(0) as _DeferredCall;
+      await _runDeferred(deferred, remaining);
+    }
+  }
+
+  /// Run [deferred], inserting the calls it issues at the head of [remaining]
+  Future<void> _runDeferred<T>(
+      _DeferredCall<T> deferred, List<Object> remaining) async {
+    try {
+      await deferred.prepare();
+    } catch (e) {
+      deferred.completer.completeError(e);
+      return;
+    }
+    final batch = RTCMethodBatch();
+    _current = batch;
+    try {
+      deferred.completer.complete(deferred.action());
+    } catch (e) {
+      deferred.completer.completeError(e);
+    } finally {
+      _current = null;
+    }
+    remaining.insertAll(0, batch._calls);
+  }
+
+  static Future<void> _sendCalls(
+      MethodChannel channel, List<_BatchCall> calls) async {
+    if (calls.isEmpty) return;
+    try {
+      final results = await channel.invokeListMethod<dynamic>(
+          'invokeBatch', {'calls': calls.map((e) => e.item).toList()});
+      for (var i = 0; i < calls.length; i++) {
+        calls[i].complete(
+            results != null && i < results.length ? results[i] : null);
+      }
+    } catch (e) {
+      for (final call in calls) {
+        call.fail(e);
+      }
+    }
+  }
+}
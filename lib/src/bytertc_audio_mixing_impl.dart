@@ -2,18 +2,35 @@
 // SPDX-License-Identifier: MIT
 
 // ignore_for_file: public_member_api_docs
+import 'dart:io' show Platform;
+import 'dart:typed_data';
+
 import 'package:flutter/services.dart';
 
 import '../api/bytertc_audio_defines.dart';
 import '../api/bytertc_audio_mixing_api.dart';
+import 'base/bytertc_enum_convert.dart';
 
 class RTCAudioMixingManagerImpl implements RTCAudioMixingManager {
   final MethodChannel _methodChannel =
       const MethodChannel('com.bytedance.ve_rtc_audio_mixing_manager');
 
+  /// mixId, sampleRate, channel, samples as little endian int32, followed by PCM data
+  static const int _frameHeaderSize = 16;
+
+  final BasicMessageChannel<ByteData> _frameChannel =
+      const BasicMessageChannel('com.bytedance.ve_rtc_audio_mixing_frame',
+          BinaryCodec());
+
+  /// Completes once the platform side is created, which happens on first use
+  final Future<void> _attached;
+
+  RTCAudioMixingManagerImpl(this._attached);
+
   Future<T?> _invokeMethod<T>(String method,
       [Map<String, dynamic>? arguments]) {
-    return _methodChannel.invokeMethod(method, arguments);
+    return _attached
+        .then((_) => _methodChannel.invokeMethod<T>(method, arguments));
   }
 
   @override
@@ -175,4 +192,50 @@ class RTCAudioMixingManagerImpl implements RTCAudioMixingManager {
       'type': type.index,
     });
   }
+
+  @override
+  Future<void> enableAudioMixingFrame({
+    required int mixId,
+    required AudioMixingType type,
+  }) {
+    if (!Platform.isAndroid) {
+      return Future.value();
+    }
+    return _invokeMethod<void>('enableAudioMixingFrame', {
+      'mixId': mixId,
+      'type': type.index,
+    });
+  }
+
+  @override
+  Future<void> disableAudioMixingFrame(int mixId) {
+    if (!Platform.isAndroid) {
+      return Future.value();
+    }
+    return _invokeMethod<void>('disableAudioMixingFrame', {
+      'mixId': mixId,
+    });
+  }
+
+  @override
+  Future<void> pushAudioMixingFrame({
+    required int mixId,
+    required Uint8List buffer,
+    required int samples,
+    AudioSampleRate sampleRate = AudioSampleRate.rate48000,
+    AudioChannel channel = AudioChannel.stereo,
+  }) async {
+    if (!Platform.isAndroid) {
+      return;
+    }
+    final message = Uint8List(_frameHeaderSize + buffer.length);
+    ByteData.view(message.buffer)
+      ..setInt32(0, mixId, Endian.little)
+      ..setInt32(4, sampleRate.value, Endian.little)
+      ..setInt32(8, channel.value, Endian.little)
+      ..setInt32(12, samples, Endian.little);
+    message.setRange(_frameHeaderSize, message.length, buffer);
+    await _attached;
+    await _frameChannel.send(ByteData.view(message.buffer));
+  }
 }
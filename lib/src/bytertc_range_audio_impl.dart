@@ -13,13 +13,19 @@ class RTCRangeAudioImpl implements RTCRangeAudio {
   late final MethodChannel _methodChannel;
   final int _insId;
 
-  RTCRangeAudioImpl(int insId) : _insId = insId {
+  /// Completes once the platform side is created, which happens on first use
+  final Future<void> _attached;
+
+  RTCRangeAudioImpl(int insId, Future<void> attached)
+      : _insId = insId,
+        _attached = attached {
     _methodChannel = MethodChannel('com.bytedance.ve_rtc_range_audio$insId');
   }
 
   Future<T?> _invokeMethod<T>(String method,
       [Map<String, dynamic>? arguments]) {
-    return _methodChannel.invokeMethod(method, arguments);
+    return _attached
+        .then((_) => _methodChannel.invokeMethod<T>(method, arguments));
   }
 
   @override
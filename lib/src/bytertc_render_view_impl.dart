@@ -2,6 +2,8 @@
 // SPDX-License-Identifier: MIT
 
 // ignore_for_file: public_member_api_docs
+import 'dart:async';
+
 import 'package:flutter/foundation.dart';
 import 'package:flutter/rendering.dart';
 import 'package:flutter/services.dart';
@@ -33,6 +35,7 @@ class RTCSurfaceViewState extends State<RTCSurfaceView> {
             'backgroundColor': widget.backgroundColor,
             'zOrderOnTop': widget.zOrderOnTop,
             'zOrderMediaOverlay': widget.zOrderMediaOverlay,
+            'adaptiveSubscribe': widget.adaptiveSubscribe,
           },
           creationParamsCodec: const StandardMessageCodec(),
           gestureRecognizers: widget.gestureRecognizers,
@@ -183,3 +186,148 @@ class RTCSurfaceViewState extends State<RTCSurfaceView> {
     widget.onPlatformViewCreated?.call(id);
   }
 }
+
+class RTCTextureViewState extends State<RTCTextureView> {
+  static const MethodChannel _staticChannel =
+      MethodChannel('com.bytedance.ve_rtc_plugin');
+
+  int? _textureId;
+  MethodChannel? _channel;
+  Size _viewSize = Size.zero;
+  bool _disposed = false;
+  Timer? _statsTimer;
+
+  bool get _useTexture =>
+      defaultTargetPlatform == TargetPlatform.android &&
+      widget.context.canvasType != VideoCanvasType.echoTest;
+
+  @override
+  void initState() {
+    super.initState();
+    if (_useTexture) {
+      _createTexture();
+    }
+  }
+
+  Future<void> _createTexture() async {
+    final textureId = await _staticChannel.invokeMethod<int>(
+        'createTextureView', <String, dynamic>{
+      'canvasType': widget.context.canvasType.index,
+      ...videoParams(),
+      'width': _viewSize.width.round(),
+      'height': _viewSize.height.round(),
+    });
+    if (textureId == null) return;
+    final channel = MethodChannel('com.bytedance.ve_rtc_textureView$textureId');
+    if (_disposed) {
+      channel.invokeMethod('dispose');
+      return;
+    }
+    setState(() {
+      _textureId = textureId;
+      _channel = channel;
+    });
+    _setViewSize();
+    _updateStatsTimer();
+  }
+
+  void _updateStatsTimer() {
+    _statsTimer?.cancel();
+    _statsTimer = null;
+    if (_channel == null || widget.onRenderStats == null) return;
+    // Starts a new window, so that the first report covers one interval
+    _channel?.invokeMethod('getRenderStats');
+    _statsTimer = Timer.periodic(widget.renderStatsInterval, (_) async {
+      final map =
+          await _channel?.invokeMethod<Map<dynamic, dynamic>>('getRenderStats');
+      if (map == null || _disposed) return;
+      widget.onRenderStats?.call(TextureRenderStats.fromMap(map));
+    });
+  }
+
+  @override
+  Widget build(BuildContext context) {
+    if (!_useTexture) {
+      return RTCSurfaceView(
+        context: widget.context,
+        renderMode: widget.renderMode,
+        backgroundColor: widget.backgroundColor,
+      );
+    }
+    return LayoutBuilder(
+      builder: (BuildContext context, BoxConstraints constraints) {
+        final ratio = MediaQuery.of(context).devicePixelRatio;
+        final size = constraints.biggest * ratio;
+        if (size.isFinite && size != _viewSize) {
+          _viewSize = size;
+          _setViewSize();
+        }
+        final textureId = _textureId;
+        return textureId == null
+            ? const SizedBox.expand()
+            : Texture(textureId: textureId);
+      },
+    );
+  }
+
+  @override
+  void didUpdateWidget(RTCTextureView oldWidget) {
+    super.didUpdateWidget(oldWidget);
+    if (oldWidget.context.uid != widget.context.uid ||
+        oldWidget.context.roomId != widget.context.roomId ||
+        oldWidget.context.canvasType != widget.context.canvasType ||
+        oldWidget.context.streamType != widget.context.streamType) {
+      _setVideoCanvas();
+    } else if (oldWidget.renderMode != widget.renderMode ||
+        oldWidget.backgroundColor != widget.backgroundColor) {
+      _channel?.invokeMethod('updateRemoteVideo', videoParams());
+    }
+    if ((oldWidget.onRenderStats == null) != (widget.onRenderStats == null) ||
+        oldWidget.renderStatsInterval != widget.renderStatsInterval) {
+      _updateStatsTimer();
+    }
+  }
+
+  @override
+  void dispose() {
+    _disposed = true;
+    _statsTimer?.cancel();
+    _statsTimer = null;
+    _channel?.invokeMethod('dispose');
+    _channel = null;
+    super.dispose();
+  }
+
+  Map<String, dynamic> videoParams() {
+    return <String, dynamic>{
+      'roomId': widget.context.roomId,
+      'uid': widget.context.uid,
+      'streamType': widget.context.streamType.index,
+      'renderMode': widget.renderMode.value,
+      'backgroundColor': widget.backgroundColor,
+    };
+  }
+
+  void _setVideoCanvas() {
+    switch (widget.context.canvasType) {
+      case VideoCanvasType.local:
+        _channel?.invokeMethod('setupLocalVideo', videoParams());
+        break;
+      case VideoCanvasType.remote:
+        _channel?.invokeMethod('setupRemoteVideo', videoParams());
+        break;
+      case VideoCanvasType.publicStream:
+        _channel?.invokeMethod('setupPublicStreamVideo', videoParams());
+        break;
+      case VideoCanvasType.echoTest:
+        break;
+    }
+  }
+
+  void _setViewSize() {
+    _channel?.invokeMethod('setViewSize', {
+      'width': _viewSize.width.round(),
+      'height': _viewSize.height.round(),
+    });
+  }
+}
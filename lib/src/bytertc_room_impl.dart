@@ -2,6 +2,7 @@
 // SPDX-License-Identifier: MIT
 
 // ignore_for_file: public_member_api_docs
+import 'dart:io' show Platform;
 import 'dart:typed_data';
 
 import 'package:flutter/services.dart';
@@ -15,6 +16,7 @@ import '../api/bytertc_spatial_audio_api.dart';
 import '../api/bytertc_video_defines.dart';
 import 'base/bytertc_enum_convert.dart';
 import 'base/bytertc_event_channel.dart';
+import 'base/bytertc_method_batch.dart';
 import 'bytertc_range_audio_impl.dart';
 import 'bytertc_room_event_impl.dart';
 import 'bytertc_spatial_audio_impl.dart';
@@ -47,9 +49,21 @@ class RTCRoomImpl implements RTCRoom {
 
   Future<T?> _invokeMethod<T>(String method,
       [Map<String, dynamic>? arguments]) {
+    final batch = RTCMethodBatch.current;
+    if (batch != null) {
+      return batch.add<T>('room', method, arguments, _insId);
+    }
     return _channel.invokeMethod(method, arguments);
   }
 
+  /// Android creates the range audio and spatial audio channels on first use
+  Future<void> _attachPlugin(String method) {
+    if (!Platform.isAndroid) {
+      return Future.value();
+    }
+    return _channel.invokeMethod<void>(method);
+  }
+
   @override
   String get roomId => _roomId;
 
@@ -305,12 +319,14 @@ class RTCRoomImpl implements RTCRoom {
 
   @override
   RTCRangeAudio get rangeAudio {
-    return _rangeAudioImpl ??= RTCRangeAudioImpl(_insId);
+    return _rangeAudioImpl ??=
+        RTCRangeAudioImpl(_insId, _attachPlugin('getRangeAudio'));
   }
 
   @override
   RTCSpatialAudio get spatialAudio {
-    return _spatialAudioImpl ??= RTCSpatialAudioImpl(_insId);
+    return _spatialAudioImpl ??=
+        RTCSpatialAudioImpl(_insId, _attachPlugin('getSpatialAudio'));
   }
 
   @override
@@ -11,13 +11,19 @@ class RTCSpatialAudioImpl implements RTCSpatialAudio {
   late final MethodChannel _methodChannel;
   final int _insId;
 
-  RTCSpatialAudioImpl(int insId) : _insId = insId {
+  /// Completes once the platform side is created, which happens on first use
+  final Future<void> _attached;
+
+  RTCSpatialAudioImpl(int insId, Future<void> attached)
+      : _insId = insId,
+        _attached = attached {
     _methodChannel = MethodChannel('com.bytedance.ve_rtc_spatial_audio$insId');
   }
 
   Future<T?> _invokeMethod<T>(String method,
       [Map<String, dynamic>? arguments]) {
-    return _methodChannel.invokeMethod(method, arguments);
+    return _attached
+        .then((_) => _methodChannel.invokeMethod<T>(method, arguments));
   }
 
   @override
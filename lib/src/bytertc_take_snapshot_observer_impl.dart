@@ -2,10 +2,13 @@
 // SPDX-License-Identifier: MIT
 
 // ignore_for_file: public_member_api_docs
+import 'dart:typed_data';
+
 import 'package:async/async.dart';
 import 'package:flutter/foundation.dart';
 
 import '../api/bytertc_media_defines.dart';
+import '../api/bytertc_video_api.dart';
 import '../api/bytertc_video_defines.dart';
 import 'base/bytertc_enum_convert.dart';
 
@@ -39,6 +42,31 @@ class TakeSnapshotResultObserver {
     _remoteCompleters[taskId] = completer;
   }
 
+  OnSnapshotSamplerTickType? onSamplerTick;
+
+  /// 已停止的周期截图的回调，用于交付停止时未完成周期的结果
+  OnSnapshotSamplerTickType? _stoppedSamplerTick;
+
+  void stopSampler() {
+    _stoppedSamplerTick = onSamplerTick;
+    onSamplerTick = null;
+  }
+
+  RemoteSnapshot _remoteSnapshot(Map<dynamic, dynamic> dic) {
+    return RemoteSnapshot(
+      taskId: (dic['taskId'] as int?) ?? 0,
+      streamKey: RemoteStreamKey.fromMap(dic['streamKey']),
+      filePath: dic['filePath'] as String,
+      width: (dic['width'] as int?) ?? 0,
+      height: (dic['height'] as int?) ?? 0,
+      encodeTime: (dic['encodeTime'] as int?) ?? 0,
+      fileSize: (dic['fileSize'] as int?) ?? 0,
+      output: SnapshotOutput.values[(dic['output'] as int?) ?? 0],
+      data: dic['data'] as Uint8List?,
+      stride: (dic['stride'] as int?) ?? 0,
+    );
+  }
+
   void process(String methodName, Map<dynamic, dynamic> dic) {
     switch (methodName) {
       case 'onTakeLocalSnapshotResult':
@@ -48,6 +76,12 @@ class TakeSnapshotResultObserver {
         int error = dic['error'] as int;
         int width = (dic['width'] as int?) ?? 0;
         int height = (dic['height'] as int?) ?? 0;
+        int encodeTime = (dic['encodeTime'] as int?) ?? 0;
+        int fileSize = (dic['fileSize'] as int?) ?? 0;
+        SnapshotOutput output =
+            SnapshotOutput.values[(dic['output'] as int?) ?? 0];
+        Uint8List? data = dic['data'] as Uint8List?;
+        int stride = (dic['stride'] as int?) ?? 0;
 
         var completer = _localCompleters.remove(taskId);
         if (completer == null) {
@@ -65,6 +99,11 @@ class TakeSnapshotResultObserver {
             filePath: filePath,
             width: width,
             height: height,
+            encodeTime: encodeTime,
+            fileSize: fileSize,
+            output: output,
+            data: data,
+            stride: stride,
           ));
         } else {
           completer.completeError(error);
@@ -73,11 +112,7 @@ class TakeSnapshotResultObserver {
 
       case 'onTakeRemoteSnapshotResult':
         int taskId = dic['taskId'] as int;
-        RemoteStreamKey streamKey = RemoteStreamKey.fromMap(dic['streamKey']);
-        String? filePath = dic['filePath'] as String?;
         int error = dic['error'] as int;
-        int width = (dic['width'] as int?) ?? 0;
-        int height = (dic['height'] as int?) ?? 0;
         var completer = _remoteCompleters.remove(taskId);
         if (completer == null) {
           debugPrint('Completer<RemoteSnapshot> not found!');
@@ -87,18 +122,40 @@ class TakeSnapshotResultObserver {
           debugPrint('Completer<RemoteSnapshot> is consumed!');
           return;
         }
-        if (error == 0 && filePath != null) {
-          completer.complete(RemoteSnapshot(
-            taskId: taskId,
-            streamKey: streamKey,
-            filePath: filePath,
-            width: width,
-            height: height,
-          ));
+        if (error == 0 && dic['filePath'] != null) {
+          completer.complete(_remoteSnapshot(dic));
         } else {
           completer.completeError(error);
         }
         break;
+
+      case 'onSnapshotSamplerTick':
+        final results = (dic['results'] as List<dynamic>).cast<Map>();
+        final snapshots = <RemoteSnapshot>[];
+        final failedStreams = <RemoteStreamKey>[];
+        for (final result in results) {
+          if (result['error'] == 0 && result['filePath'] != null) {
+            snapshots.add(_remoteSnapshot(result));
+          } else {
+            failedStreams.add(RemoteStreamKey.fromMap(result['streamKey']));
+          }
+        }
+        final OnSnapshotSamplerTickType? onTick;
+        if (dic['final'] == true) {
+          onTick = _stoppedSamplerTick;
+          _stoppedSamplerTick = null;
+          if (results.isEmpty) {
+            break;
+          }
+        } else {
+          onTick = onSamplerTick;
+        }
+        onTick?.call(SnapshotSamplerTick(
+          tick: dic['tick'] as int,
+          snapshots: snapshots,
+          failedStreams: failedStreams,
+        ));
+        break;
       default:
         debugPrint('unhandled: $methodName');
         break;
@@ -16,9 +16,15 @@ class RTCVideoEffectImpl implements RTCVideoEffect {
   RTCEventChannel? _faceDetectionChannel;
   RTCFaceDetectionObserver? _faceDetectionObserver;
 
+  /// Completes once the platform side is created, which happens on first use
+  final Future<void> _attached;
+
+  RTCVideoEffectImpl(this._attached);
+
   Future<T?> _invokeMethod<T>(String method,
       [Map<String, dynamic>? arguments]) {
-    return _methodChannel.invokeMethod(method, arguments);
+    return _attached
+        .then((_) => _methodChannel.invokeMethod<T>(method, arguments));
   }
 
   void _listenFaceDetectionEvent() {
@@ -99,10 +105,12 @@ class RTCVideoEffectImpl implements RTCVideoEffect {
       required String modelPath,
       int interval = 0}) {
     _faceDetectionObserver = observer;
-    _listenFaceDetectionEvent();
-    return _invokeMethod<int>('enableFaceDetection', {
-      'interval': interval,
-      'modelPath': modelPath,
+    return _attached.then((_) {
+      _listenFaceDetectionEvent();
+      return _invokeMethod<int>('enableFaceDetection', {
+        'interval': interval,
+        'modelPath': modelPath,
+      });
     });
   }
 
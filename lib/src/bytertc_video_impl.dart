@@ -30,6 +30,7 @@ import '../api/bytertc_video_effect_api.dart';
 import '../api/bytertc_video_event_handler.dart';
 import 'base/bytertc_enum_convert.dart';
 import 'base/bytertc_event_channel.dart';
+import 'base/bytertc_method_batch.dart';
 import 'bytertc_asr_engine_impl.dart';
 import 'bytertc_audio_effect_player_impl.dart';
 import 'bytertc_audio_mixing_impl.dart';
@@ -51,6 +52,9 @@ class RTCVideoImpl implements RTCVideo {
   static RTCVideoImpl? _instance;
   static int _roomInsId = 0;
 
+  /// Instance IDs reserved for the rooms pre-created by [preCreateRTCRooms]
+  final Map<String, int> _warmRoomInsIds = {};
+
   static RTCVideoImpl? get instance => _instance;
 
   final MethodChannel _channel =
@@ -72,6 +76,10 @@ class RTCVideoImpl implements RTCVideo {
   final TakeSnapshotResultObserver _takeSnapshotResultObserver =
       TakeSnapshotResultObserver();
 
+  final BasicMessageChannel<ByteData> _audioFrameStreamChannel =
+      const BasicMessageChannel(
+          'com.bytedance.ve_rtc_audio_frame_stream', BinaryCodec());
+
   RTCEventChannel? _asrChannel;
   RTCASREngineEventHandler? _asrEventHandler;
 
@@ -85,6 +93,20 @@ class RTCVideoImpl implements RTCVideo {
   RTCKTVManagerImpl? _ktvManagerImpl;
   final Map<int, RTCMediaPlayerImpl> _mediaPlayerMap = HashMap();
 
+  final Set<String> _registeredEventChannels = {};
+
+  static const String _liveTranscodingChannelName =
+      'com.bytedance.ve_rtc_live_transcoding';
+  static const String _mixedStreamChannelName =
+      'com.bytedance.ve_rtc_mix_stream';
+  static const String _pushSingleStreamToCDNChannelName =
+      'com.bytedance.ve_rtc_push_single_stream_to_cdn';
+  static const String _takeSnapshotResultChannelName =
+      'com.bytedance.ve_rtc_snapshot_result';
+  static const String _asrChannelName = 'com.bytedance.ve_rtc_asr';
+  static const String _faceDetectionChannelName =
+      'com.bytedance.ve_rtc_face_detection';
+
   RTCVideoImpl._() {
     _eventChannel = RTCEventChannel('com.bytedance.ve_rtc_video_event');
   }
@@ -97,8 +119,7 @@ class RTCVideoImpl implements RTCVideo {
   }
 
   void _listenLiveTranscodingEvent() {
-    _liveTranscodingChannel ??=
-        RTCEventChannel('com.bytedance.ve_rtc_live_transcoding');
+    _liveTranscodingChannel ??= RTCEventChannel(_liveTranscodingChannelName);
     _liveTranscodingChannel?.subscription ??
         _liveTranscodingChannel
             ?.listen((String methodName, Map<dynamic, dynamic> dic) {
@@ -107,7 +128,7 @@ class RTCVideoImpl implements RTCVideo {
   }
 
   void _listenMixedStreamEvent() {
-    _mixedStreamChannel ??= RTCEventChannel('com.bytedance.ve_rtc_mix_stream');
+    _mixedStreamChannel ??= RTCEventChannel(_mixedStreamChannelName);
     _mixedStreamChannel?.subscription ??
         _mixedStreamChannel
             ?.listen((String methodName, Map<dynamic, dynamic> dic) {
@@ -117,7 +138,7 @@ class RTCVideoImpl implements RTCVideo {
 
   void _listenPushSingleStreamToCDNEvent() {
     _pushSingleStreamToCDNChannel ??=
-        RTCEventChannel('com.bytedance.ve_rtc_push_single_stream_to_cdn');
+        RTCEventChannel(_pushSingleStreamToCDNChannelName);
     _pushSingleStreamToCDNChannel?.subscription ??
         _pushSingleStreamToCDNChannel
             ?.listen((String methodName, Map<dynamic, dynamic> dic) {
@@ -127,13 +148,13 @@ class RTCVideoImpl implements RTCVideo {
 
   void _listenTakeSnapshotResultEvent() {
     _takeSnapshotResultChannel ??=
-        (RTCEventChannel('com.bytedance.ve_rtc_snapshot_result')
+        (RTCEventChannel(_takeSnapshotResultChannelName)
           ..listen((methodName, dic) =>
               _takeSnapshotResultObserver.process(methodName, dic)));
   }
 
   void _listenAsrEvent() {
-    _asrChannel ??= RTCEventChannel('com.bytedance.ve_rtc_asr');
+    _asrChannel ??= RTCEventChannel(_asrChannelName);
     _asrChannel?.subscription ??
         _asrChannel?.listen((String methodName, Map<dynamic, dynamic> dic) {
           _asrEventHandler?.process(methodName, dic);
@@ -141,8 +162,7 @@ class RTCVideoImpl implements RTCVideo {
   }
 
   void _listenFaceDetectionEvent() {
-    _faceDetectionChannel ??=
-        RTCEventChannel('com.bytedance.ve_rtc_face_detection');
+    _faceDetectionChannel ??= RTCEventChannel(_faceDetectionChannelName);
     _faceDetectionChannel?.subscription ??
         _faceDetectionChannel
             ?.listen((String methodName, Map<dynamic, dynamic> dic) {
@@ -152,9 +172,40 @@ class RTCVideoImpl implements RTCVideo {
 
   Future<T?> _invokeMethod<T>(String method,
       [Map<String, dynamic>? arguments]) {
+    final batch = RTCMethodBatch.current;
+    if (batch != null) {
+      return batch.add<T>('video', method, arguments);
+    }
     return _channel.invokeMethod(method, arguments);
   }
 
+  /// Android creates the audio mixing and video effect channels on first use
+  Future<void> _attachPlugin(String method) {
+    if (!Platform.isAndroid) {
+      return Future.value();
+    }
+    return _channel.invokeMethod<void>(method);
+  }
+
+  /// Run [action] once the platform side of event channel [name] is registered.
+  ///
+  /// Android registers the feature event channels on first use, events of a
+  /// channel listened to before its registration would be lost. Inside a
+  /// batch, the batch is split at this point so the order of calls is kept.
+  Future<T> _withEventChannel<T>(String name, Future<T> Function() action) {
+    if (!Platform.isAndroid || _registeredEventChannels.contains(name)) {
+      return action();
+    }
+    Future<void> register() => _channel
+        .invokeMethod<void>('registerEventChannel', {'name': name})
+        .then((_) => _registeredEventChannels.add(name));
+    final batch = RTCMethodBatch.current;
+    if (batch != null) {
+      return batch.defer(register, action);
+    }
+    return register().then((_) => action());
+  }
+
   void _destroy() {
     _eventChannel.cancel();
     _asrChannel?.cancel();
@@ -213,12 +264,81 @@ class RTCVideoImpl implements RTCVideo {
         .invokeMethod<String>('getErrorDescription', {'code': code});
   }
 
+  static Future<void> setEventDeliveryConfig(RTCEventDeliveryConfig config) {
+    if (!Platform.isAndroid) {
+      return Future.value();
+    }
+    return _staticChannel
+        .invokeMethod('setEventDeliveryConfig', {'config': config.toMap()});
+  }
+
+  static Future<void> setBackgroundMethodDispatch(bool enable) {
+    if (!Platform.isAndroid) {
+      return Future.value();
+    }
+    return _staticChannel
+        .invokeMethod('setBackgroundMethodDispatch', {'enable': enable});
+  }
+
+  static Future<Map<String, Map<String, int>>> getEventDropCounters(
+      {bool reset = false}) async {
+    if (!Platform.isAndroid) {
+      return {};
+    }
+    final res = await _staticChannel.invokeMethod<Map<dynamic, dynamic>>(
+        'getEventDropCounters', {'reset': reset});
+    return res?.map((key, value) => MapEntry(
+            key as String, Map<String, int>.from(value as Map))) ??
+        {};
+  }
+
+  static Future<Map<String, int>> getEventPayloadPoolStats() async {
+    if (!Platform.isAndroid) {
+      return {};
+    }
+    final res = await _staticChannel
+        .invokeMethod<Map<dynamic, dynamic>>('getEventPayloadPoolStats');
+    return res == null ? {} : Map<String, int>.from(res);
+  }
+
+  static Future<void> setMethodMetricsEnabled(bool enable) {
+    if (!Platform.isAndroid) {
+      return Future.value();
+    }
+    return _staticChannel
+        .invokeMethod('setMethodMetricsEnabled', {'enable': enable});
+  }
+
+  static Future<Map<String, Map<String, MethodCallMetrics>>> getMethodMetrics(
+      {bool reset = false}) async {
+    if (!Platform.isAndroid) {
+      return {};
+    }
+    final res = await _staticChannel.invokeMethod<Map<dynamic, dynamic>>(
+        'getMethodMetrics', {'reset': reset});
+    return res?.map((channel, methods) => MapEntry(
+            channel as String,
+            (methods as Map).map((method, metrics) => MapEntry(
+                method as String,
+                MethodCallMetrics.fromMap(metrics as Map))))) ??
+        {};
+  }
+
   @override
   Future<void> destroy() {
     _destroy();
     return _staticChannel.invokeMethod('destroyRTCVideo');
   }
 
+  @override
+  Future<void> invokeBatch(void Function() calls) {
+    if (!Platform.isAndroid) {
+      calls();
+      return Future.value();
+    }
+    return RTCMethodBatch.run(_channel, calls);
+  }
+
   @override
   void setRTCVideoEventHandler(RTCVideoEventHandler handler) {
     _eventHandler?.valueObserver = null;
@@ -315,6 +435,16 @@ class RTCVideoImpl implements RTCVideo {
     });
   }
 
+  @override
+  Future<void> setRemoteAudioPropertiesFilter(
+      RemoteAudioPropertiesFilter filter) {
+    if (!Platform.isAndroid) {
+      return Future.value();
+    }
+    return _staticChannel.invokeMethod(
+        'setRemoteAudioPropertiesFilter', {'filter': filter.toMap()});
+  }
+
   @override
   Future<int?> setRemoteAudioPlaybackVolume(
       {required String roomId, required String uid, required int volume}) {
@@ -471,7 +601,8 @@ class RTCVideoImpl implements RTCVideo {
 
   @override
   RTCVideoEffect get videoEffectInterface {
-    return _videoEffectImpl ??= RTCVideoEffectImpl();
+    return _videoEffectImpl ??=
+        RTCVideoEffectImpl(_attachPlugin('getVideoEffectInterface'));
   }
 
   @override
@@ -560,14 +691,19 @@ class RTCVideoImpl implements RTCVideo {
   Future<int?> registerFaceDetectionObserver(
       {RTCFaceDetectionObserver? observer, int interval = 0}) {
     _faceDetectionObserver = observer;
-    if (observer != null) {
-      _listenFaceDetectionEvent();
-    } else {
+    if (observer == null) {
       _faceDetectionChannel?.cancel();
+      return _invokeMethod<int>('registerFaceDetectionObserver', {
+        'observer': false,
+        'interval': interval,
+      });
     }
-    return _invokeMethod<int>('registerFaceDetectionObserver', {
-      'observer': observer != null,
-      'interval': interval,
+    return _withEventChannel(_faceDetectionChannelName, () {
+      _listenFaceDetectionEvent();
+      return _invokeMethod<int>('registerFaceDetectionObserver', {
+        'observer': true,
+        'interval': interval,
+      });
     });
   }
 
@@ -739,10 +875,12 @@ class RTCVideoImpl implements RTCVideo {
       required LiveTranscoding transcoding,
       required RTCLiveTranscodingObserver observer}) {
     _liveTranscodingObserver = observer;
-    _listenLiveTranscodingEvent();
-    return _invokeMethod<int>('startLiveTranscoding', {
-      'taskId': taskId,
-      'transcoding': transcoding.toMap(),
+    return _withEventChannel(_liveTranscodingChannelName, () {
+      _listenLiveTranscodingEvent();
+      return _invokeMethod<int>('startLiveTranscoding', {
+        'taskId': taskId,
+        'transcoding': transcoding.toMap(),
+      });
     });
   }
 
@@ -768,10 +906,12 @@ class RTCVideoImpl implements RTCVideo {
       required MixedStreamConfig mixedConfig,
       RTCMixedStreamObserver? observer}) {
     _mixedStreamObserver = observer;
-    _listenMixedStreamEvent();
-    return _invokeMethod<int>('startPushMixedStreamToCDN', {
-      'taskId': taskId,
-      'mixedConfig': mixedConfig.toMap(),
+    return _withEventChannel(_mixedStreamChannelName, () {
+      _listenMixedStreamEvent();
+      return _invokeMethod<int>('startPushMixedStreamToCDN', {
+        'taskId': taskId,
+        'mixedConfig': mixedConfig.toMap(),
+      });
     });
   }
 
@@ -784,15 +924,36 @@ class RTCVideoImpl implements RTCVideo {
     });
   }
 
+  @override
+  Future<int?> setClientMixedStreamConfig(ClientMixedStreamConfig config) {
+    if (!Platform.isAndroid) {
+      return Future.value(-1);
+    }
+    return _invokeMethod<int>(
+        'setClientMixedStreamConfig', {'config': config.toMap()});
+  }
+
+  @override
+  Future<Map<String, int>> getClientMixedStreamStats() async {
+    if (!Platform.isAndroid) {
+      return {};
+    }
+    final res =
+        await _invokeMethod<Map<dynamic, dynamic>>('getClientMixedStreamStats');
+    return res == null ? {} : Map<String, int>.from(res);
+  }
+
   @override
   Future<int?> startPushSingleStreamToCDN(
       {required String taskId,
       required PushSingleStreamParam param,
       required RTCPushSingleStreamToCDNObserver observer}) {
     _pushSingleStreamToCDNObserver = observer;
-    _listenPushSingleStreamToCDNEvent();
-    return _invokeMethod<int>('startPushSingleStreamToCDN',
-        {'taskId': taskId, 'param': param.toMap()});
+    return _withEventChannel(_pushSingleStreamToCDNChannelName, () {
+      _listenPushSingleStreamToCDNEvent();
+      return _invokeMethod<int>('startPushSingleStreamToCDN',
+          {'taskId': taskId, 'param': param.toMap()});
+    });
   }
 
   @override
@@ -910,7 +1071,7 @@ class RTCVideoImpl implements RTCVideo {
 
   @override
   Future<RTCRoomImpl?> createRTCRoom(String roomId) async {
-    int roomInsId = _roomInsId++;
+    int roomInsId = _warmRoomInsIds.remove(roomId) ?? _roomInsId++;
     bool? res = await _invokeMethod<bool>(
         'createRTCRoom', {'roomInsId': roomInsId, 'roomId': roomId});
     if (res != true) {
@@ -919,6 +1080,42 @@ class RTCVideoImpl implements RTCVideo {
     return RTCRoomImpl(roomInsId, roomId);
   }
 
+  @override
+  Future<List<String>> preCreateRTCRooms(List<String> roomIds,
+      {int maxRooms = 3, int expireSeconds = 60}) async {
+    if (!Platform.isAndroid) {
+      return [];
+    }
+    final rooms = roomIds.map((roomId) {
+      final roomInsId = _warmRoomInsIds[roomId] ??= _roomInsId++;
+      return {'roomId': roomId, 'roomInsId': roomInsId};
+    }).toList();
+    final warmed = await _invokeMethod<List<dynamic>>('preCreateRTCRooms', {
+          'rooms': rooms,
+          'maxRooms': maxRooms,
+          'expireSeconds': expireSeconds,
+        }) ??
+        [];
+    final warmedIds = warmed.cast<String>();
+    // Reservations of rooms evicted or expired in the native pool stay valid,
+    // createRTCRoom then creates a new room with the reserved instance ID.
+    for (final roomId in roomIds) {
+      if (!warmedIds.contains(roomId)) {
+        _warmRoomInsIds.remove(roomId);
+      }
+    }
+    return warmedIds;
+  }
+
+  @override
+  Future<void> clearPreCreatedRTCRooms() {
+    if (!Platform.isAndroid) {
+      return Future.value();
+    }
+    _warmRoomInsIds.clear();
+    return _invokeMethod<void>('clearPreCreatedRTCRooms');
+  }
+
   @override
   Future<int?> startScreenCapture(ScreenMediaType type) {
     return _invokeMethod<int>('startScreenCapture', {
@@ -961,9 +1158,11 @@ class RTCVideoImpl implements RTCVideo {
       {required RTCASRConfig asrConfig,
       required RTCASREngineEventHandler handler}) {
     _asrEventHandler = handler;
-    _listenAsrEvent();
-    return _invokeMethod<int>('startASR', {
-      'asrConfig': asrConfig.toMap(),
+    return _withEventChannel(_asrChannelName, () {
+      _listenAsrEvent();
+      return _invokeMethod<int>('startASR', {
+        'asrConfig': asrConfig.toMap(),
+      });
     });
   }
 
@@ -1002,7 +1201,8 @@ class RTCVideoImpl implements RTCVideo {
 
   @override
   RTCAudioMixingManager get audioMixingManager {
-    return _audioMixingManagerImpl ??= RTCAudioMixingManagerImpl();
+    return _audioMixingManagerImpl ??=
+        RTCAudioMixingManagerImpl(_attachPlugin('getAudioMixingManager'));
   }
 
   @override
@@ -1180,9 +1380,8 @@ class RTCVideoImpl implements RTCVideo {
 
   @override
   CancelableOperation<LocalSnapshot> takeLocalSnapshot(
-      StreamIndex streamIndex, String filePath) {
-    _listenTakeSnapshotResultEvent();
-
+      StreamIndex streamIndex, String filePath,
+      {SnapshotConfig config = const SnapshotConfig()}) {
     int? _taskId;
     CancelableCompleter<LocalSnapshot> completer =
         CancelableCompleter(onCancel: () {
@@ -1192,9 +1391,13 @@ class RTCVideoImpl implements RTCVideo {
       }
     });
 
-    _invokeMethod<int>('takeLocalSnapshot', {
-      'streamIndex': streamIndex.index,
-      'filePath': filePath,
+    _withEventChannel(_takeSnapshotResultChannelName, () {
+      _listenTakeSnapshotResultEvent();
+      return _invokeMethod<int>('takeLocalSnapshot', {
+        'streamIndex': streamIndex.index,
+        'filePath': filePath,
+        'config': config.toMap(),
+      });
     }).then((value) {
       if (value != null) {
         if (completer.isCanceled || completer.isCompleted) {
@@ -1214,9 +1417,8 @@ class RTCVideoImpl implements RTCVideo {
 
   @override
   CancelableOperation<RemoteSnapshot> takeRemoteSnapshot(
-      RemoteStreamKey streamKey, String filePath) {
-    _listenTakeSnapshotResultEvent();
-
+      RemoteStreamKey streamKey, String filePath,
+      {SnapshotConfig config = const SnapshotConfig()}) {
     int? _taskId;
     final CancelableCompleter<RemoteSnapshot> completer =
         CancelableCompleter(onCancel: () {
@@ -1226,9 +1428,13 @@ class RTCVideoImpl implements RTCVideo {
       }
     });
 
-    _invokeMethod<int>('takeRemoteSnapshot', {
-      'streamKey': streamKey.toMap(),
-      'filePath': filePath,
+    _withEventChannel(_takeSnapshotResultChannelName, () {
+      _listenTakeSnapshotResultEvent();
+      return _invokeMethod<int>('takeRemoteSnapshot', {
+        'streamKey': streamKey.toMap(),
+        'filePath': filePath,
+        'config': config.toMap(),
+      });
     }).then((value) {
       if (value != null) {
         if (completer.isCanceled || completer.isCompleted) {
@@ -1246,6 +1452,85 @@ class RTCVideoImpl implements RTCVideo {
     return completer.operation;
   }
 
+  @override
+  Future<int?> startSnapshotSampler(
+      SnapshotSamplerConfig config, OnSnapshotSamplerTickType onTick) {
+    if (!Platform.isAndroid) {
+      return Future.value(-1);
+    }
+    _takeSnapshotResultObserver.onSamplerTick = onTick;
+    return _withEventChannel(_takeSnapshotResultChannelName, () {
+      _listenTakeSnapshotResultEvent();
+      return _invokeMethod<int>(
+          'startSnapshotSampler', {'config': config.toMap()});
+    });
+  }
+
+  @override
+  Future<int?> updateSnapshotSamplerStreams(List<RemoteStreamKey> streamKeys) {
+    if (!Platform.isAndroid) {
+      return Future.value(-1);
+    }
+    return _invokeMethod<int>('updateSnapshotSamplerStreams',
+        {'streamKeys': streamKeys.map((e) => e.toMap()).toList()});
+  }
+
+  @override
+  Future<int?> stopSnapshotSampler() {
+    if (!Platform.isAndroid) {
+      return Future.value(-1);
+    }
+    _takeSnapshotResultObserver.stopSampler();
+    return _invokeMethod<int>('stopSnapshotSampler');
+  }
+
+  @override
+  Future<int?> startAudioFrameStream(
+      AudioFrameStreamConfig config, OnAudioStreamFramesType onFrames) {
+    if (!Platform.isAndroid) {
+      return Future.value(-1);
+    }
+    _audioFrameStreamChannel.setMessageHandler((message) async {
+      if (message != null) {
+        _dispatchAudioFrames(message, onFrames);
+      }
+      return null;
+    });
+    return _invokeMethod<int>(
+        'startAudioFrameStream', {'config': config.toMap()});
+  }
+
+  @override
+  Future<int?> stopAudioFrameStream() {
+    if (!Platform.isAndroid) {
+      return Future.value(-1);
+    }
+    _audioFrameStreamChannel.setMessageHandler(null);
+    return _invokeMethod<int>('stopAudioFrameStream');
+  }
+
+  /// Parses a batch of AudioFrameStreamer, the PCM data are views of the message
+  void _dispatchAudioFrames(ByteData message, OnAudioStreamFramesType onFrames) {
+    const recordHeaderSize = 24;
+    final droppedFrames = message.getInt32(0, Endian.little);
+    final frames = <AudioStreamFrame>[];
+    var offset = 4;
+    while (offset + recordHeaderSize <= message.lengthInBytes) {
+      final size = message.getInt32(offset + 20, Endian.little);
+      frames.add(AudioStreamFrame(
+        source: AudioFrameStreamSource
+            .values[message.getInt32(offset, Endian.little)],
+        sampleRate: message.getInt32(offset + 4, Endian.little),
+        channel: message.getInt32(offset + 8, Endian.little),
+        timestampUs: message.getInt64(offset + 12, Endian.little),
+        data: message.buffer.asUint8List(
+            message.offsetInBytes + offset + recordHeaderSize, size),
+      ));
+      offset += recordHeaderSize + size;
+    }
+    onFrames(frames, droppedFrames);
+  }
+
   @override
   Future<int?> startCloudProxy(List<CloudProxyInfo> cloudProxiesInfo) {
     return _invokeMethod<int>('startCloudProxy', {